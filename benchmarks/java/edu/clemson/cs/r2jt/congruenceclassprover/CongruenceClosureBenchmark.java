@@ -0,0 +1,140 @@
+/*
+ * CongruenceClosureBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.r2jt.congruenceclassprover;
+
+import edu.clemson.cs.r2jt.rewriteprover.Antecedent;
+import edu.clemson.cs.r2jt.rewriteprover.Consequent;
+import edu.clemson.cs.r2jt.rewriteprover.VC;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PExp;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PSymbol;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>Benchmarks for the congruence closure that the
+ * {@link CongruenceClassProver} builds for every VC before it starts
+ * applying theorems. The {@link CongruenceClassProver} itself needs the
+ * module scope built by the old front end, so we feed the closure VCs of
+ * the form:</p>
+ *
+ * <pre>
+ * x0 = x1 and ... and x(n-1) = xn and f(x0) = c implies f(xn) = c
+ * </pre>
+ *
+ * <p>which can only be proved by merging all the congruence classes.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CongruenceClosureBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The number of equalities in the antecedent.</p> */
+    @Param( { "16", "64", "256" })
+    public int chainLength;
+
+    /** <p>The type graph used by the VC.</p> */
+    private TypeGraph myTypeGraph;
+
+    /** <p>The VC we are going to prove.</p> */
+    private VC myVC;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Creates the VC.</p>
+     */
+    @Setup
+    public final void setUp() {
+        myTypeGraph = new TypeGraph();
+
+        List<PExp> antecedents = new ArrayList<PExp>();
+        PExp previous = new PSymbol(myTypeGraph.ENTITY, null, "x0");
+        PExp first = previous;
+        for (int i = 1; i <= chainLength; i++) {
+            PExp current = new PSymbol(myTypeGraph.ENTITY, null, "x" + i);
+            antecedents.add(formEquals(previous, current));
+            previous = current;
+        }
+
+        PExp c = new PSymbol(myTypeGraph.ENTITY, null, "c");
+        antecedents.add(formEquals(formFunction("f", first), c));
+        PExp goal = formEquals(formFunction("f", previous), c);
+
+        myVC =
+                new VC("Chain_" + chainLength, new Antecedent(antecedents),
+                        new Consequent(goal));
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Builds the congruence closure for the VC and checks if it
+     * is proved.</p>
+     *
+     * @return The status of the VC.
+     */
+    @Benchmark
+    public final VerificationConditionCongruenceClosureImpl.STATUS prove() {
+        VerificationConditionCongruenceClosureImpl vcc =
+                new VerificationConditionCongruenceClosureImpl(myTypeGraph,
+                        myVC, null, null);
+
+        return vcc.isProved();
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Creates the equality between two expressions.</p>
+     *
+     * @param left The left hand side.
+     * @param right The right hand side.
+     *
+     * @return The equality expression.
+     */
+    private PExp formEquals(PExp left, PExp right) {
+        return new PSymbol(myTypeGraph.BOOLEAN, null, "=", Arrays.asList(left,
+                right));
+    }
+
+    /**
+     * <p>Creates a function application with a single argument.</p>
+     *
+     * @param name Name of the function.
+     * @param argument The function argument.
+     *
+     * @return The function application expression.
+     */
+    private PExp formFunction(String name, PExp argument) {
+        return new PSymbol(myTypeGraph.ENTITY, null, name, Arrays
+                .asList(argument));
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * ExpBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.absyn.expressions;
+
+import edu.clemson.cs.rsrg.absyn.ResolveConceptualElement;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.VarExp;
+import edu.clemson.cs.rsrg.init.BenchmarkWorkspace;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.treewalk.TreeWalker;
+import edu.clemson.cs.rsrg.treewalk.TreeWalkerVisitor;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Benchmarks for {@link Exp#substitute(Map)}. We replace every variable in
+ * the assertions found in the benchmark workspace with a primed copy of that
+ * variable, which is what the VC generator does when it applies the
+ * proof rules.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>All the assertions in the benchmark workspace.</p> */
+    private List<Exp> myAssertions;
+
+    /** <p>A map from each variable to its primed copy.</p> */
+    private Map<Exp, Exp> mySubstitutions;
+
+    /** <p>A map from one of the variables to its primed copy.</p> */
+    private Map<Exp, Exp> mySingleSubstitution;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Populates the benchmark workspace and creates the primed copy
+     * of every variable in the assertions.</p>
+     */
+    @Setup
+    public final void setUp() {
+        final Map<Exp, Exp> substitutions = new HashMap<>();
+        myAssertions = new BenchmarkWorkspace().populateAssertions();
+        for (Exp assertion : myAssertions) {
+            TreeWalker.visit(new TreeWalkerVisitor() {
+
+                @Override
+                public void preAny(ResolveConceptualElement e) {
+                    if (e instanceof VarExp) {
+                        VarExp exp = (VarExp) e;
+                        PosSymbol name = exp.getName();
+                        VarExp primedExp =
+                                Utilities.createVarExp(exp.getLocation(), exp
+                                        .getQualifier(), new PosSymbol(name
+                                        .getLocation(), name.getName() + "'"),
+                                        exp.getMathType(), exp
+                                                .getMathTypeValue());
+                        substitutions.put(exp, primedExp);
+                    }
+                }
+            }, assertion);
+        }
+
+        mySubstitutions = substitutions;
+
+        Map.Entry<Exp, Exp> firstEntry =
+                substitutions.entrySet().iterator().next();
+        mySingleSubstitution = new HashMap<>();
+        mySingleSubstitution.put(firstEntry.getKey(), firstEntry.getValue());
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Substitutes all the variables in every assertion.</p>
+     *
+     * @param bh A blackhole that consumes the results.
+     */
+    @Benchmark
+    public final void substitute(Blackhole bh) {
+        for (Exp assertion : myAssertions) {
+            bh.consume(assertion.substitute(mySubstitutions));
+        }
+    }
+
+    /**
+     * <p>Substitutes a single variable in every assertion. Most of the
+     * assertions don't contain this variable.</p>
+     *
+     * @param bh A blackhole that consumes the results.
+     */
+    @Benchmark
+    public final void substituteOneVariable(Blackhole bh) {
+        for (Exp assertion : myAssertions) {
+            bh.consume(assertion.substitute(mySingleSubstitution));
+        }
+    }
+
+}
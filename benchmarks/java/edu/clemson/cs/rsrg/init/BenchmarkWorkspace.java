@@ -0,0 +1,283 @@
+/*
+ * BenchmarkWorkspace.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import edu.clemson.cs.rsrg.absyn.declarations.Dec;
+import edu.clemson.cs.rsrg.absyn.declarations.mathdecl.MathAssertionDec;
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.init.file.ModuleType;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.treewalk.TreeWalker;
+import edu.clemson.cs.rsrg.typeandpopulate.Populator;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
+import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.ParserRuleContext;
+
+/**
+ * <p>This class sets up a compilation environment for the benchmark
+ * workspace that is checked into {@code benchmarks/resources/workspace}.
+ * It gives the benchmarks access to the same code paths the compiler uses
+ * to build and populate a module, without going through the
+ * dependency discovery in {@link Controller}.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class BenchmarkWorkspace {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The compilation environment for the benchmark workspace.</p> */
+    private final CompileEnvironment myCompileEnvironment;
+
+    /** <p>The controller used to parse and build the modules.</p> */
+    private final Controller myController;
+
+    /** <p>The symbol table used to populate the modules.</p> */
+    private final MathSymbolTableBuilder mySymbolTable;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>The modules in the benchmark workspace. Every module only
+     * imports the modules that come before it in this list.</p>
+     */
+    public static final List<String> MODULE_NAMES =
+            Collections.unmodifiableList(Arrays.asList("Bench_Base_Theory",
+                    "Bench_Order_Theory", "Bench_Theory"));
+
+    /** <p>The charset used to read the benchmark files.</p> */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates a new compilation environment
+     * for the benchmark workspace.</p>
+     */
+    public BenchmarkWorkspace() {
+        String[] args =
+                { "-noFileOutput", "-workspaceDir",
+                        getWorkspaceDir().getAbsolutePath() };
+
+        try {
+            // YS: We need to create a ResolveCompiler instance to instantiate
+            // the flag manager...
+            new ResolveCompiler(args);
+            myCompileEnvironment =
+                    new CompileEnvironment(args, "Benchmarks",
+                            new SystemStdHandler());
+        }
+        catch (IOException e) {
+            throw new MiscErrorException(
+                    "Error creating the benchmark compile environment", e);
+        }
+
+        mySymbolTable = new MathSymbolTableBuilder(myCompileEnvironment);
+        myCompileEnvironment.setSymbolTable(mySymbolTable);
+        myCompileEnvironment.setTypeGraph(mySymbolTable.getTypeGraph());
+        myController = new Controller(myCompileEnvironment);
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Uses the {@link Controller} to parse the specified module
+     * and build its AST.</p>
+     *
+     * @param file A file in the benchmark workspace.
+     * @param headerOnly {@code true} if we don't need to build any statements,
+     *                   {@code false} otherwise.
+     *
+     * @return The inner representation for the module.
+     */
+    public final ModuleDec createModuleAST(ResolveFile file, boolean headerOnly) {
+        return myController.createModuleAST(file, headerOnly);
+    }
+
+    /**
+     * <p>Returns the compilation environment for the benchmark workspace.</p>
+     *
+     * @return A {@link CompileEnvironment} object.
+     */
+    public final CompileEnvironment getCompileEnvironment() {
+        return myCompileEnvironment;
+    }
+
+    /**
+     * <p>Returns the symbol table used to populate the modules.</p>
+     *
+     * @return A {@link MathSymbolTableBuilder} object.
+     */
+    public final MathSymbolTableBuilder getSymbolTable() {
+        return mySymbolTable;
+    }
+
+    /**
+     * <p>Returns the type graph used to populate the modules.</p>
+     *
+     * @return A {@link TypeGraph} object.
+     */
+    public final TypeGraph getTypeGraph() {
+        return mySymbolTable.getTypeGraph();
+    }
+
+    /**
+     * <p>Uses the {@link Controller} to parse the specified module without
+     * checking the parse tree cache.</p>
+     *
+     * @param file A file in the benchmark workspace.
+     *
+     * @return The root context for the module.
+     */
+    public final ParserRuleContext parseModule(ResolveFile file) {
+        CharStream input = file.getInputStream();
+        input.seek(0);
+
+        return myController.parseModule(file, input);
+    }
+
+    /**
+     * <p>Builds the AST for the specified module and all the modules that
+     * come before it in {@link #MODULE_NAMES}, adds them to the compilation
+     * environment and populates them.</p>
+     *
+     * @param moduleName The name of a module in the benchmark workspace.
+     *
+     * @return The inner representation for the specified module.
+     */
+    public final ModuleDec populate(String moduleName) {
+        ModuleDec moduleDec = null;
+        for (String name : MODULE_NAMES.subList(0, MODULE_NAMES
+                .indexOf(moduleName) + 1)) {
+            moduleDec = createModuleAST(readFile(name), false);
+            populate(moduleDec);
+        }
+
+        return moduleDec;
+    }
+
+    /**
+     * <p>Adds the module to the compilation environment (if it isn't there
+     * already) and populates it into the symbol table. All the modules it
+     * imports must already be populated.</p>
+     *
+     * @param moduleDec The inner representation for a module.
+     */
+    public final void populate(ModuleDec moduleDec) {
+        ModuleIdentifier id = new ModuleIdentifier(moduleDec);
+        boolean isNewModule = !myCompileEnvironment.containsID(id);
+        if (isNewModule) {
+            myCompileEnvironment.constructRecord(readFile(moduleDec.getName()
+                    .getName()), moduleDec);
+        }
+
+        TreeWalker.visit(new Populator(mySymbolTable, myCompileEnvironment),
+                moduleDec);
+
+        if (isNewModule) {
+            myCompileEnvironment.completeRecord(id);
+        }
+    }
+
+    /**
+     * <p>Populates all the modules in the benchmark workspace and returns
+     * the assertions in all of their theorems, corollaries and axioms.</p>
+     *
+     * @return A list of typed mathematical expressions.
+     */
+    public final List<Exp> populateAssertions() {
+        List<Exp> assertions = new ArrayList<>();
+        for (String moduleName : MODULE_NAMES) {
+            ModuleDec moduleDec = populate(moduleName);
+            for (Dec dec : moduleDec.getDecList()) {
+                if (dec instanceof MathAssertionDec) {
+                    assertions.add(((MathAssertionDec) dec).getAssertion());
+                }
+            }
+        }
+
+        return assertions;
+    }
+
+    /**
+     * <p>Returns the directory that contains the benchmark workspace.</p>
+     *
+     * @return The benchmark workspace directory.
+     */
+    public static File getWorkspaceDir() {
+        URL url = BenchmarkWorkspace.class.getResource("/workspace");
+        if (url == null) {
+            throw new MiscErrorException("Cannot locate the benchmark workspace",
+                    new IllegalStateException());
+        }
+
+        try {
+            return new File(url.toURI());
+        }
+        catch (URISyntaxException e) {
+            throw new MiscErrorException("Cannot locate the benchmark workspace",
+                    e);
+        }
+    }
+
+    /**
+     * <p>Reads the specified theory module from the benchmark workspace.</p>
+     *
+     * @param moduleName The name of a module in the benchmark workspace.
+     *
+     * @return A {@link ResolveFile} for the module.
+     */
+    public static ResolveFile readFile(String moduleName) {
+        File file =
+                new File(new File(getWorkspaceDir(), "Theories"), moduleName
+                        + ".mt");
+
+        try {
+            String contents =
+                    new String(Files.readAllBytes(file.toPath()), UTF8);
+
+            return new ResolveFile(moduleName, ModuleType.THEORY, CharStreams
+                    .fromString(contents, file.getAbsolutePath()),
+                    new ArrayList<String>(), file.getAbsolutePath());
+        }
+        catch (IOException e) {
+            throw new MiscErrorException("Error reading " + file, e);
+        }
+    }
+
+}
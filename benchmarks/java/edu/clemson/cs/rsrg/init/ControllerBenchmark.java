@@ -0,0 +1,96 @@
+/*
+ * ControllerBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import java.util.concurrent.TimeUnit;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>Benchmarks for parsing a module and building its AST
+ * using {@link Controller#createModuleAST(ResolveFile, boolean)}.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The module we are going to parse.</p> */
+    @Param( { "Bench_Base_Theory", "Bench_Order_Theory", "Bench_Theory" })
+    public String moduleName;
+
+    /** <p>The file for the module we are going to parse.</p> */
+    private ResolveFile myFile;
+
+    /** <p>The benchmark workspace.</p> */
+    private BenchmarkWorkspace myWorkspace;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Reads the module from the benchmark workspace.</p>
+     */
+    @Setup
+    public final void setUp() {
+        myWorkspace = new BenchmarkWorkspace();
+        myFile = BenchmarkWorkspace.readFile(moduleName);
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Builds the full AST for the module. The parse tree comes from
+     * the parse tree cache after the first invocation.</p>
+     *
+     * @return The inner representation for the module.
+     */
+    @Benchmark
+    public final ModuleDec createModuleAST() {
+        return myWorkspace.createModuleAST(myFile, false);
+    }
+
+    /**
+     * <p>Builds the header AST for the module. The parse tree comes from
+     * the parse tree cache after the first invocation.</p>
+     *
+     * @return The inner representation for the module.
+     */
+    @Benchmark
+    public final ModuleDec createModuleHeaderAST() {
+        return myWorkspace.createModuleAST(myFile, true);
+    }
+
+    /**
+     * <p>Runs the lexer and the parser on the module.</p>
+     *
+     * @return The root context for the module.
+     */
+    @Benchmark
+    public final ParserRuleContext parseModule() {
+        return myWorkspace.parseModule(myFile);
+    }
+
+}
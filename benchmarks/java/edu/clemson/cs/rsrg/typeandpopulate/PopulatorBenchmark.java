@@ -0,0 +1,96 @@
+/*
+ * PopulatorBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.typeandpopulate;
+
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.init.BenchmarkWorkspace;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>Benchmarks for populating a module using the {@link Populator}.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PopulatorBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The module we are going to populate.</p> */
+    @Param( { "Bench_Base_Theory", "Bench_Order_Theory", "Bench_Theory" })
+    public String moduleName;
+
+    /** <p>The inner representation for the module.</p> */
+    private ModuleDec myModuleDec;
+
+    /**
+     * <p>The state of the symbol table after all the
+     * imported modules have been populated.</p>
+     */
+    private MathSymbolTableBuilder.Snapshot mySnapshot;
+
+    /** <p>The benchmark workspace.</p> */
+    private BenchmarkWorkspace myWorkspace;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Populates all the modules imported by the module and
+     * builds the AST for the module.</p>
+     */
+    @Setup
+    public final void setUp() {
+        myWorkspace = new BenchmarkWorkspace();
+
+        List<String> moduleNames = BenchmarkWorkspace.MODULE_NAMES;
+        int index = moduleNames.indexOf(moduleName);
+        if (index > 0) {
+            myWorkspace.populate(moduleNames.get(index - 1));
+        }
+        mySnapshot = myWorkspace.getSymbolTable().createSnapshot();
+
+        myModuleDec =
+                myWorkspace.createModuleAST(BenchmarkWorkspace
+                        .readFile(moduleName), false);
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Populates the module into a symbol table
+     * that only contains its imports.</p>
+     *
+     * @return The symbol table.
+     */
+    @Benchmark
+    public final MathSymbolTableBuilder populate() {
+        MathSymbolTableBuilder symbolTable = myWorkspace.getSymbolTable();
+        symbolTable.restoreSnapshot(mySnapshot);
+        myWorkspace.populate(myModuleDec);
+
+        return symbolTable;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * TypeGraphBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.typeandpopulate.typereasoning;
+
+import edu.clemson.cs.rsrg.absyn.ResolveConceptualElement;
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.init.BenchmarkWorkspace;
+import edu.clemson.cs.rsrg.treewalk.TreeWalker;
+import edu.clemson.cs.rsrg.treewalk.TreeWalkerVisitor;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Benchmarks for the {@link TypeGraph TypeGraph's} subtype and
+ * membership queries. The queries use every expression and every
+ * type found in the populated benchmark workspace.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TypeGraphBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>All the typed expressions in the benchmark workspace.</p> */
+    private List<Exp> myExps;
+
+    /** <p>The type graph for the benchmark workspace.</p> */
+    private TypeGraph myTypeGraph;
+
+    /** <p>All the types found in the benchmark workspace.</p> */
+    private List<MTType> myTypes;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Populates the benchmark workspace and collects
+     * all the typed expressions and their types.</p>
+     */
+    @Setup
+    public final void setUp() {
+        BenchmarkWorkspace workspace = new BenchmarkWorkspace();
+        final List<Exp> exps = new ArrayList<>();
+        final Set<MTType> types = new LinkedHashSet<>();
+        for (String moduleName : BenchmarkWorkspace.MODULE_NAMES) {
+            TreeWalker.visit(new TreeWalkerVisitor() {
+
+                @Override
+                public void preAny(ResolveConceptualElement e) {
+                    if (e instanceof Exp) {
+                        Exp exp = (Exp) e;
+                        if (exp.getMathType() != null) {
+                            exps.add(exp);
+                            types.add(exp.getMathType());
+                        }
+
+                        if (exp.getMathTypeValue() != null) {
+                            types.add(exp.getMathTypeValue());
+                        }
+                    }
+                }
+            }, workspace.populate(moduleName));
+        }
+
+        myExps = exps;
+        myTypeGraph = workspace.getTypeGraph();
+        myTypes = new ArrayList<>(types);
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Checks if each expression is known to be in each type.</p>
+     *
+     * @param bh A blackhole that consumes the results.
+     */
+    @Benchmark
+    public final void isKnownToBeIn(Blackhole bh) {
+        for (Exp exp : myExps) {
+            for (MTType type : myTypes) {
+                bh.consume(myTypeGraph.isKnownToBeIn(exp, type));
+            }
+        }
+    }
+
+    /**
+     * <p>Checks if each type is known to be in each type.</p>
+     *
+     * @param bh A blackhole that consumes the results.
+     */
+    @Benchmark
+    public final void isKnownToBeInType(Blackhole bh) {
+        for (MTType value : myTypes) {
+            for (MTType type : myTypes) {
+                bh.consume(myTypeGraph.isKnownToBeIn(value, type));
+            }
+        }
+    }
+
+    /**
+     * <p>Checks if each type is a subtype of each type.</p>
+     *
+     * @param bh A blackhole that consumes the results.
+     */
+    @Benchmark
+    public final void isSubtype(Blackhole bh) {
+        for (MTType subtype : myTypes) {
+            for (MTType supertype : myTypes) {
+                bh.consume(myTypeGraph.isSubtype(subtype, supertype));
+            }
+        }
+    }
+
+}
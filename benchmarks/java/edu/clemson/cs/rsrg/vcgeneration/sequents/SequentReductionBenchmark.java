@@ -0,0 +1,113 @@
+/*
+ * SequentReductionBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.vcgeneration.sequents;
+
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.QuantExp;
+import edu.clemson.cs.rsrg.init.BenchmarkWorkspace;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>Benchmarks for {@link SequentReduction#applyReduction()}. The sequents
+ * are formed using the bodies of the assertions found in the benchmark
+ * workspace.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SequentReductionBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>A sequent where the last assertion is the consequent and all
+     * the other assertions are the antecedents.</p>
+     */
+    private Sequent myCombinedSequent;
+
+    /** <p>A sequent for each assertion with the assertion as the consequent.</p> */
+    private List<Sequent> mySequents;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Populates the benchmark workspace and creates the sequents.</p>
+     */
+    @Setup
+    public final void setUp() {
+        List<Exp> bodies = new ArrayList<>();
+        for (Exp assertion : new BenchmarkWorkspace().populateAssertions()) {
+            Exp body = assertion;
+            while (body instanceof QuantExp) {
+                body = ((QuantExp) body).getBody();
+            }
+            bodies.add(body);
+        }
+
+        mySequents = new ArrayList<>();
+        for (Exp body : bodies) {
+            List<Exp> consequents = new ArrayList<>();
+            consequents.add(body.clone());
+            mySequents.add(new Sequent(body.getLocation(),
+                    new ArrayList<Exp>(), consequents));
+        }
+
+        List<Exp> antecedents = new ArrayList<>();
+        for (Exp body : bodies.subList(0, bodies.size() - 1)) {
+            antecedents.add(body.clone());
+        }
+        List<Exp> consequents = new ArrayList<>();
+        Exp lastBody = bodies.get(bodies.size() - 1);
+        consequents.add(lastBody.clone());
+        myCombinedSequent =
+                new Sequent(lastBody.getLocation(), antecedents, consequents);
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Reduces the sequent formed by each assertion.</p>
+     *
+     * @param bh A blackhole that consumes the results.
+     */
+    @Benchmark
+    public final void applyReduction(Blackhole bh) {
+        for (Sequent sequent : mySequents) {
+            bh.consume(new SequentReduction(sequent).applyReduction());
+        }
+    }
+
+    /**
+     * <p>Reduces the sequent formed by all the assertions.</p>
+     *
+     * @return The reduced sequents.
+     */
+    @Benchmark
+    public final List<Sequent> applyReductionCombined() {
+        return new SequentReduction(myCombinedSequent).applyReduction();
+    }
+
+}
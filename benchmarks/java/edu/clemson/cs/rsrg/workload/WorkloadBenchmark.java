@@ -0,0 +1,123 @@
+/*
+ * WorkloadBenchmark.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.workload;
+
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * <p>Benchmarks that compile workspaces created by the
+ * {@link WorkloadGenerator}, so we can see how the compiler scales with
+ * the size of its input. We only compile the generated theories, so the
+ * results show how populating mathematical modules scales with the number
+ * and size of the theories.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorkloadBenchmark {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The number of theories in the generated workspace.</p> */
+    @Param( { "1", "4", "16" })
+    public int importFanOut;
+
+    /** <p>The number of definitions and theorems in each theory.</p> */
+    @Param( { "10", "40" })
+    public int numOperations;
+
+    /** <p>The arguments we pass to the compiler.</p> */
+    private String[] myCompilerArgs;
+
+    /** <p>The generated workspace.</p> */
+    private File myWorkspaceDir;
+
+    // ===========================================================
+    // Setup Methods
+    // ===========================================================
+
+    /**
+     * <p>Generates the workspace.</p>
+     *
+     * @throws IOException There was an error writing the workspace.
+     */
+    @Setup
+    public final void setUp() throws IOException {
+        myWorkspaceDir =
+                Files.createTempDirectory("resolve-workload").toFile();
+        new WorkloadGenerator(1, numOperations, 0, 0, importFanOut)
+                .write(myWorkspaceDir);
+
+        File lastTheory =
+                new File(myWorkspaceDir, "Theories/Gen_Theory_"
+                        + (importFanOut - 1) + ".mt");
+        myCompilerArgs =
+                new String[] { "-noFileOutput", "-workspaceDir",
+                        myWorkspaceDir.getAbsolutePath(),
+                        lastTheory.getAbsolutePath() };
+    }
+
+    /**
+     * <p>Deletes the generated workspace.</p>
+     *
+     * @throws IOException There was an error deleting the workspace.
+     */
+    @TearDown
+    public final void tearDown() throws IOException {
+        Files.walkFileTree(myWorkspaceDir.toPath(),
+                new SimpleFileVisitor<Path>() {
+
+                    @Override
+                    public FileVisitResult visitFile(Path file,
+                            BasicFileAttributes attrs) throws IOException {
+                        Files.delete(file);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir,
+                            IOException exc) throws IOException {
+                        Files.delete(dir);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+    }
+
+    // ===========================================================
+    // Benchmark Methods
+    // ===========================================================
+
+    /**
+     * <p>Compiles the last theory in the chain, which imports
+     * all the other theories.</p>
+     */
+    @Benchmark
+    public final void compileTheories() {
+        new ResolveCompiler(myCompilerArgs).invokeCompiler();
+    }
+
+}
@@ -0,0 +1,746 @@
+/*
+ * WorkloadGenerator.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.workload;
+
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>This class generates synthetic RESOLVE workspaces of parameterized size
+ * that we can use to measure how the compiler scales with its input.</p>
+ *
+ * <p>A generated workspace contains:</p>
+ * <ul>
+ *     <li>A base theory that introduces {@code Z} and the few mathematical
+ *     symbols the other modules need. It only depends on the built-in math
+ *     symbols.</li>
+ *     <li>Stand-ins for the standard library modules that are automatically
+ *     imported by the compiler (see {@link ResolveCompiler#AUTO_IMPORT_FILES}).
+ *     {@code Integer_Template} only has the operations used by the generated
+ *     code.</li>
+ *     <li>A chain of theories, where each theory uses the previous one
+ *     and the first one uses the base theory.</li>
+ *     <li>For each concept, the concept itself, a realization, an enhancement
+ *     and an enhancement realization. Each concept uses a number of theories
+ *     given by the import fan-out.</li>
+ *     <li>A facility that declares a facility for every concept and calls
+ *     every operation.</li>
+ * </ul>
+ *
+ * <p>The generated workspace is self-contained, so it must be compiled
+ * as its own workspace and not merged with the standard RESOLVE
+ * library.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class WorkloadGenerator {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The number of concepts (and their related modules).</p> */
+    private final int myNumConcepts;
+
+    /** <p>The number of operations in each concept.</p> */
+    private final int myNumOperations;
+
+    /** <p>The nesting depth of the {@code ensures} clauses.</p> */
+    private final int myEnsuresDepth;
+
+    /** <p>The number of theories used by each concept.</p> */
+    private final int myImportFanOut;
+
+    /** <p>The nesting depth of the statements in each procedure.</p> */
+    private final int myStatementDepth;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /** <p>The name of the base theory.</p> */
+    private static final String BASE_THEORY_NAME = "Gen_Base_Theory";
+
+    /** <p>The charset used to write the generated files.</p> */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** <p>The usage message for {@link #main(String[])}.</p> */
+    private static final String USAGE =
+            "Usage: WorkloadGenerator -outputDir <Path> [-concepts <Number>] "
+                    + "[-operations <Number>] [-statementDepth <Number>] "
+                    + "[-ensuresDepth <Number>] [-importFanOut <Number>]";
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates a generator for workspaces of the specified size.</p>
+     *
+     * @param numConcepts The number of concepts (and their related modules).
+     * @param numOperations The number of operations in each concept.
+     * @param statementDepth The nesting depth of the statements in each procedure.
+     * @param ensuresDepth The nesting depth of the {@code ensures} clauses.
+     * @param importFanOut The number of theories used by each concept.
+     */
+    public WorkloadGenerator(int numConcepts, int numOperations,
+            int statementDepth, int ensuresDepth, int importFanOut) {
+        if (numConcepts < 1 || numOperations < 1 || statementDepth < 0
+                || ensuresDepth < 0 || importFanOut < 1) {
+            throw new IllegalArgumentException(
+                    "The number of concepts, operations and imports must be "
+                            + "positive and the depths can't be negative.");
+        }
+
+        myNumConcepts = numConcepts;
+        myNumOperations = numOperations;
+        myStatementDepth = statementDepth;
+        myEnsuresDepth = ensuresDepth;
+        myImportFanOut = importFanOut;
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Generates the contents of every module in the workspace.</p>
+     *
+     * @return A map from each file's path relative to the workspace
+     * directory to its contents.
+     */
+    public final Map<String, String> generate() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("Theories/" + BASE_THEORY_NAME + ".mt",
+                generateBaseTheory());
+        files.put("Concepts/Standard/Integer_Template.co",
+                generateIntegerTemplate());
+        files.put("Concepts/Standard/Boolean_Template.co",
+                generateStandardTemplate("Boolean", "B"));
+        files.put("Concepts/Standard/Character_Template.co",
+                generateStandardTemplate("Character", "Entity"));
+        files.put("Concepts/Standard/Char_Str_Template.co",
+                generateStandardTemplate("Char_Str", "Entity"));
+        for (String name : ResolveCompiler.AUTO_IMPORT_FILES) {
+            files.put("Facilities/Standard/" + name + ".fa",
+                    generateStandardFacility(name));
+        }
+
+        for (int i = 0; i < myImportFanOut; i++) {
+            files.put("Theories/" + getTheoryName(i) + ".mt",
+                    generateTheory(i));
+        }
+
+        for (int i = 0; i < myNumConcepts; i++) {
+            String dir = "Concepts/" + getConceptName(i) + "/";
+            files.put(dir + getConceptName(i) + ".co", generateConcept(i));
+            files.put(dir + getConceptName(i) + "_Realiz.rb",
+                    generateRealization(i));
+            files.put(dir + getEnhancementName(i) + ".en",
+                    generateEnhancement(i));
+            files.put(dir + getEnhancementName(i) + "_Realiz.rb",
+                    generateEnhancementRealization(i));
+        }
+
+        files.put("Facilities/Gen_Facility.fa", generateFacility());
+
+        return files;
+    }
+
+    /**
+     * <p>Generates the workspace and writes all the files
+     * to the specified directory.</p>
+     *
+     * @param outputDir The workspace directory.
+     *
+     * @return The files that were written.
+     *
+     * @throws IOException There was an error writing one of the files.
+     */
+    public final List<File> write(File outputDir) throws IOException {
+        List<File> writtenFiles = new ArrayList<>();
+        for (Map.Entry<String, String> entry : generate().entrySet()) {
+            File file = new File(outputDir, entry.getKey());
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), entry.getValue().getBytes(UTF8));
+            writtenFiles.add(file);
+        }
+
+        return writtenFiles;
+    }
+
+    /**
+     * <p>Generates a workspace using the parameters specified
+     * in the command line arguments.</p>
+     *
+     * @param args The command line arguments.
+     *
+     * @throws IOException There was an error writing one of the files.
+     */
+    public static void main(String[] args) throws IOException {
+        String outputDir = null;
+        int numConcepts = 1;
+        int numOperations = 5;
+        int statementDepth = 2;
+        int ensuresDepth = 2;
+        int importFanOut = 2;
+
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for "
+                            + args[i]);
+                }
+
+                String value = args[i + 1];
+                switch (args[i]) {
+                case "-outputDir":
+                    outputDir = value;
+                    break;
+                case "-concepts":
+                    numConcepts = Integer.parseInt(value);
+                    break;
+                case "-operations":
+                    numOperations = Integer.parseInt(value);
+                    break;
+                case "-statementDepth":
+                    statementDepth = Integer.parseInt(value);
+                    break;
+                case "-ensuresDepth":
+                    ensuresDepth = Integer.parseInt(value);
+                    break;
+                case "-importFanOut":
+                    importFanOut = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: "
+                            + args[i]);
+                }
+            }
+
+            if (outputDir == null) {
+                throw new IllegalArgumentException(
+                        "Need to specify an output directory.");
+            }
+
+            WorkloadGenerator generator =
+                    new WorkloadGenerator(numConcepts, numOperations,
+                            statementDepth, ensuresDepth, importFanOut);
+            List<File> files = generator.write(new File(outputDir));
+            System.out.println("Generated " + files.size() + " files in "
+                    + new File(outputDir).getAbsolutePath());
+        }
+        catch (IllegalArgumentException e) {
+            System.err.println(USAGE);
+            throw e;
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Appends a line with the specified indentation.</p>
+     *
+     * @param sb The string builder.
+     * @param indent The number of indentation levels.
+     * @param line The line to append.
+     */
+    private static void appendLine(StringBuilder sb, int indent, String line) {
+        for (int i = 0; i < indent; i++) {
+            sb.append("    ");
+        }
+        sb.append(line);
+        sb.append("\n");
+    }
+
+    /**
+     * <p>Generates the base theory. It introduces {@code Z}, the
+     * literals and the operators used by the other modules.</p>
+     *
+     * @return The theory's source.
+     */
+    private static String generateBaseTheory() {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Precis " + BASE_THEORY_NAME + ";");
+        sb.append("\n");
+        appendLine(sb, 1, "Definition (p : B) implies (q : B) : B;");
+        sb.append("\n");
+        appendLine(sb, 1, "Definition Z : SSet;");
+        sb.append("\n");
+        appendLine(sb, 1, "Definition 0 : Z;");
+        sb.append("\n");
+        appendLine(sb, 1, "Definition 1 : Z;");
+        for (String op : new String[] { "<=", "<" }) {
+            sb.append("\n");
+            appendLine(sb, 1, "Definition (m : Z) " + op + " (n : Z) : B;");
+        }
+        for (String op : new String[] { "+", "-" }) {
+            sb.append("\n");
+            appendLine(sb, 1, "Definition (m : Z) " + op + " (n : Z) : Z;");
+        }
+        sb.append("\n");
+        appendLine(sb, 0, "end " + BASE_THEORY_NAME + ";");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the {@code ensures} clause for an operation. Each level
+     * of nesting adds a case that contains the rest of the clause, so
+     * the size of the clause grows linearly with its depth.</p>
+     *
+     * @param operation The index of the operation.
+     * @param depth The remaining nesting depth.
+     *
+     * @return The clause's expression.
+     */
+    private String generateEnsures(int operation, int depth) {
+        if (depth == 0) {
+            String theory = getTheoryName(operation % myImportFanOut);
+            return "C = #C and " + theory + "_F_"
+                    + (operation % myNumOperations) + "(C)";
+        }
+
+        return "((#C <= I) implies ("
+                + generateEnsures(operation, depth - 1)
+                + ")) and ((I < #C) implies C <= Max_Size)";
+    }
+
+    /**
+     * <p>Generates a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The concept's source.
+     */
+    private String generateConcept(int concept) {
+        String name = getConceptName(concept);
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Concept " + name + "(evaluates Max_Size: Integer);");
+        appendLine(sb, 1, "uses " + getUsesList(concept) + ";");
+        appendLine(sb, 1, "requires 1 <= Max_Size;");
+        sb.append("\n");
+        appendLine(sb, 1, "Type Family " + getTypeName(concept)
+                + " is modeled by Z;");
+        appendLine(sb, 2, "exemplar C;");
+        appendLine(sb, 2, "constraint 0 <= C and C <= Max_Size;");
+        appendLine(sb, 2, "initialization ensures C = 0;");
+        appendLine(sb, 1, "end;");
+
+        for (int i = 0; i < myNumOperations; i++) {
+            sb.append("\n");
+            appendLine(sb, 1, "Operation " + getOperationName(concept, i)
+                    + "(updates C: " + getTypeName(concept)
+                    + "; restores I: Integer);");
+            appendLine(sb, 2, "requires 0 <= I and I <= Max_Size;");
+            appendLine(sb, 2, "ensures "
+                    + generateEnsures(i, myEnsuresDepth) + ";");
+        }
+
+        sb.append("\n");
+        appendLine(sb, 0, "end " + name + ";");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates an enhancement for a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The enhancement's source.
+     */
+    private String generateEnhancement(int concept) {
+        String name = getEnhancementName(concept);
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Enhancement " + name + " for "
+                + getConceptName(concept) + ";");
+        sb.append("\n");
+        appendLine(sb, 1, "Operation " + getApplyAllName(concept)
+                + "(updates C: " + getTypeName(concept)
+                + "; restores I: Integer);");
+        appendLine(sb, 2, "requires 0 <= I and I <= Max_Size;");
+        sb.append("\n");
+        appendLine(sb, 0, "end " + name + ";");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the realization for the enhancement of a concept.
+     * The realization calls every operation in the concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The realization's source.
+     */
+    private String generateEnhancementRealization(int concept) {
+        String name = getEnhancementName(concept) + "_Realiz";
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Realization " + name + " for "
+                + getEnhancementName(concept) + " of "
+                + getConceptName(concept) + ";");
+        sb.append("\n");
+        appendLine(sb, 1, "Procedure " + getApplyAllName(concept)
+                + "(updates C: " + getTypeName(concept)
+                + "; restores I: Integer);");
+        for (int i = 0; i < myNumOperations; i++) {
+            appendLine(sb, 2, getOperationName(concept, i) + "(C, I);");
+        }
+        appendLine(sb, 1, "end " + getApplyAllName(concept) + ";");
+        sb.append("\n");
+        appendLine(sb, 0, "end " + name + ";");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the facility that uses every concept.</p>
+     *
+     * @return The facility's source.
+     */
+    private String generateFacility() {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Facility Gen_Facility;");
+        for (int i = 0; i < myNumConcepts; i++) {
+            sb.append("\n");
+            appendLine(sb, 1, "Facility " + getFacilityName(i) + " is "
+                    + getConceptName(i) + "(10)");
+            appendLine(sb, 2, "realized by " + getConceptName(i) + "_Realiz");
+            appendLine(sb, 2, "enhanced by " + getEnhancementName(i));
+            appendLine(sb, 2, "realized by " + getEnhancementName(i)
+                    + "_Realiz;");
+        }
+
+        sb.append("\n");
+        appendLine(sb, 1, "Operation Main();");
+        appendLine(sb, 1, "Procedure");
+        appendLine(sb, 2, "Var I: Integer;");
+        for (int i = 0; i < myNumConcepts; i++) {
+            appendLine(sb, 2, "Var C_" + i + ": " + getFacilityName(i)
+                    + " :: " + getTypeName(i) + ";");
+        }
+        sb.append("\n");
+        appendLine(sb, 2, "I := 5;");
+        for (int i = 0; i < myNumConcepts; i++) {
+            for (int j = 0; j < myNumOperations; j++) {
+                appendLine(sb, 2, getFacilityName(i) + " :: "
+                        + getOperationName(i, j) + "(C_" + i + ", I);");
+            }
+            appendLine(sb, 2, getFacilityName(i) + " :: "
+                    + getApplyAllName(i) + "(C_" + i + ", I);");
+        }
+        appendLine(sb, 1, "end Main;");
+        sb.append("\n");
+        appendLine(sb, 0, "end Gen_Facility;");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the stand-in for {@code Integer_Template}. It only
+     * has the operations that the generated code calls, including the
+     * ones the compiler uses for {@code <}, {@code +} and
+     * {@code :=}.</p>
+     *
+     * @return The concept's source.
+     */
+    private static String generateIntegerTemplate() {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Concept Integer_Template;");
+        appendLine(sb, 1, "uses " + BASE_THEORY_NAME + ", Std_Boolean_Fac;");
+        sb.append("\n");
+        appendLine(sb, 1, "Type Family Integer is modeled by Z;");
+        appendLine(sb, 2, "exemplar i;");
+        appendLine(sb, 1, "end;");
+        sb.append("\n");
+        appendLine(sb, 1,
+                "Operation Less(restores i, j: Integer): Boolean;");
+        appendLine(sb, 2, "ensures Less = (i < j);");
+        sb.append("\n");
+        appendLine(sb, 1, "Operation Replica(restores i: Integer): Integer;");
+        appendLine(sb, 2, "ensures Replica = i;");
+        sb.append("\n");
+        appendLine(sb, 1, "Operation Sum(restores i, j: Integer): Integer;");
+        appendLine(sb, 2, "ensures Sum = (i + j);");
+        sb.append("\n");
+        appendLine(sb, 0, "end Integer_Template;");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the realization for a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The realization's source.
+     */
+    private String generateRealization(int concept) {
+        String name = getConceptName(concept) + "_Realiz";
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Realization " + name + " for "
+                + getConceptName(concept) + ";");
+        sb.append("\n");
+        appendLine(sb, 1, "Type " + getTypeName(concept)
+                + " is represented by Record");
+        appendLine(sb, 3, "Count: Integer;");
+        appendLine(sb, 3, "Steps: Integer;");
+        appendLine(sb, 2, "end;");
+        appendLine(sb, 2, "convention");
+        appendLine(sb, 3, "0 <= C.Count and C.Count <= Max_Size;");
+        appendLine(sb, 2, "correspondence");
+        appendLine(sb, 3, "Conc.C = C.Count;");
+        appendLine(sb, 1, "end;");
+
+        for (int i = 0; i < myNumOperations; i++) {
+            String operationName = getOperationName(concept, i);
+            sb.append("\n");
+            appendLine(sb, 1, "Procedure " + operationName + "(updates C: "
+                    + getTypeName(concept) + "; restores I: Integer);");
+            generateStatements(sb, 2, myStatementDepth);
+            appendLine(sb, 1, "end " + operationName + ";");
+        }
+
+        sb.append("\n");
+        appendLine(sb, 0, "end " + name + ";");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the stand-in for one of the standard facilities.</p>
+     *
+     * @param name The facility name, i.e. {@code Std_<Type>_Fac}.
+     *
+     * @return The facility's source.
+     */
+    private static String generateStandardFacility(String name) {
+        String typeName =
+                name.substring("Std_".length(), name.length()
+                        - "_Fac".length());
+
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Facility " + name + " is " + typeName
+                + "_Template");
+        appendLine(sb, 1, "externally realized by Std_" + typeName
+                + "_Realiz;");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the stand-in for one of the standard concepts that
+     * only declares its type.</p>
+     *
+     * @param typeName The name of the type.
+     * @param modelName The mathematical type that models it.
+     *
+     * @return The concept's source.
+     */
+    private static String generateStandardTemplate(String typeName,
+            String modelName) {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Concept " + typeName + "_Template;");
+        sb.append("\n");
+        appendLine(sb, 1, "Type Family " + typeName + " is modeled by "
+                + modelName + ";");
+        appendLine(sb, 2, "exemplar v;");
+        appendLine(sb, 1, "end;");
+        sb.append("\n");
+        appendLine(sb, 0, "end " + typeName + "_Template;");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Generates the statements in a procedure. Each level of nesting
+     * alternates between an {@code If} and a {@code While} statement, so
+     * the size of the procedure grows linearly with its depth.</p>
+     *
+     * @param sb The string builder.
+     * @param indent The number of indentation levels.
+     * @param depth The remaining nesting depth.
+     */
+    private static void generateStatements(StringBuilder sb, int indent,
+            int depth) {
+        if (depth == 0) {
+            appendLine(sb, indent, "C.Count := I;");
+        }
+        else if (depth % 2 == 0) {
+            appendLine(sb, indent, "If (C.Count < I) then");
+            generateStatements(sb, indent + 1, depth - 1);
+            appendLine(sb, indent, "else");
+            appendLine(sb, indent + 1, "C.Count := 0;");
+            appendLine(sb, indent, "end;");
+        }
+        else {
+            appendLine(sb, indent, "While (C.Count < I)");
+            appendLine(sb, indent + 1, "changing C;");
+            appendLine(sb, indent + 1, "maintaining C.Count <= I;");
+            appendLine(sb, indent + 1, "decreasing I - C.Count;");
+            appendLine(sb, indent, "do");
+            appendLine(sb, indent + 1, "C.Count := C.Count + 1;");
+            appendLine(sb, indent + 1, "C.Steps := C.Steps + 1;");
+            generateStatements(sb, indent + 1, depth - 1);
+            appendLine(sb, indent, "end;");
+        }
+    }
+
+    /**
+     * <p>Generates a theory. The first theory uses the base theory
+     * and every other theory uses the previous theory.</p>
+     *
+     * @param theory The index of the theory.
+     *
+     * @return The theory's source.
+     */
+    private String generateTheory(int theory) {
+        String name = getTheoryName(theory);
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, 0, "Precis " + name + ";");
+        appendLine(sb, 1, "uses "
+                + (theory > 0 ? getTheoryName(theory - 1) : BASE_THEORY_NAME)
+                + ";");
+
+        for (int i = 0; i < myNumOperations; i++) {
+            sb.append("\n");
+            appendLine(sb, 0, "Definition " + name + "_F_" + i
+                    + "(x : Z) : B;");
+        }
+
+        for (int i = 0; i < myNumOperations; i++) {
+            String definition = name + "_F_" + i + "(x)";
+            String related =
+                    theory > 0 ? getTheoryName(theory - 1) + "_F_" + i
+                            + "(x)" : name + "_F_" + ((i + 1) % myNumOperations)
+                            + "(x)";
+            sb.append("\n");
+            appendLine(sb, 0, "Theorem " + name + "_T_" + i + ":");
+            appendLine(sb, 1, "For all x : Z,");
+            appendLine(sb, 2, "not(" + definition + ") or " + related + " or "
+                    + definition + ";");
+        }
+
+        sb.append("\n");
+        appendLine(sb, 0, "end " + name + ";");
+
+        return sb.toString();
+    }
+
+    /**
+     * <p>Returns the name of the operation that the enhancement adds.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The operation name.
+     */
+    private static String getApplyAllName(int concept) {
+        return "Apply_All_" + concept;
+    }
+
+    /**
+     * <p>Returns the name of a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The concept name.
+     */
+    private static String getConceptName(int concept) {
+        return "Gen_Concept_" + concept;
+    }
+
+    /**
+     * <p>Returns the name of a concept's enhancement.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The enhancement name.
+     */
+    private static String getEnhancementName(int concept) {
+        return "Gen_Enhancement_" + concept;
+    }
+
+    /**
+     * <p>Returns the name of the facility declared for a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The facility name.
+     */
+    private static String getFacilityName(int concept) {
+        return "Gen_Fac_" + concept;
+    }
+
+    /**
+     * <p>Returns the name of an operation in a concept.</p>
+     *
+     * @param concept The index of the concept.
+     * @param operation The index of the operation.
+     *
+     * @return The operation name.
+     */
+    private static String getOperationName(int concept, int operation) {
+        return "Op_" + concept + "_" + operation;
+    }
+
+    /**
+     * <p>Returns the name of a theory.</p>
+     *
+     * @param theory The index of the theory.
+     *
+     * @return The theory name.
+     */
+    private static String getTheoryName(int theory) {
+        return "Gen_Theory_" + theory;
+    }
+
+    /**
+     * <p>Returns the name of the type family in a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The type name.
+     */
+    private static String getTypeName(int concept) {
+        return "Counter_" + concept;
+    }
+
+    /**
+     * <p>Returns the {@code uses} list for a concept.</p>
+     *
+     * @param concept The index of the concept.
+     *
+     * @return The comma separated names of the theories the concept uses.
+     */
+    private String getUsesList(int concept) {
+        StringBuilder sb = new StringBuilder(BASE_THEORY_NAME);
+        for (int i = 0; i < myImportFanOut; i++) {
+            sb.append(", ");
+            sb.append(getTheoryName(i));
+        }
+
+        return sb.toString();
+    }
+
+}
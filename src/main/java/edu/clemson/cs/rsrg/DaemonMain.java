@@ -0,0 +1,49 @@
+/*
+ * DaemonMain.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg;
+
+import edu.clemson.cs.rsrg.init.CompilerDaemon;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+
+/**
+ * <p>The main class for running the RESOLVE compiler as a long-lived
+ * process that reads compilation requests from the standard input.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class DaemonMain {
+
+    /**
+     * <p>This method creates and runs the {@link CompilerDaemon}. The
+     * standard output is only used to acknowledge requests, so
+     * everything the compiler prints is sent to the standard error.</p>
+     *
+     * @param args Not used.
+     *
+     * @throws IOException There was an error reading from the standard input.
+     */
+    public static void main(String[] args) throws IOException {
+        PrintStream acknowledgements = System.out;
+        System.setOut(System.err);
+
+        CompilerDaemon daemon =
+                new CompilerDaemon(new BufferedReader(new InputStreamReader(
+                        System.in)), acknowledgements);
+        daemon.run();
+    }
+
+}
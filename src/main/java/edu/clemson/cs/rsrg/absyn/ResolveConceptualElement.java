@@ -19,6 +19,8 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>This is the abstract base class for all the intermediate objects
@@ -45,6 +47,17 @@ public abstract class ResolveConceptualElement
      */
     protected final Location myLoc;
 
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>The fields that hold the children for each class
+     * that we have seen so far.</p>
+     */
+    private static final ConcurrentMap<Class<?>, ChildField[]> CHILD_FIELDS =
+            new ConcurrentHashMap<>();
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -101,87 +114,41 @@ public abstract class ResolveConceptualElement
     /**
      * <p>This allow us to return all the children object in the class.</p>
      *
+     * <p>The fields that hold the children are located using reflection the
+     * first time we see a particular class. After that, we simply walk the
+     * cached {@link ChildField ChildFields} for this object's class.</p>
+     *
      * @return A list containing all the children.
      */
     @SuppressWarnings("unchecked")
     public List<ResolveConceptualElement> getChildren() {
-        //We'd like to hit the fields in the order they appear in the class,
-        //starting with the most general class and getting more specific.  So,
-        //we build a stack of the class hierarchy of this instance
-        Deque<Class<?>> hierarchy = new LinkedList<>();
-        Class<?> curClass = this.getClass();
-        do {
-            hierarchy.push(curClass);
-            curClass = curClass.getSuperclass();
-        } while (curClass != ResolveConceptualElement.class);
-
+        ChildField[] childFields = getChildFields(this.getClass());
         List<ResolveConceptualElement> children =
-                new ArrayList<>();
-        // get a list of all the declared and inherited members of that class
-        List<Field> fields = new ArrayList<>();
-        while (!hierarchy.isEmpty()) {
-
-            curClass = hierarchy.pop();
-
-            Field[] curFields = curClass.getDeclaredFields();
-            for (int i = 0; i < curFields.length; ++i) {
-                fields.add(curFields[i]);
-            }
-            curClass = curClass.getSuperclass();
-        }
-
-        // loop through all the class members
-        Iterator<Field> iterFields = fields.iterator();
-        while (iterFields.hasNext()) {
-            Field curField = iterFields.next();
-
-            if (!Modifier.isStatic(curField.getModifiers())) {
+                new ArrayList<>(childFields.length);
+        for (ChildField childField : childFields) {
+            try {
+                Object value = childField.myField.get(this);
 
-                curField.setAccessible(true);
-                Class<?> fieldType = curField.getType();
-
-                try {
-                    // is this member a ResolveConceptualElement?
-                    // if so, add it as a child
-                    if (ResolveConceptualElement.class
-                            .isAssignableFrom(fieldType)) {
-                        //System.out.println("Walking: " + curField.getName());
-                        children.add(ResolveConceptualElement.class
-                                .cast(curField.get(this)));
-                    }
-                    // is this member a list of ResolveConceptualElements?
-                    // if so, add the elements to the list of children
-                    else if (java.util.List.class.isAssignableFrom(fieldType)) {
-                        Class<?> listOf =
-                                (Class<?>) ((ParameterizedType) curField
-                                        .getGenericType())
-                                        .getActualTypeArguments()[0];
-                        java.util.List<?> fieldList =
-                                java.util.List.class.cast(curField.get(this));
-                        if (fieldList != null
-                                && fieldList.size() > 0
-                                && ResolveConceptualElement.class
-                                .isAssignableFrom(listOf)) {
-                            children
-                                    .add(new VirtualListNode(myLoc,
-                                            this,
-                                            curField.getName(),
-                                            (java.util.List<ResolveConceptualElement>) fieldList,
-                                            (Class<?>) ((ParameterizedType) curField
-                                                    .getGenericType())
-                                                    .getActualTypeArguments()[0]));
-                        }
-                    }
+                // is this member a ResolveConceptualElement?
+                // if so, add it as a child
+                if (childField.myListType == null) {
+                    children.add((ResolveConceptualElement) value);
                 }
-                catch (Exception ex) {
-                    if (ex instanceof RuntimeException) {
-                        throw (RuntimeException) ex;
-                    }
-                    else {
-                        throw new RuntimeException(ex);
+                // is this member a list of ResolveConceptualElements?
+                // if so, add the elements to the list of children
+                else {
+                    List<ResolveConceptualElement> fieldList =
+                            (List<ResolveConceptualElement>) value;
+                    if (fieldList != null && fieldList.size() > 0) {
+                        children.add(new VirtualListNode(myLoc, this,
+                                childField.myField.getName(), fieldList,
+                                childField.myListType));
                     }
                 }
             }
+            catch (IllegalAccessException iae) {
+                throw new RuntimeException(iae);
+            }
         }
 
         return children;
@@ -255,4 +222,105 @@ public abstract class ResolveConceptualElement
         }
     }
 
-}
\ No newline at end of file
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the cached child fields for {@code elementClass},
+     * locating them if this is the first time we see it.</p>
+     *
+     * <p>We'd like to hit the fields in the order they appear in the class,
+     * starting with the most general class and getting more specific.</p>
+     *
+     * @param elementClass A class that inherits from
+     *                     {@code ResolveConceptualElement}.
+     *
+     * @return The fields that hold the children of {@code elementClass}.
+     */
+    private static ChildField[] getChildFields(Class<?> elementClass) {
+        ChildField[] result = CHILD_FIELDS.get(elementClass);
+        if (result == null) {
+            // build a stack of the class hierarchy of this class
+            Deque<Class<?>> hierarchy = new LinkedList<>();
+            Class<?> curClass = elementClass;
+            do {
+                hierarchy.push(curClass);
+                curClass = curClass.getSuperclass();
+            } while (curClass != ResolveConceptualElement.class);
+
+            // loop through all the declared and inherited members of that class
+            List<ChildField> childFields = new ArrayList<>();
+            while (!hierarchy.isEmpty()) {
+                for (Field curField : hierarchy.pop().getDeclaredFields()) {
+                    if (!Modifier.isStatic(curField.getModifiers())) {
+                        Class<?> fieldType = curField.getType();
+                        if (ResolveConceptualElement.class
+                                .isAssignableFrom(fieldType)) {
+                            curField.setAccessible(true);
+                            childFields.add(new ChildField(curField, null));
+                        }
+                        else if (List.class.isAssignableFrom(fieldType)) {
+                            Class<?> listOf =
+                                    (Class<?>) ((ParameterizedType) curField
+                                            .getGenericType())
+                                            .getActualTypeArguments()[0];
+                            if (ResolveConceptualElement.class
+                                    .isAssignableFrom(listOf)) {
+                                curField.setAccessible(true);
+                                childFields.add(new ChildField(curField, listOf));
+                            }
+                        }
+                    }
+                }
+            }
+
+            result = childFields.toArray(new ChildField[childFields.size()]);
+            CHILD_FIELDS.putIfAbsent(elementClass, result);
+        }
+
+        return result;
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>An helper class that stores a field that holds either a child
+     * or a list of children.</p>
+     */
+    private static class ChildField {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The field with the child or list of children.</p> */
+        final Field myField;
+
+        /**
+         * <p>The type of the elements in the list or {@code null}
+         * if the field holds a single child.</p>
+         */
+        final Class<?> myListType;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a new child field.</p>
+         *
+         * @param field The field with the child or list of children.
+         * @param listType The type of the elements in the list or
+         *                 {@code null} if the field holds a single child.
+         */
+        ChildField(Field field, Class<?> listType) {
+            myField = field;
+            myListType = listType;
+        }
+
+    }
+
+}
@@ -131,13 +131,7 @@ public class VirtualListNode extends ResolveConceptualElement {
      */
     @Override
     public final List<ResolveConceptualElement> getChildren() {
-        List<ResolveConceptualElement> children =
-                new LinkedList<>();
-        for (ResolveConceptualElement aMyList : myList) {
-            children.add(ResolveConceptualElement.class.cast(aMyList));
-        }
-
-        return children;
+        return new ArrayList<>(myList);
     }
 
     /**
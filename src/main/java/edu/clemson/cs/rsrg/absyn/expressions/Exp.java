@@ -18,10 +18,9 @@ import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
 import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
 import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * <p>This is the abstract base class for all the expression objects
@@ -41,6 +40,25 @@ public abstract class Exp extends ResolveConceptualElement {
     /** <p>The object's mathematical type value.</p> */
     protected MTType myMathTypeValue = null;
 
+    /**
+     * <p>The memoized structural hash of this expression. A value of
+     * {@code 0} means that we haven't computed it yet.</p>
+     */
+    private int myStructuralHash = 0;
+
+    /**
+     * <p>A bit mask with one bit set for the structural hash of every
+     * expression inside this expression (including itself). A value of
+     * {@code 0} means that we haven't computed it yet.</p>
+     */
+    private long myStructuralHashMask = 0;
+
+    /**
+     * <p>This flag indicates if this expression (and all the expressions
+     * inside it) can no longer be modified.</p>
+     */
+    private boolean myIsFrozen = false;
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -64,13 +82,19 @@ public abstract class Exp extends ResolveConceptualElement {
      * <p>This method overrides the default clone method implementation
      * for all the classes that extend from {@link Exp}.</p>
      *
-     * @return A deep copy of the object.
+     * <p>A frozen expression can never change, so it can be shared
+     * instead of copied. Cloning a frozen expression simply returns
+     * the expression itself.</p>
+     *
+     * @return A deep copy of the object or the object itself
+     *         if it has been frozen.
      */
     @Override
     public Exp clone() {
-        Exp result = this.copy();
-        result.setMathType(myMathType);
-        result.setMathTypeValue(myMathTypeValue);
+        Exp result = this;
+        if (!myIsFrozen) {
+            result = modifiableClone();
+        }
 
         return result;
     }
@@ -183,6 +207,27 @@ public abstract class Exp extends ResolveConceptualElement {
                 && ((e1 == null && e2 == null) || e1.equivalent(e2));
     }
 
+    /**
+     * <p>Marks this expression and all the expressions inside it as frozen.
+     * A frozen expression can't be modified and can be safely shared by
+     * any number of objects, so {@link #clone()} no longer needs to copy
+     * it. Any expression that needs to change a frozen expression must
+     * build a new one and only the expressions that changed need to be
+     * rebuilt.</p>
+     *
+     * @return This expression.
+     */
+    public final Exp freeze() {
+        if (!myIsFrozen) {
+            myIsFrozen = true;
+            for (ResolveConceptualElement child : getChildren()) {
+                freeze(child);
+            }
+        }
+
+        return this;
+    }
+
     /**
      * <p>This method gets the mathematical type associated
      * with this object.</p>
@@ -249,6 +294,31 @@ public abstract class Exp extends ResolveConceptualElement {
                         .getName(), s2.getName())));
     }
 
+    /**
+     * <p>This method checks to see if this expression has been frozen.</p>
+     *
+     * @return {@code true} if it can no longer be modified,
+     *         {@code false} otherwise.
+     */
+    public final boolean isFrozen() {
+        return myIsFrozen;
+    }
+
+    /**
+     * <p>This method returns a copy of this expression that can be
+     * modified, even if this expression has been frozen. Any frozen
+     * sub-expressions are shared with this expression.</p>
+     *
+     * @return A modifiable copy of the object.
+     */
+    public Exp modifiableClone() {
+        Exp result = this.copy();
+        result.setMathType(myMathType);
+        result.setMathTypeValue(myMathTypeValue);
+
+        return result;
+    }
+
     /**
      * <p>This method sets the mathematical type associated
      * with this object.</p>
@@ -256,6 +326,7 @@ public abstract class Exp extends ResolveConceptualElement {
      * @param mathType The {@link MTType} type object.
      */
     public void setMathType(MTType mathType) {
+        checkNotFrozen();
         myMathType = mathType;
     }
 
@@ -266,6 +337,7 @@ public abstract class Exp extends ResolveConceptualElement {
      * @param mathTypeValue The {@link MTType} type object.
      */
     public void setMathTypeValue(MTType mathTypeValue) {
+        checkNotFrozen();
         myMathTypeValue = mathTypeValue;
     }
 
@@ -291,9 +363,36 @@ public abstract class Exp extends ResolveConceptualElement {
     }
 
     /**
-     * <p>Returns a DEEP COPY of this expression, with all instances of 
-     * {@link Exp}s that occur as keys in {@code substitutions}
-     * replaced with their corresponding values.</p>
+     * <p>Returns a hash code that only depends on the structure of this
+     * expression and the function and variable names in it. Two expressions
+     * that are {@link Exp#equivalent(Exp)} always have the same structural
+     * hash, so it can be used to rule out equivalence cheaply or to index
+     * expressions by their structure.</p>
+     *
+     * <p>The hash is computed the first time it is requested and then
+     * reused. It never depends on mathematical types, qualifiers or
+     * any other information that can be modified after the expression
+     * is created.</p>
+     *
+     * @return The structural hash of this expression.
+     */
+    public final int structuralHash() {
+        int result = myStructuralHash;
+        if (result == 0) {
+            result = computeStructuralHash();
+            if (result == 0) {
+                result = 1;
+            }
+            myStructuralHash = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>Returns this expression with all instances of {@link Exp}s that
+     * occur as keys in {@code substitutions} replaced with their
+     * corresponding values.</p>
      * 
      * <p>In general, a key {@link Exp} "occurs" in this {@link Exp}
      * if either this {@link Exp} or some sub-expression is
@@ -301,48 +400,106 @@ public abstract class Exp extends ResolveConceptualElement {
      * function names are additionally matched, even though they would not
      * ordinarily match via {@link Exp#equivalent(Exp)}, so function names can
      * be substituted without affecting their arguments.</p>
+     *
+     * <p>The keys are indexed by their {@link Exp#structuralHash()} and the
+     * substitution is done in a single pass over this expression. Only the
+     * expressions that contain a substitution are copied. Any sub-expression
+     * that doesn't contain one is shared with the original and if no
+     * substitutions are made, this expression itself is returned.</p>
      *   
      * @param substitutions A mapping from {@link Exp}s that should be
      *                      substituted out to the {@link Exp} that should
      *                      replace them.
      *
-     * @return A new {@link Exp} that is a deep copy of the original with
-     *         the provided substitutions made.
+     * @return An {@link Exp} with the provided substitutions made.
      */
     public final Exp substitute(Map<Exp, Exp> substitutions) {
-        Exp retval;
+        SubstitutionIndex index;
+        if (substitutions instanceof SubstitutionIndex) {
+            index = (SubstitutionIndex) substitutions;
+        }
+        else {
+            index = new SubstitutionIndex(substitutions);
+        }
 
-        boolean match = false;
+        return index.substitute(this);
+    }
 
-        Map.Entry<Exp, Exp> curEntry = null;
-        if (substitutions.size() > 0) {
-            Set<Map.Entry<Exp, Exp>> entries = substitutions.entrySet();
-            Iterator<Map.Entry<Exp, Exp>> entryIter = entries.iterator();
-            while (entryIter.hasNext() && !match) {
-                curEntry = entryIter.next();
-                match = curEntry.getKey().equivalent(this);
-            }
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
 
-            if (match) {
-                retval = curEntry.getValue();
-            }
-            else {
-                retval = substituteChildren(substitutions);
-                retval.setMathType(myMathType);
-                retval.setMathTypeValue(myMathTypeValue);
+    /**
+     * <p>Returns the bit that represents the structural hash {@code hash}
+     * in a structural hash mask.</p>
+     *
+     * @param hash A structural hash.
+     *
+     * @return A bit mask with a single bit set.
+     */
+    static long structuralHashBit(int hash) {
+        return 1L << (hash ^ (hash >>> 16));
+    }
+
+    /**
+     * <p>Returns a bit mask that contains the {@link #structuralHashBit(int)}
+     * of every expression inside this expression, including the expressions
+     * inside any types or declarations. If the bit for an expression's
+     * structural hash isn't set, then that expression can't occur
+     * inside this expression.</p>
+     *
+     * <p>Just like the structural hash, the mask is computed the
+     * first time it is requested and then reused.</p>
+     *
+     * @return The structural hash mask of this expression.
+     */
+    final long structuralHashMask() {
+        long result = myStructuralHashMask;
+        if (result == 0) {
+            result = structuralHashBit(structuralHash());
+            for (ResolveConceptualElement child : getChildren()) {
+                result |= structuralHashMask(child);
             }
-        }
-        else {
-            retval = this.clone();
+            myStructuralHashMask = result;
         }
 
-        return retval;
+        return result;
     }
 
     // ===========================================================
     // Protected Methods
     // ===========================================================
 
+    /**
+     * <p>This method must be called by any method that modifies
+     * this expression.</p>
+     */
+    protected final void checkNotFrozen() {
+        if (myIsFrozen) {
+            throw new MiscErrorException(
+                    "Cannot modify the frozen expression: " + toString(),
+                    new UnsupportedOperationException());
+        }
+    }
+
+    /**
+     * <p>Computes the structural hash for this expression. Concrete subclasses
+     * of {@link Exp} should combine this value with the names and the
+     * {@link Exp#structuralHash()} of the sub-expressions that are compared
+     * by their {@link Exp#equivalent(Exp)} method. Anything that is not
+     * always compared by {@link Exp#equivalent(Exp)} must be left out.</p>
+     *
+     * <p>The default implementation only distinguishes expressions
+     * by their class.</p>
+     *
+     * @return The structural hash of this expression.
+     *
+     * @see Exp#structuralHash()
+     */
+    protected int computeStructuralHash() {
+        return getClass().getName().hashCode();
+    }
+
     /**
      * <p>Implemented by concrete subclasses of {@link Exp} to manufacture
      * a copy of themselves.</p>
@@ -354,6 +511,50 @@ public abstract class Exp extends ResolveConceptualElement {
                 + this.getClass(), new CloneNotSupportedException());
     }
 
+    /**
+     * <p>Helper method to hash a {@link PosSymbol} that might
+     * be {@code null} in a way that is consistent with
+     * {@link Exp#posSymbolEquivalent(PosSymbol, PosSymbol)}.</p>
+     *
+     * @param s A {@link PosSymbol}.
+     *
+     * @return The hash code of the symbol's name or {@code 0}
+     * if {@code s} is {@code null}.
+     */
+    protected static int posSymbolHash(PosSymbol s) {
+        return s == null ? 0 : s.getName().hashCode();
+    }
+
+    /**
+     * <p>Helper method to obtain the structural hash of
+     * an {@link Exp} that might be {@code null}.</p>
+     *
+     * @param e An {@link Exp}.
+     *
+     * @return The structural hash of {@code e} or {@code 0}
+     * if {@code e} is {@code null}.
+     */
+    protected static int structuralHash(Exp e) {
+        return e == null ? 0 : e.structuralHash();
+    }
+
+    /**
+     * <p>Helper method to combine the structural hashes of
+     * {@link Exp}s that are compared in iteration order.</p>
+     *
+     * @param exps A collection of {@link Exp}s.
+     *
+     * @return The combined structural hash.
+     */
+    protected static int structuralHash(Collection<? extends Exp> exps) {
+        int result = 1;
+        for (Exp e : exps) {
+            result = 31 * result + structuralHash(e);
+        }
+
+        return result;
+    }
+
     /**
      * <p>A static helper method that calls substitute method using
      * {@code e}.</p>
@@ -363,8 +564,7 @@ public abstract class Exp extends ResolveConceptualElement {
      *                      substituted out to the {@link Exp} that should
      *                      replace them.
      *
-     * @return A new {@link Exp} that is a deep copy of the original with
-     *         the provided substitutions made.
+     * @return An {@link Exp} with the provided substitutions made.
      */
     protected static Exp substitute(Exp e, Map<Exp, Exp> substitutions) {
         Exp retval;
@@ -385,14 +585,62 @@ public abstract class Exp extends ResolveConceptualElement {
      * substituted. The concrete subclass may assume that {@code this}
      * does not match any key in {@code substitutions} and thus need only
      * concern itself with performing substitutions in its children.</p>
+     *
+     * <p>The {@code substitutions} passed to this method is the
+     * indexed view created by {@link Exp#substitute(Map)}, so it must
+     * be passed along as is to {@link Exp#substitute(Exp, Map)}.</p>
      * 
      * @param substitutions A mapping from {@link Exp}s that should be
      *                      substituted out to the {@link Exp} that should
      *                      replace them.
      *
-     * @return A new {@link Exp} that is a deep copy of the original with
-     *         the provided substitutions made.
+     * @return A new {@link Exp} with the provided substitutions made
+     *         in its children.
      */
     protected abstract Exp substituteChildren(Map<Exp, Exp> substitutions);
 
-}
\ No newline at end of file
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Helper method to freeze all the {@link Exp}s inside an element
+     * that might be {@code null} and might not be an {@link Exp}.</p>
+     *
+     * @param element A {@link ResolveConceptualElement}.
+     */
+    private static void freeze(ResolveConceptualElement element) {
+        if (element instanceof Exp) {
+            ((Exp) element).freeze();
+        }
+        else if (element != null) {
+            for (ResolveConceptualElement child : element.getChildren()) {
+                freeze(child);
+            }
+        }
+    }
+
+    /**
+     * <p>Helper method to obtain the structural hash mask of an element
+     * that might be {@code null} and might not be an {@link Exp}.</p>
+     *
+     * @param element A {@link ResolveConceptualElement}.
+     *
+     * @return The combined structural hash mask of all the
+     * {@link Exp}s inside {@code element}.
+     */
+    private static long structuralHashMask(ResolveConceptualElement element) {
+        long result = 0;
+        if (element instanceof Exp) {
+            result = ((Exp) element).structuralHashMask();
+        }
+        else if (element != null) {
+            for (ResolveConceptualElement child : element.getChildren()) {
+                result |= structuralHashMask(child);
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * SubstitutionIndex.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.absyn.expressions;
+
+import java.util.*;
+
+/**
+ * <p>This is a read-only view of a substitution map that is used by
+ * {@link Exp#substitute(Map)}. The keys are indexed by their
+ * {@link Exp#structuralHash()}, so finding the key that matches an
+ * expression only needs to look at the keys with the same hash instead
+ * of every key in the map.</p>
+ *
+ * <p>We also keep the {@link Exp#structuralHashBit(int)} of every key.
+ * Any expression whose {@link Exp#structuralHashMask()} doesn't have one
+ * of these bits can't contain a key, so it is returned as is, without
+ * copying it or looking at its sub-expressions. If the bits say that there
+ * might be a key inside an expression, we substitute its children and count
+ * the number of matches. If there weren't any, the copy is thrown away and
+ * the original expression is returned instead.</p>
+ *
+ * <p>An instance of this class is only used for a single call to
+ * {@link Exp#substitute(Map)} and is not safe to use by multiple
+ * threads.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+final class SubstitutionIndex extends AbstractMap<Exp, Exp> {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The original substitution map.</p> */
+    private final Map<Exp, Exp> mySubstitutions;
+
+    /**
+     * <p>The entries in the substitution map grouped by the structural hash
+     * of their keys. Each group keeps the iteration order of the original
+     * map, so the first key that matches is still the one we use.</p>
+     */
+    private final Map<Integer, List<Map.Entry<Exp, Exp>>> myEntriesByHash;
+
+    /** <p>The combined structural hash bits of all the keys.</p> */
+    private final long myKeysMask;
+
+    /** <p>The number of matches we have found so far.</p> */
+    private int myNumMatches;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates an index for the substitution map.</p>
+     *
+     * @param substitutions A mapping from {@link Exp}s that should be
+     *                      substituted out to the {@link Exp} that should
+     *                      replace them.
+     */
+    SubstitutionIndex(Map<Exp, Exp> substitutions) {
+        mySubstitutions = Collections.unmodifiableMap(substitutions);
+        myEntriesByHash = new HashMap<>();
+
+        long keysMask = 0;
+        for (Map.Entry<Exp, Exp> entry : mySubstitutions.entrySet()) {
+            Integer hash = entry.getKey().structuralHash();
+            List<Map.Entry<Exp, Exp>> entries = myEntriesByHash.get(hash);
+            if (entries == null) {
+                entries = new ArrayList<>(1);
+                myEntriesByHash.put(hash, entries);
+            }
+            entries.add(entry);
+            keysMask |= Exp.structuralHashBit(hash);
+        }
+        myKeysMask = keysMask;
+        myNumMatches = 0;
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the entries in the original substitution map.</p>
+     *
+     * @return An unmodifiable set of entries.
+     */
+    @Override
+    public final Set<Map.Entry<Exp, Exp>> entrySet() {
+        return mySubstitutions.entrySet();
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns {@code e} with all instances of the keys replaced
+     * with their corresponding values. Only the expressions that
+     * contain a match are copied; if there are no matches, {@code e}
+     * itself is returned.</p>
+     *
+     * @param e The original {@link Exp}.
+     *
+     * @return The {@link Exp} with the substitutions made.
+     */
+    final Exp substitute(Exp e) {
+        Exp retval = e;
+
+        if ((e.structuralHashMask() & myKeysMask) != 0) {
+            Map.Entry<Exp, Exp> match = findMatch(e);
+            if (match != null) {
+                retval = match.getValue();
+                myNumMatches++;
+            }
+            else {
+                int numMatches = myNumMatches;
+                Exp newExp = e.substituteChildren(this);
+                if (myNumMatches != numMatches) {
+                    newExp.setMathType(e.getMathType());
+                    newExp.setMathTypeValue(e.getMathTypeValue());
+                    retval = newExp;
+                }
+            }
+        }
+
+        return retval;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Locates the first entry in the substitution map
+     * whose key is {@link Exp#equivalent(Exp)} to {@code e}.</p>
+     *
+     * @param e An {@link Exp}.
+     *
+     * @return The matching entry or {@code null} if there isn't one.
+     */
+    private Map.Entry<Exp, Exp> findMatch(Exp e) {
+        Map.Entry<Exp, Exp> match = null;
+
+        List<Map.Entry<Exp, Exp>> entries =
+                myEntriesByHash.get(e.structuralHash());
+        if (entries != null) {
+            Iterator<Map.Entry<Exp, Exp>> entryIter = entries.iterator();
+            while (entryIter.hasNext() && match == null) {
+                Map.Entry<Exp, Exp> curEntry = entryIter.next();
+                if (curEntry.getKey().equivalent(e)) {
+                    match = curEntry;
+                }
+            }
+        }
+
+        return match;
+    }
+
+}
@@ -220,6 +220,7 @@ public abstract class AbstractFunctionExp extends MathExp {
      * @param qualifier The qualifier for this expression.
      */
     public final void setQualifier(PosSymbol qualifier) {
+        checkNotFrozen();
         myQualifier = qualifier;
     }
 
@@ -229,6 +230,7 @@ public abstract class AbstractFunctionExp extends MathExp {
      * @param q The quantification type for this expression.
      */
     public void setQuantification(SymbolTableEntry.Quantification q) {
+        checkNotFrozen();
         if (!q.equals(SymbolTableEntry.Quantification.NONE)) {
             throw new UnsupportedOperationException("The function "
                     + getOperatorAsString() + " does not support "
@@ -138,7 +138,9 @@ public class AltItemExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean result = e instanceof AltItemExp;
+        boolean result =
+                e instanceof AltItemExp
+                        && structuralHash() == e.structuralHash();
 
         if (result) {
             AltItemExp eAsAltItemExp = (AltItemExp) e;
@@ -239,6 +241,18 @@ public class AltItemExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myTestingExp);
+        result = 31 * result + structuralHash(myAssignmentExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -145,7 +145,9 @@ public class AlternativeExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean result = e instanceof AlternativeExp;
+        boolean result =
+                e instanceof AlternativeExp
+                        && structuralHash() == e.structuralHash();
 
         if (result) {
             AlternativeExp eAsAlternativeExp = (AlternativeExp) e;
@@ -228,6 +230,17 @@ public class AlternativeExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myAlternatives);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
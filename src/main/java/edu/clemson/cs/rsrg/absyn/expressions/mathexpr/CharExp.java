@@ -84,7 +84,8 @@ public class CharExp extends LiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof CharExp);
+        boolean retval =
+                (e instanceof CharExp && structuralHash() == e.structuralHash());
         if (retval) {
             CharExp eAsCharExp = (CharExp) e;
             retval = myCharacter.equals(eAsCharExp.myCharacter);
@@ -138,6 +139,17 @@ public class CharExp extends LiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myCharacter.hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
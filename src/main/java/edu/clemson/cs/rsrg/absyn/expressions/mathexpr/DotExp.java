@@ -140,7 +140,8 @@ public class DotExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean result = (e instanceof DotExp);
+        boolean result =
+                (e instanceof DotExp && structuralHash() == e.structuralHash());
 
         if (result) {
             DotExp eAsDotExp = (DotExp) e;
@@ -234,6 +235,17 @@ public class DotExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(mySegmentExps);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
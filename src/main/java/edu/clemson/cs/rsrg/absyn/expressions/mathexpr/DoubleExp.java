@@ -86,7 +86,9 @@ public class DoubleExp extends LiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof DoubleExp);
+        boolean retval =
+                (e instanceof DoubleExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             DoubleExp eAsDoubleExp = (DoubleExp) e;
             retval = (myDouble == eAsDoubleExp.myDouble);
@@ -142,6 +144,17 @@ public class DoubleExp extends LiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + Double.valueOf(myDouble + 0.0).hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
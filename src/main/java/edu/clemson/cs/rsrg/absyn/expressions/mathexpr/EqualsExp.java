@@ -120,7 +120,9 @@ public class EqualsExp extends InfixExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof EqualsExp;
+        boolean retval =
+                e instanceof EqualsExp
+                        && structuralHash() == e.structuralHash();
         if (retval) {
             EqualsExp eAsEquals = (EqualsExp) e;
             retval =
@@ -191,7 +191,9 @@ public class FunctionExp extends AbstractFunctionExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof FunctionExp;
+        boolean retval =
+                e instanceof FunctionExp
+                        && structuralHash() == e.structuralHash();
 
         if (retval) {
             FunctionExp eAsFunction = (FunctionExp) e;
@@ -336,6 +338,7 @@ public class FunctionExp extends AbstractFunctionExp {
      * @param q The quantification type for this expression.
      */
     public final void setQuantification(SymbolTableEntry.Quantification q) {
+        checkNotFrozen();
         myQuantification = q;
     }
 
@@ -353,6 +356,19 @@ public class FunctionExp extends AbstractFunctionExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myFuncNameExp);
+        result = 31 * result + structuralHash(myFuncNameCaratExp);
+        result = 31 * result + structuralHash(myArguments);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -172,7 +172,8 @@ public class InfixExp extends AbstractFunctionExp {
      */
     @Override
     public boolean equivalent(Exp e) {
-        boolean retval = e instanceof InfixExp;
+        boolean retval =
+                e instanceof InfixExp && structuralHash() == e.structuralHash();
         if (retval) {
             InfixExp eAsInfix = (InfixExp) e;
             retval =
@@ -449,6 +450,22 @@ public class InfixExp extends AbstractFunctionExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>An {@link EqualsExp} can be equivalent to an {@code InfixExp}, so
+     * both must be hashed the same way.</p>
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = InfixExp.class.getName().hashCode();
+        result = 31 * result + posSymbolHash(myOperationName);
+        result = 31 * result + structuralHash(myLeftHandSide);
+        result = 31 * result + structuralHash(myRightHandSide);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -98,7 +98,9 @@ public class IntegerExp extends LiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof IntegerExp;
+        boolean retval =
+                e instanceof IntegerExp
+                        && structuralHash() == e.structuralHash();
         if (retval) {
             IntegerExp eAsIntegerExp = (IntegerExp) e;
             retval = myInteger.equals(eAsIntegerExp.myInteger);
@@ -164,6 +166,17 @@ public class IntegerExp extends LiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myInteger.hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
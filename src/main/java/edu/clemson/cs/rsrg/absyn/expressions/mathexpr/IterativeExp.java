@@ -215,7 +215,9 @@ public class IterativeExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof IterativeExp;
+        boolean retval =
+                e instanceof IterativeExp
+                        && structuralHash() == e.structuralHash();
         if (retval) {
             IterativeExp eAsIterativeExp = (IterativeExp) e;
             retval =
@@ -324,6 +326,20 @@ public class IterativeExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myOperator.ordinal();
+        result = 31 * result + posSymbolHash(myVar.getName());
+        result = 31 * result + structuralHash(myWhereExp);
+        result = 31 * result + structuralHash(myBodyExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
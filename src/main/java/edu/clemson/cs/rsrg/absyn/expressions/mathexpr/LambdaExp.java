@@ -139,7 +139,9 @@ public class LambdaExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean result = e instanceof LambdaExp;
+        boolean result =
+                e instanceof LambdaExp
+                        && structuralHash() == e.structuralHash();
         if (result) {
             LambdaExp eAsLambdaExp = (LambdaExp) e;
 
@@ -230,6 +232,18 @@ public class LambdaExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myParameters.size();
+        result = 31 * result + structuralHash(myBodyExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -35,7 +35,7 @@ public class OldExp extends MathExp {
     // ===========================================================
 
     /** <p>The actual declared mathematical expression represented in the code.</p> */
-    private final Exp myOrigExp;
+    private Exp myOrigExp;
 
     // ===========================================================
     // Constructors
@@ -129,7 +129,8 @@ public class OldExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof OldExp);
+        boolean retval =
+                (e instanceof OldExp && structuralHash() == e.structuralHash());
         if (retval) {
             OldExp eAsOldExp = (OldExp) e;
             retval = myOrigExp.equivalent(eAsOldExp.myOrigExp);
@@ -189,7 +190,9 @@ public class OldExp extends MathExp {
     @Override
     public final void setMathType(MTType mathType) {
         super.setMathType(mathType);
-        myOrigExp.setMathType(mathType);
+        if (myOrigExp.getMathType() != mathType) {
+            getModifiableOrigExp().setMathType(mathType);
+        }
     }
 
     /**
@@ -201,7 +204,9 @@ public class OldExp extends MathExp {
     @Override
     public final void setMathTypeValue(MTType mathTypeValue) {
         super.setMathTypeValue(mathTypeValue);
-        myOrigExp.setMathTypeValue(mathTypeValue);
+        if (myOrigExp.getMathTypeValue() != mathTypeValue) {
+            getModifiableOrigExp().setMathTypeValue(mathTypeValue);
+        }
     }
 
     /**
@@ -218,6 +223,17 @@ public class OldExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myOrigExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -244,4 +260,23 @@ public class OldExp extends MathExp {
         return new OldExp(cloneLocation(), newOrigExp);
     }
 
-}
\ No newline at end of file
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the original expression so that we can change it. A frozen
+     * original expression is shared with other expressions, so it is
+     * replaced with a copy that we can modify.</p>
+     *
+     * @return The original {@link Exp}.
+     */
+    private Exp getModifiableOrigExp() {
+        if (myOrigExp.isFrozen()) {
+            myOrigExp = myOrigExp.modifiableClone();
+        }
+
+        return myOrigExp;
+    }
+
+}
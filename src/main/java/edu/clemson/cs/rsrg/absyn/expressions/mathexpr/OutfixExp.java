@@ -247,7 +247,9 @@ public class OutfixExp extends AbstractFunctionExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof OutfixExp;
+        boolean retval =
+                e instanceof OutfixExp
+                        && structuralHash() == e.structuralHash();
 
         if (retval) {
             OutfixExp eAsOutfix = (OutfixExp) e;
@@ -348,6 +350,18 @@ public class OutfixExp extends AbstractFunctionExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myOperator.ordinal();
+        result = 31 * result + structuralHash(myArgument);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
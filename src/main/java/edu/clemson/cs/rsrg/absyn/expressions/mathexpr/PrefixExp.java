@@ -115,7 +115,9 @@ public class PrefixExp extends AbstractFunctionExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof PrefixExp);
+        boolean retval =
+                (e instanceof PrefixExp && structuralHash() == e
+                        .structuralHash());
 
         if (retval) {
             PrefixExp eAsPrefixExp = (PrefixExp) e;
@@ -250,6 +252,18 @@ public class PrefixExp extends AbstractFunctionExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + posSymbolHash(myOperationName);
+        result = 31 * result + structuralHash(myArgument);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
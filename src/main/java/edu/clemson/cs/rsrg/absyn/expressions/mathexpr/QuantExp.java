@@ -170,7 +170,8 @@ public class QuantExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof QuantExp;
+        boolean retval =
+                e instanceof QuantExp && structuralHash() == e.structuralHash();
         if (retval) {
             QuantExp eAsQuantExp = (QuantExp) e;
 
@@ -293,6 +294,18 @@ public class QuantExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myWhereExp);
+        result = 31 * result + structuralHash(myBodyExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -141,7 +141,9 @@ public class SetCollectionExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean result = (e instanceof SetCollectionExp);
+        boolean result =
+                (e instanceof SetCollectionExp && structuralHash() == e
+                        .structuralHash());
 
         if (result) {
             SetCollectionExp eAsSetCollectionExp = (SetCollectionExp) e;
@@ -228,6 +230,17 @@ public class SetCollectionExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myMembers);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -139,7 +139,8 @@ public class SetExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof SetExp;
+        boolean retval =
+                e instanceof SetExp && structuralHash() == e.structuralHash();
         if (retval) {
             SetExp eAsSetExp = (SetExp) e;
             retval =
@@ -233,6 +234,19 @@ public class SetExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + posSymbolHash(myVar.getName());
+        result = 31 * result + structuralHash(myWhereExp);
+        result = 31 * result + structuralHash(myBodyExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
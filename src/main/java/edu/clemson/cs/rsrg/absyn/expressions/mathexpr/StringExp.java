@@ -86,7 +86,9 @@ public class StringExp extends LiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof StringExp);
+        boolean retval =
+                (e instanceof StringExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             StringExp eAsStringExp = (StringExp) e;
             retval = myString.equals(eAsStringExp.myString);
@@ -140,6 +142,17 @@ public class StringExp extends LiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myString.hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -154,7 +154,9 @@ public class TypeAssertionExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof TypeAssertionExp);
+        boolean retval =
+                (e instanceof TypeAssertionExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             TypeAssertionExp eAsTypeAssertionExp = (TypeAssertionExp) e;
             retval = myExp.equivalent(eAsTypeAssertionExp.myExp);
@@ -227,6 +229,17 @@ public class TypeAssertionExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -117,7 +117,9 @@ public class UnaryMinusExp extends MathExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof UnaryMinusExp);
+        boolean retval =
+                (e instanceof UnaryMinusExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             UnaryMinusExp eAsUnaryMinusExp = (UnaryMinusExp) e;
             retval =
@@ -184,6 +186,17 @@ public class UnaryMinusExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myInnerArgumentExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -126,7 +126,7 @@ public class VCVarExp extends MathExp {
     @Override
     public final boolean equivalent(Exp e) {
         boolean retval = false;
-        if (e instanceof VCVarExp) {
+        if (e instanceof VCVarExp && structuralHash() == e.structuralHash()) {
             VCVarExp eAsVarExp = (VCVarExp) e;
             retval = myOrigExp.equivalent(eAsVarExp.myOrigExp);
         }
@@ -190,6 +190,17 @@ public class VCVarExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myOrigExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
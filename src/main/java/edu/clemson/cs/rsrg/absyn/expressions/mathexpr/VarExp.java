@@ -153,7 +153,7 @@ public class VarExp extends MathExp {
     @Override
     public final boolean equivalent(Exp e) {
         boolean retval = false;
-        if (e instanceof VarExp) {
+        if (e instanceof VarExp && structuralHash() == e.structuralHash()) {
             VarExp eAsVarExp = (VarExp) e;
             retval =
                     (posSymbolEquivalent(myQualifier, eAsVarExp.myQualifier) && (posSymbolEquivalent(
@@ -230,6 +230,7 @@ public class VarExp extends MathExp {
      * @param qualifier The qualifier for this expression.
      */
     public final void setQualifier(PosSymbol qualifier) {
+        checkNotFrozen();
         myQualifier = qualifier;
     }
 
@@ -239,6 +240,7 @@ public class VarExp extends MathExp {
      * @param q The quantification type for this expression.
      */
     public final void setQuantification(SymbolTableEntry.Quantification q) {
+        checkNotFrozen();
         myQuantification = q;
     }
 
@@ -256,6 +258,17 @@ public class VarExp extends MathExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + posSymbolHash(myName);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
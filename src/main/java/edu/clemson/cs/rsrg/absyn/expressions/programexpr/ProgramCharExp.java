@@ -84,7 +84,9 @@ public class ProgramCharExp extends ProgramLiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof ProgramCharExp);
+        boolean retval =
+                (e instanceof ProgramCharExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             ProgramCharExp eAsProgramCharExp = (ProgramCharExp) e;
             retval = myCharacter.equals(eAsProgramCharExp.myCharacter);
@@ -116,6 +118,17 @@ public class ProgramCharExp extends ProgramLiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myCharacter.hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
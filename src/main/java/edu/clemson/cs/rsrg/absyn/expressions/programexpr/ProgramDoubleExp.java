@@ -84,7 +84,9 @@ public class ProgramDoubleExp extends ProgramLiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof ProgramDoubleExp);
+        boolean retval =
+                (e instanceof ProgramDoubleExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             ProgramDoubleExp eAsProgramDoubleExp = (ProgramDoubleExp) e;
             retval = (myDouble == eAsProgramDoubleExp.myDouble);
@@ -118,6 +120,17 @@ public class ProgramDoubleExp extends ProgramLiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + Double.valueOf(myDouble + 0.0).hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
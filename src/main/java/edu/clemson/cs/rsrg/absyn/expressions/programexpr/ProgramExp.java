@@ -54,14 +54,12 @@ public abstract class ProgramExp extends Exp {
      * <p>This method overrides the default clone method implementation
      * for all the classes that extend from {@link ProgramExp}.</p>
      *
-     * @return A deep copy of the object.
+     * @return A deep copy of the object or the object itself
+     *         if it has been frozen.
      */
     @Override
     public final ProgramExp clone() {
-        ProgramExp newExp = (ProgramExp) super.clone();
-        newExp.setProgramType(myProgramType);
-
-        return newExp;
+        return (ProgramExp) super.clone();
     }
 
     /**
@@ -105,6 +103,21 @@ public abstract class ProgramExp extends Exp {
         return result;
     }
 
+    /**
+     * <p>This method overrides the default modifiable clone method
+     * implementation for all the classes that extend from
+     * {@link ProgramExp}.</p>
+     *
+     * @return A modifiable copy of the object.
+     */
+    @Override
+    public final ProgramExp modifiableClone() {
+        ProgramExp newExp = (ProgramExp) super.modifiableClone();
+        newExp.setProgramType(myProgramType);
+
+        return newExp;
+    }
+
     /**
      * <p>This method sets the programming type associated
      * with this object.</p>
@@ -112,6 +125,7 @@ public abstract class ProgramExp extends Exp {
      * @param progType The {@link PTType} type object.
      */
     public final void setProgramType(PTType progType) {
+        checkNotFrozen();
         myProgramType = progType;
     }
 
@@ -164,7 +164,9 @@ public class ProgramFunctionExp extends ProgramExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean result = (e instanceof ProgramFunctionExp);
+        boolean result =
+                (e instanceof ProgramFunctionExp && structuralHash() == e
+                        .structuralHash());
 
         if (result) {
             ProgramFunctionExp eAsProgramFunctionExp = (ProgramFunctionExp) e;
@@ -252,6 +254,7 @@ public class ProgramFunctionExp extends ProgramExp {
      * @param qualifier The qualifier for this expression.
      */
     public final void setQualifier(PosSymbol qualifier) {
+        checkNotFrozen();
         myQualifier = qualifier;
     }
 
@@ -259,6 +262,18 @@ public class ProgramFunctionExp extends ProgramExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + posSymbolHash(myOperationName);
+        result = 31 * result + structuralHash(myExpressionArgs);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -84,7 +84,9 @@ public class ProgramIntegerExp extends ProgramLiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof ProgramIntegerExp;
+        boolean retval =
+                e instanceof ProgramIntegerExp
+                        && structuralHash() == e.structuralHash();
         if (retval) {
             ProgramIntegerExp eAsProgramIntegerExp = (ProgramIntegerExp) e;
             retval = myInteger.equals(eAsProgramIntegerExp.myInteger);
@@ -116,6 +118,17 @@ public class ProgramIntegerExp extends ProgramLiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myInteger.hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -84,7 +84,9 @@ public class ProgramStringExp extends ProgramLiteralExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = (e instanceof ProgramStringExp);
+        boolean retval =
+                (e instanceof ProgramStringExp && structuralHash() == e
+                        .structuralHash());
         if (retval) {
             ProgramStringExp eAsProgramStringExp = (ProgramStringExp) e;
             retval = myString.equals(eAsProgramStringExp.myString);
@@ -116,6 +118,17 @@ public class ProgramStringExp extends ProgramLiteralExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + myString.hashCode();
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -111,7 +111,9 @@ public class ProgramVariableArrayExp extends ProgramVariableExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof ProgramVariableArrayExp;
+        boolean retval =
+                e instanceof ProgramVariableArrayExp
+                        && structuralHash() == e.structuralHash();
 
         if (retval) {
             ProgramVariableArrayExp eAsProgramVariableNameExp =
@@ -168,6 +170,18 @@ public class ProgramVariableArrayExp extends ProgramVariableExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(myProgramNameExp);
+        result = 31 * result + structuralHash(myProgramIndexExp);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
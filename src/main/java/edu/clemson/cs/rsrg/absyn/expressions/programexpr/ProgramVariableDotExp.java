@@ -96,7 +96,9 @@ public class ProgramVariableDotExp extends ProgramVariableExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof ProgramVariableDotExp;
+        boolean retval =
+                e instanceof ProgramVariableDotExp
+                        && structuralHash() == e.structuralHash();
 
         if (retval) {
             ProgramVariableDotExp eAsProgramVariableDotExp =
@@ -166,6 +168,17 @@ public class ProgramVariableDotExp extends ProgramVariableExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + structuralHash(mySegmentExps);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
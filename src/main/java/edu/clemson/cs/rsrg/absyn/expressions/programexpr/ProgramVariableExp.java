@@ -113,6 +113,7 @@ public abstract class ProgramVariableExp extends ProgramExp {
      * @param qualifier The qualifier for this expression.
      */
     public final void setQualifier(PosSymbol qualifier) {
+        checkNotFrozen();
         myQualifier = qualifier;
     }
 
@@ -94,7 +94,9 @@ public class ProgramVariableNameExp extends ProgramVariableExp {
      */
     @Override
     public final boolean equivalent(Exp e) {
-        boolean retval = e instanceof ProgramVariableNameExp;
+        boolean retval =
+                e instanceof ProgramVariableNameExp
+                        && structuralHash() == e.structuralHash();
 
         if (retval) {
             ProgramVariableNameExp eAsProgramVariableNameExp =
@@ -141,6 +143,17 @@ public class ProgramVariableNameExp extends ProgramVariableExp {
     // Protected Methods
     // ===========================================================
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected final int computeStructuralHash() {
+        int result = super.computeStructuralHash();
+        result = 31 * result + posSymbolHash(myVarName);
+
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -15,16 +15,19 @@ package edu.clemson.cs.rsrg.init;
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.output.FileOutputListener;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
+import edu.clemson.cs.rsrg.init.output.ProverOutputListener;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.statushandling.WriterStatusHandler;
 import edu.clemson.cs.rsrg.statushandling.exception.FlagDependencyException;
 import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
 import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.file.WorkspaceIndex;
 import edu.clemson.cs.rsrg.init.flag.FlagManager;
 import edu.clemson.cs.rsrg.misc.Utilities;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.ScopeRepository;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
@@ -32,6 +35,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.*;
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE;
 
@@ -67,6 +71,18 @@ public class CompileEnvironment {
      */
     private final Map<ModuleIdentifier, File> myExternalRealizFiles;
 
+    /**
+     * <p>The worker pool used to parse imported modules concurrently.
+     * This is only created when the user requested more than one job.</p>
+     */
+    private ExecutorService myExecutorService = null;
+
+    /**
+     * <p>The listener that writes the compilation results to files. This is
+     * {@code null} if we were asked not to output any files.</p>
+     */
+    private final FileOutputListener myFileOutputListener;
+
     /**
      * <p>This is the default status handler for the RESOLVE compiler.</p>
      */
@@ -77,12 +93,35 @@ public class CompileEnvironment {
      */
     private final List<ModuleIdentifier> myIncompleteModules;
 
+    /**
+     * <p>The registry that records where the compiler spends its time.</p>
+     */
+    private final CompileMetrics myMetrics;
+
+    /**
+     * <p>The number of worker threads used to parse imported modules
+     * and to prove VCs.</p>
+     */
+    private final int myNumberOfJobs;
+
     /**
      * <p>This list stores listener objects that provides instant feedback to the
      * interested party when we are done with a compilation activity.</p>
      */
     private final List<OutputListener> myOutputListeners;
 
+    /**
+     * <p>The listener that proves the generated {@code VCs}. This is
+     * {@code null} if we were not asked to prove them.</p>
+     */
+    private final ProverOutputListener myProverOutputListener;
+
+    /**
+     * <p>The library modules shared with other compilation jobs.
+     * This is {@code null} if this job doesn't share its library modules.</p>
+     */
+    private SharedLibrary mySharedLibrary = null;
+
     /**
      * <p>The symbol table for the compiler.</p>
      */
@@ -99,6 +138,11 @@ public class CompileEnvironment {
      */
     private Map<String, ResolveFile> myUserFileMap;
 
+    /**
+     * <p>This is the catalog of all files in the RESOLVE workspace directory.</p>
+     */
+    private final WorkspaceIndex myWorkspaceIndex;
+
     // ===========================================================
     // Objects
     // ===========================================================
@@ -134,6 +178,9 @@ public class CompileEnvironment {
                 new HashMap<>();
         myExternalRealizFiles = new HashMap<>();
         myIncompleteModules = new LinkedList<>();
+        myMetrics =
+                new CompileMetrics(flags
+                        .isFlagSet(ResolveCompiler.FLAG_METRICS));
         myOutputListeners = new LinkedList<>();
         myUserFileMap = new HashMap<>();
 
@@ -145,6 +192,23 @@ public class CompileEnvironment {
                             "Path");
         }
         myCompileDir = Utilities.getWorkspaceDir(path);
+        myWorkspaceIndex = new WorkspaceIndex(myCompileDir);
+
+        // Check the number of concurrent jobs
+        String jobs =
+                flags.getFlagArgument(ResolveCompiler.FLAG_JOBS, "Number");
+        try {
+            myNumberOfJobs = Integer.parseInt(jobs);
+        }
+        catch (NumberFormatException nfe) {
+            throw new FlagDependencyException(
+                    "The number of jobs must be a positive integer: " + jobs);
+        }
+
+        if (myNumberOfJobs < 1) {
+            throw new FlagDependencyException(
+                    "The number of jobs must be a positive integer: " + jobs);
+        }
 
         // Check for file error output flag
         if (flags.isFlagSet(ResolveCompiler.FLAG_DEBUG_FILE_OUT)) {
@@ -165,7 +229,21 @@ public class CompileEnvironment {
 
         // Add a default file listener if we didn't specify no file output
         if (!flags.isFlagSet(ResolveCompiler.FLAG_NO_FILE_OUTPUT)) {
-            myOutputListeners.add(new FileOutputListener(myStatusHandler));
+            myFileOutputListener = new FileOutputListener(myStatusHandler);
+            myOutputListeners.add(myFileOutputListener);
+        }
+        else {
+            myFileOutputListener = null;
+        }
+
+        // Add a prover listener if we want to prove the generated VCs
+        if (flags.isFlagSet(VCGenerator.FLAG_PROVE_VC)) {
+            myProverOutputListener =
+                    new ProverOutputListener(myStatusHandler, myNumberOfJobs);
+            myOutputListeners.add(myProverOutputListener);
+        }
+        else {
+            myProverOutputListener = null;
         }
 
         // Debugging information
@@ -202,6 +280,28 @@ public class CompileEnvironment {
         myOutputListeners.add(listener);
     }
 
+    /**
+     * <p>Shuts down the worker threads used by this job (including the
+     * prover's) once their pending tasks are done and removes any output
+     * file that was left incomplete by an error. This needs to be called
+     * at the end of every job, because a process that runs several jobs
+     * (e.g. the {@link CompilerDaemon}) creates a new compilation
+     * environment for each of them.</p>
+     */
+    public final synchronized void close() {
+        if (myExecutorService != null) {
+            myExecutorService.shutdown();
+        }
+
+        if (myProverOutputListener != null) {
+            myProverOutputListener.close();
+        }
+
+        if (myFileOutputListener != null) {
+            myFileOutputListener.close();
+        }
+    }
+
     /**
      * <p>Remove the module associated with the {@link ModuleIdentifier}
      * from our incomplete module stack. This indicates the completion of
@@ -257,6 +357,17 @@ public class CompileEnvironment {
         return myCompilingModules.get(id).getValue();
     }
 
+    /**
+     * <p>Returns the listener that writes the compilation
+     * results to files.</p>
+     *
+     * @return A {@link FileOutputListener} or {@code null} if
+     * this job doesn't output any files.
+     */
+    final FileOutputListener getFileOutputListener() {
+        return myFileOutputListener;
+    }
+
     /**
      * <p>Returns the {@link ModuleDec} associated with the specified id.</p>
      *
@@ -268,6 +379,26 @@ public class CompileEnvironment {
         return myCompilingModules.get(id).getKey();
     }
 
+    /**
+     * <p>Returns the registry that records where the compiler
+     * spends its time during this job.</p>
+     *
+     * @return A {@link CompileMetrics} registry.
+     */
+    public final CompileMetrics getMetrics() {
+        return myMetrics;
+    }
+
+    /**
+     * <p>Returns the number of worker threads used to parse
+     * imported modules and to prove VCs.</p>
+     *
+     * @return A positive integer.
+     */
+    public final int getNumberOfJobs() {
+        return myNumberOfJobs;
+    }
+
     /**
      * <p>Returns the remaining arguments not handled by the
      * compile environment.</p>
@@ -297,6 +428,16 @@ public class CompileEnvironment {
         return myStatusHandler;
     }
 
+    /**
+     * <p>Returns the library modules shared with other compilation jobs.</p>
+     *
+     * @return A {@link SharedLibrary} or {@code null} if this job
+     * doesn't share its library modules.
+     */
+    final SharedLibrary getSharedLibrary() {
+        return mySharedLibrary;
+    }
+
     /**
      * <p>The symbol table containing all symbol information.</p>
      *
@@ -306,6 +447,39 @@ public class CompileEnvironment {
         return mySymbolTable;
     }
 
+    /**
+     * <p>Waits for a task returned by {@link #submitTask(Callable)} to
+     * finish. If the task failed, we rethrow the exception it raised.</p>
+     *
+     * @param future The pending result of a task.
+     * @param <T> The result type of the task.
+     *
+     * @return The result of the task.
+     *
+     * @throws MiscErrorException We were interrupted while waiting or the
+     * task threw a checked exception.
+     */
+    public final <T> T getTaskResult(Future<T> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new MiscErrorException("Interrupted while compiling", ie);
+        }
+        catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new MiscErrorException(cause.getMessage(), cause);
+        }
+    }
+
     /**
      * <p>The type graph containing all the type relationships.</p>
      *
@@ -338,6 +512,16 @@ public class CompileEnvironment {
         return myCompileDir;
     }
 
+    /**
+     * <p>Returns the catalog of all the files in the
+     * current RESOLVE workspace directory.</p>
+     *
+     * @return A {@link WorkspaceIndex} object
+     */
+    public final WorkspaceIndex getWorkspaceIndex() {
+        return myWorkspaceIndex;
+    }
+
     /**
      * <p>This checks to see if the module associated with this id is an externally
      * realized file.</p>
@@ -385,6 +569,16 @@ public class CompileEnvironment {
         myUserFileMap = fMap;
     }
 
+    /**
+     * <p>Used to share the library modules populated by this job
+     * with other compilation jobs.</p>
+     *
+     * @param library The shared library modules.
+     */
+    final void setSharedLibrary(SharedLibrary library) {
+        mySharedLibrary = library;
+    }
+
     /**
      * <p>Sets this table as our new symbol table.</p>
      *
@@ -414,4 +608,60 @@ public class CompileEnvironment {
         myTypeGraph = t;
     }
 
+    /**
+     * <p>Submits a single task and returns immediately, so the caller can
+     * keep submitting tasks as it discovers them. If we are only allowed to
+     * use one job, the task is run on the calling thread before this method
+     * returns. Use {@link #getTaskResult(Future)} to obtain the result.</p>
+     *
+     * @param task The task to be executed.
+     * @param <T> The result type of the task.
+     *
+     * @return A {@link Future} representing the pending result of the task.
+     */
+    public final <T> Future<T> submitTask(Callable<T> task) {
+        if (myNumberOfJobs == 1) {
+            FutureTask<T> future = new FutureTask<>(task);
+            future.run();
+
+            return future;
+        }
+
+        return getExecutorService().submit(task);
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the worker pool for this compilation environment,
+     * creating it if this is the first time we need it. The worker
+     * threads are daemon threads, so an idle pool never keeps the
+     * compiler from exiting.</p>
+     *
+     * @return An {@link ExecutorService} with {@link #getNumberOfJobs()}
+     * worker threads.
+     */
+    private synchronized ExecutorService getExecutorService() {
+        if (myExecutorService == null) {
+            myExecutorService =
+                    Executors.newFixedThreadPool(myNumberOfJobs,
+                            new ThreadFactory() {
+
+                                private final ThreadFactory myDefaultFactory =
+                                        Executors.defaultThreadFactory();
+
+                                @Override
+                                public Thread newThread(Runnable r) {
+                                    Thread t = myDefaultFactory.newThread(r);
+                                    t.setDaemon(true);
+                                    return t;
+                                }
+                            });
+        }
+
+        return myExecutorService;
+    }
+
 }
\ No newline at end of file
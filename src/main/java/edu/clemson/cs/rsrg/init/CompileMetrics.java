@@ -0,0 +1,429 @@
+/*
+ * CompileMetrics.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.json.JSONObject;
+
+/**
+ * <p>A registry that records where the compiler spends its time. For each
+ * module and each compilation phase (parsing, populating, generating VCs,
+ * etc.), we keep track of the wall clock time, the CPU time, the bytes
+ * allocated and any counters (e.g. number of AST nodes or symbol table
+ * queries) that were incremented while the phase was running.</p>
+ *
+ * <p>A phase is started by {@link #startPhase(String, String)} and belongs to
+ * the thread that started it, so phases running on different worker threads
+ * don't interfere with each other. Counters incremented outside of any phase
+ * are only added to the totals.</p>
+ *
+ * <p>If the metrics are disabled, none of the methods record anything, so
+ * the instrumented code only pays for a field read.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class CompileMetrics {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>This indicates if we are recording anything.</p> */
+    private final boolean myIsEnabled;
+
+    /** <p>The phase running on each thread (if any).</p> */
+    private final ThreadLocal<Phase> myCurrentPhase;
+
+    /** <p>The statistics for each module and phase.</p> */
+    private final Map<String, Map<String, PhaseStatistics>> myModuleStatistics;
+
+    /** <p>Counters that were incremented outside of any phase.</p> */
+    private final Map<String, Long> myUnattributedCounters;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /** <p>The charset used to write the report.</p> */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** <p>A phase that doesn't record anything.</p> */
+    private static final Phase DISABLED_PHASE = new Phase(null, null, null);
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates an empty metrics registry.</p>
+     *
+     * @param enabled {@code true} if we need to record any metrics,
+     *                {@code false} otherwise.
+     */
+    public CompileMetrics(boolean enabled) {
+        myIsEnabled = enabled;
+        myCurrentPhase = new ThreadLocal<>();
+        myModuleStatistics = new TreeMap<>();
+        myUnattributedCounters = new TreeMap<>();
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Increments the specified counter by {@code amount}.</p>
+     *
+     * @param name Name of the counter.
+     * @param amount The amount to be added.
+     */
+    public final void addToCounter(String name, long amount) {
+        if (myIsEnabled) {
+            Phase phase = myCurrentPhase.get();
+            if (phase != null) {
+                addTo(phase.myCounters, name, amount);
+            }
+            else {
+                synchronized (this) {
+                    addTo(myUnattributedCounters, name, amount);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>Increments the specified counter by one.</p>
+     *
+     * @param name Name of the counter.
+     */
+    public final void incrementCounter(String name) {
+        addToCounter(name, 1);
+    }
+
+    /**
+     * <p>This indicates if we are recording any metrics.</p>
+     *
+     * @return {@code true} if the metrics are enabled,
+     * {@code false} otherwise.
+     */
+    public final boolean isEnabled() {
+        return myIsEnabled;
+    }
+
+    /**
+     * <p>Starts timing a phase for a module on the current thread.
+     * The caller must {@link Phase#stop()} the phase on the same thread,
+     * usually in a {@code finally} block.</p>
+     *
+     * @param moduleName Name of the module.
+     * @param phaseName Name of the phase.
+     *
+     * @return The running {@link Phase}.
+     */
+    public final Phase startPhase(String moduleName, String phaseName) {
+        if (!myIsEnabled) {
+            return DISABLED_PHASE;
+        }
+
+        Phase phase = new Phase(this, moduleName, phaseName);
+        phase.myPrevious = myCurrentPhase.get();
+        myCurrentPhase.set(phase);
+
+        return phase;
+    }
+
+    /**
+     * <p>Returns all the metrics recorded so far.</p>
+     *
+     * @return A {@link JSONObject} containing the statistics for each module
+     * and phase, along with the totals for each counter.
+     */
+    public final synchronized JSONObject toJSON() {
+        Map<String, Long> totals = new TreeMap<>(myUnattributedCounters);
+        JSONObject modules = new JSONObject();
+        for (Map.Entry<String, Map<String, PhaseStatistics>> moduleEntry : myModuleStatistics
+                .entrySet()) {
+            JSONObject phases = new JSONObject();
+            for (Map.Entry<String, PhaseStatistics> phaseEntry : moduleEntry
+                    .getValue().entrySet()) {
+                PhaseStatistics statistics = phaseEntry.getValue();
+                phases.put(phaseEntry.getKey(), statistics.toJSON());
+
+                for (Map.Entry<String, Long> counter : statistics.counters
+                        .entrySet()) {
+                    addTo(totals, counter.getKey(), counter.getValue());
+                }
+            }
+            modules.put(moduleEntry.getKey(), phases);
+        }
+
+        JSONObject report = new JSONObject();
+        report.put("modules", modules);
+        report.put("counters", totals);
+
+        return report;
+    }
+
+    /**
+     * <p>Writes all the metrics recorded so far to the specified file.</p>
+     *
+     * @param file The report file.
+     *
+     * @throws IOException There was an error writing the report.
+     */
+    public final void writeReport(File file) throws IOException {
+        Files.write(file.toPath(), toJSON().toString(2).getBytes(UTF8));
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Adds {@code amount} to a counter stored in {@code counters}.</p>
+     *
+     * @param counters A map of counters.
+     * @param name Name of the counter.
+     * @param amount The amount to be added.
+     */
+    private static void addTo(Map<String, Long> counters, String name,
+            long amount) {
+        Long value = counters.get(name);
+        counters.put(name, value == null ? amount : value + amount);
+    }
+
+    /**
+     * <p>Adds the measurements of a phase that just finished
+     * to the statistics for its module.</p>
+     *
+     * @param phase A finished phase.
+     * @param wallNanos Wall clock time in nanoseconds.
+     * @param cpuNanos CPU time in nanoseconds.
+     * @param allocatedBytes Number of bytes allocated.
+     */
+    private synchronized void recordPhase(Phase phase, long wallNanos,
+            long cpuNanos, long allocatedBytes) {
+        Map<String, PhaseStatistics> phases =
+                myModuleStatistics.get(phase.myModuleName);
+        if (phases == null) {
+            phases = new TreeMap<>();
+            myModuleStatistics.put(phase.myModuleName, phases);
+        }
+
+        PhaseStatistics statistics = phases.get(phase.myPhaseName);
+        if (statistics == null) {
+            statistics = new PhaseStatistics();
+            phases.put(phase.myPhaseName, statistics);
+        }
+
+        statistics.invocations++;
+        statistics.wallNanos += wallNanos;
+        statistics.cpuNanos += cpuNanos;
+        statistics.allocatedBytes += allocatedBytes;
+        for (Map.Entry<String, Long> counter : phase.myCounters.entrySet()) {
+            addTo(statistics.counters, counter.getKey(), counter.getValue());
+        }
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>A phase that is currently running on a thread.</p>
+     */
+    public static class Phase {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The registry that started this phase.</p> */
+        private final CompileMetrics myMetrics;
+
+        /** <p>Name of the module.</p> */
+        private final String myModuleName;
+
+        /** <p>Name of the phase.</p> */
+        private final String myPhaseName;
+
+        /** <p>The counters incremented while this phase was running.</p> */
+        private final Map<String, Long> myCounters;
+
+        /** <p>The phase that was running when this one started.</p> */
+        private Phase myPrevious;
+
+        /** <p>Wall clock time when this phase started.</p> */
+        private final long myStartWallNanos;
+
+        /** <p>CPU time when this phase started.</p> */
+        private final long myStartCpuNanos;
+
+        /** <p>Bytes allocated by the thread when this phase started.</p> */
+        private final long myStartAllocatedBytes;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This starts a phase on the current thread.</p>
+         *
+         * @param metrics The registry that started this phase
+         *                or {@code null} if the metrics are disabled.
+         * @param moduleName Name of the module.
+         * @param phaseName Name of the phase.
+         */
+        private Phase(CompileMetrics metrics, String moduleName,
+                String phaseName) {
+            myMetrics = metrics;
+            myModuleName = moduleName;
+            myPhaseName = phaseName;
+            myCounters = new HashMap<>();
+            myPrevious = null;
+
+            if (metrics != null) {
+                myStartWallNanos = System.nanoTime();
+                myStartCpuNanos = getCpuNanos();
+                myStartAllocatedBytes = getAllocatedBytes();
+            }
+            else {
+                myStartWallNanos = 0;
+                myStartCpuNanos = 0;
+                myStartAllocatedBytes = 0;
+            }
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * <p>Stops this phase and records its measurements. The phase
+         * that was running before this one becomes the current phase
+         * again.</p>
+         */
+        public final void stop() {
+            if (myMetrics != null) {
+                long wallNanos = System.nanoTime() - myStartWallNanos;
+                long cpuNanos = getCpuNanos() - myStartCpuNanos;
+                long allocatedBytes =
+                        getAllocatedBytes() - myStartAllocatedBytes;
+
+                myMetrics.myCurrentPhase.set(myPrevious);
+                myMetrics.recordPhase(this, wallNanos, cpuNanos,
+                        allocatedBytes);
+            }
+        }
+
+        // ===========================================================
+        // Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the number of bytes allocated by the current thread
+         * if the JVM supports it.</p>
+         *
+         * @return Number of bytes or {@code 0} if it is not supported.
+         */
+        private static long getAllocatedBytes() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean =
+                        (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()
+                        && sunBean.isThreadAllocatedMemoryEnabled()) {
+                    return sunBean.getThreadAllocatedBytes(Thread
+                            .currentThread().getId());
+                }
+            }
+
+            return 0;
+        }
+
+        /**
+         * <p>Returns the CPU time used by the current thread
+         * if the JVM supports it.</p>
+         *
+         * @return CPU time in nanoseconds or {@code 0} if it is
+         * not supported.
+         */
+        private static long getCpuNanos() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean.isCurrentThreadCpuTimeSupported()
+                    && bean.isThreadCpuTimeEnabled()) {
+                return bean.getCurrentThreadCpuTime();
+            }
+
+            return 0;
+        }
+
+    }
+
+    /**
+     * <p>An helper class that accumulates the measurements
+     * for a phase of a module.</p>
+     */
+    private static class PhaseStatistics {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>Number of times the phase ran.</p> */
+        int invocations = 0;
+
+        /** <p>Total wall clock time in nanoseconds.</p> */
+        long wallNanos = 0;
+
+        /** <p>Total CPU time in nanoseconds.</p> */
+        long cpuNanos = 0;
+
+        /** <p>Total number of bytes allocated.</p> */
+        long allocatedBytes = 0;
+
+        /** <p>Totals for the counters incremented during the phase.</p> */
+        final Map<String, Long> counters = new TreeMap<>();
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the measurements as a {@link JSONObject}.</p>
+         *
+         * @return A {@link JSONObject} with all the measurements.
+         */
+        final JSONObject toJSON() {
+            JSONObject result = new JSONObject();
+            result.put("invocations", invocations);
+            result.put("wallMillis", wallNanos / 1000000.0);
+            result.put("cpuMillis", cpuNanos / 1000000.0);
+            result.put("allocatedBytes", allocatedBytes);
+            result.put("counters", counters);
+
+            return result;
+        }
+
+    }
+
+}
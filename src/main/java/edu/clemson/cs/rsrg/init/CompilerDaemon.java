@@ -0,0 +1,143 @@
+/*
+ * CompilerDaemon.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * <p>A long-lived RESOLVE compiler that reads compilation requests from an
+ * input stream. Each line of input contains the arguments for one compilation
+ * job, separated by whitespace (exactly as they would have been specified on
+ * the command line). Once a job is done, we print {@link #END_OF_REQUEST} on
+ * its own line so the client knows that it can send the next request. The
+ * daemon stops when it reads {@link #EXIT_REQUEST} or reaches the end of the
+ * input stream.</p>
+ *
+ * <p>The compiler's own messages are sent to {@link System#out} and
+ * {@link System#err}, so the stream where we acknowledge the requests
+ * must not be either of them. {@code DaemonMain} takes care of this by
+ * sending the compiler's messages to the standard error.</p>
+ *
+ * <p>All jobs share a {@link SharedLibrary}, so library modules are only
+ * populated by the first job that imports them.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class CompilerDaemon {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The stream where we read the requests.</p> */
+    private final BufferedReader myInput;
+
+    /** <p>The library modules shared between compilation jobs.</p> */
+    private final SharedLibrary myLibrary;
+
+    /** <p>The stream where we acknowledge the requests.</p> */
+    private final PrintStream myOutput;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /** <p>The line printed after each compilation job.</p> */
+    public static final String END_OF_REQUEST = "-- End of Request --";
+
+    /** <p>The request that stops the daemon.</p> */
+    public static final String EXIT_REQUEST = "exit";
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates a compiler daemon that reads requests from
+     * {@code input} and acknowledges them using {@code output}.</p>
+     *
+     * @param input The stream where we read the requests.
+     * @param output The stream where we acknowledge the requests.
+     */
+    public CompilerDaemon(BufferedReader input, PrintStream output) {
+        myInput = input;
+        myOutput = output;
+        myLibrary = new SharedLibrary();
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Processes requests until we are asked to stop.</p>
+     *
+     * @throws IOException There was an error reading a request.
+     */
+    public final void run() throws IOException {
+        String line = myInput.readLine();
+        while (line != null && !line.trim().equals(EXIT_REQUEST)) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                StatusHandler statusHandler = new SystemStdHandler();
+                try {
+                    ResolveCompiler compiler =
+                            new ResolveCompiler(line.split("\\s+"));
+                    compiler.invokeCompiler(statusHandler, myLibrary);
+                }
+                catch (RuntimeException e) {
+                    // Don't let one bad request stop the daemon
+                    reportFailedRequest(statusHandler, e);
+                }
+
+                myOutput.println(END_OF_REQUEST);
+                myOutput.flush();
+            }
+
+            line = myInput.readLine();
+        }
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>An helper method that reports an unexpected exception
+     * raised by a compilation job.</p>
+     *
+     * @param statusHandler The job's status handler.
+     * @param e The exception raised by the job.
+     */
+    private void reportFailedRequest(StatusHandler statusHandler,
+            RuntimeException e) {
+        // The job might have stopped its status handler
+        // before it failed.
+        StatusHandler handler = statusHandler;
+        if (handler.hasStopped()) {
+            handler = new SystemStdHandler();
+        }
+
+        handler.error(null, "Unexpected error while compiling the request: "
+                + e);
+        handler.printStackTrace(new MiscErrorException(
+                "Unexpected error while compiling the request", e));
+    }
+
+}
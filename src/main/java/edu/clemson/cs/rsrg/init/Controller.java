@@ -12,10 +12,11 @@
  */
 package edu.clemson.cs.rsrg.init;
 
+import edu.clemson.cs.rsrg.absyn.ResolveConceptualElement;
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
-import edu.clemson.cs.rsrg.init.file.FileLocator;
 import edu.clemson.cs.rsrg.init.file.ModuleType;
 import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.output.FileOutputListener;
 import edu.clemson.cs.rsrg.init.pipeline.*;
 import edu.clemson.cs.rsrg.misc.Utilities;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
@@ -23,16 +24,21 @@ import edu.clemson.cs.rsrg.parsing.ResolveLexer;
 import edu.clemson.cs.rsrg.parsing.ResolveParser;
 import edu.clemson.cs.rsrg.parsing.TreeBuildingListener;
 import edu.clemson.cs.rsrg.parsing.data.ResolveTokenFactory;
+import edu.clemson.cs.rsrg.parsing.utilities.HeaderParseTreeWalker;
+import edu.clemson.cs.rsrg.parsing.utilities.ParseTreeCache;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.statushandling.AntlrErrorListener;
 import edu.clemson.cs.rsrg.statushandling.exception.*;
+import edu.clemson.cs.rsrg.treewalk.TreeWalker;
+import edu.clemson.cs.rsrg.treewalk.TreeWalkerVisitor;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
 import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import org.antlr.v4.runtime.*;
 import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
@@ -90,6 +96,14 @@ class Controller {
     private static final List<String> NON_NATIVE_EXT =
             Collections.unmodifiableList(Arrays.asList("java", "c", "h"));
 
+    /**
+     * <p>This caches the parse trees for the files we have parsed, so
+     * unchanged files don't need to be parsed again by any compilation
+     * job running in this JVM. The cache is only kept in memory.</p>
+     */
+    private static final ParseTreeCache PARSE_TREE_CACHE =
+            new ParseTreeCache(256);
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -122,8 +136,32 @@ class Controller {
      */
     final void compileTargetFile(ResolveFile file) {
         try {
+            // Check to see if anything changed since the last time
+            // we compiled this file.
+            IncrementalBuildRecord buildRecord = null;
+            String flagSignature = null;
+            if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_INCREMENTAL)
+                    && isPhysicalFile(file)) {
+                buildRecord =
+                        new IncrementalBuildRecord(myCompileEnvironment.getWorkspaceDir());
+                flagSignature = myCompileEnvironment.flags.getFlagSignature();
+                if (buildRecord.isUpToDate(file.getCreatedJarPath(), flagSignature)) {
+                    myStatusHandler.info(null, "Skipping up-to-date file: "
+                            + file.getCreatedJarPath());
+                    return;
+                }
+            }
+
+            // Keep track of the files written for this target
+            FileOutputListener fileOutputListener =
+                    myCompileEnvironment.getFileOutputListener();
+            int firstOutputFile = 0;
+            if (fileOutputListener != null) {
+                firstOutputFile = fileOutputListener.getOutputFiles().size();
+            }
+
             // Use ANTLR4 to build the AST
-            ModuleDec targetModule = createModuleAST(file);
+            ModuleDec targetModule = createModuleAST(file, false);
 
             // Add this file to our compile environment
             myCompileEnvironment.constructRecord(file, targetModule);
@@ -140,41 +178,42 @@ class Controller {
             findDependencies(g, targetModule);
 
             // Perform different compilation tasks to each file
-            for (ModuleIdentifier m : getCompileOrder(g)) {
-                // Print the entire ModuleDec
-                if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_PRINT_MODULE) &&
-                        m.equals(new ModuleIdentifier(targetModule))) {
-                    RawASTOutputPipeline rawASTOutputPipe =
-                            new RawASTOutputPipeline(myCompileEnvironment, mySymbolTable);
-                    rawASTOutputPipe.process(m);
+            ModuleIdentifier targetId = new ModuleIdentifier(targetModule);
+            List<ModuleIdentifier> compileOrder = getCompileOrder(g);
+            SharedLibrary library = myCompileEnvironment.getSharedLibrary();
+            if (library != null) {
+                // Library modules only depend on other library modules, so we
+                // can compile them first and share them with other jobs.
+                List<ModuleIdentifier> libraryModules =
+                        getNewLibraryModules(g, compileOrder, targetId, library);
+                for (ModuleIdentifier m : libraryModules) {
+                    compileModule(m, targetId);
                 }
 
-                // Output AST to Graphviz dot file. (Only for argument files)
-                if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_EXPORT_AST) &&
-                        m.equals(new ModuleIdentifier(targetModule))) {
-                    GraphicalASTOutputPipeline astOutputPipe =
-                            new GraphicalASTOutputPipeline(myCompileEnvironment, mySymbolTable);
-                    astOutputPipe.process(m);
-                }
+                library.addModules(myCompileEnvironment, libraryModules);
+                compileOrder.removeAll(libraryModules);
+            }
 
-                // Type and populate symbol table
-                AnalysisPipeline analysisPipe =
-                        new AnalysisPipeline(myCompileEnvironment, mySymbolTable);
-                analysisPipe.process(m);
-
-                // Generate VCs
-                if (myCompileEnvironment.flags.isFlagSet(VCGenerator.FLAG_VERIFY_VC) &&
-                        m.equals(new ModuleIdentifier(targetModule))) {
-                    VCGenPipeline vcGenPipeline =
-                            new VCGenPipeline(myCompileEnvironment, mySymbolTable);
-                    vcGenPipeline.process(m);
-                }
+            for (ModuleIdentifier m : compileOrder) {
+                compileModule(m, targetId);
+            }
 
-                // Complete compilation for this module
-                myCompileEnvironment.completeRecord(m);
-                if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
-                    myStatusHandler.info(null, "Done Compiling: " + m.toString());
+            // Remember what we just compiled
+            if (buildRecord != null) {
+                List<String> outputFiles = new ArrayList<>();
+                if (fileOutputListener != null) {
+                    List<String> allOutputFiles =
+                            fileOutputListener.getOutputFiles();
+                    outputFiles.addAll(allOutputFiles.subList(firstOutputFile,
+                            allOutputFiles.size()));
                 }
+
+                updateBuildRecord(buildRecord, flagSignature, file, targetId,
+                        outputFiles);
+            }
+
+            if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+                myStatusHandler.info(null, PARSE_TREE_CACHE.toString());
             }
         }
         catch (Throwable e) {
@@ -201,75 +240,97 @@ class Controller {
         }
     }
 
-    // ===========================================================
-    // Private Methods
-    // ===========================================================
-
     /**
-     * <p>For concept/enhancement realizations, the user can supply
-     * Non-RESOLVE type files. This method locates all externally
-     * supplied files and add them to the compile environment for
-     * future use.</p>
+     * <p>This method uses the {@link ResolveFile} provided
+     * to construct a parser and create an ANTLR4 module AST.</p>
      *
-     * @param importItem A filename that we have labeled as externally import
+     * <p>Modules that are only being imported don't need any of their
+     * statements, so we only build their headers. The target module is
+     * always built in full.</p>
      *
-     * @throws MiscErrorException We caught some kind of {@link IOException}.
+     * @param file The RESOLVE file that we are going to compile.
+     * @param headerOnly {@code true} if we don't need to build any statements,
+     *                   {@code false} otherwise.
+     *
+     * @return The inner representation for a module. See {@link ModuleDec}.
+     *
+     * @throws MiscErrorException Some how we couldn't instantiate an {@link CharStream}.
+     * @throws SourceErrorException There are errors in the source file.
      */
-    private void addFileAsExternalImport(PosSymbol importItem) {
-        try {
-            FileLocator l =
-                    new FileLocator(importItem.getName(), NON_NATIVE_EXT);
-            File workspaceDir = myCompileEnvironment.getWorkspaceDir();
-            Files.walkFileTree(workspaceDir.toPath(), l);
+    final ModuleDec createModuleAST(ResolveFile file, boolean headerOnly) {
+        CharStream input = file.getInputStream();
+        if (input == null) {
+            throw new MiscErrorException("CharStream null",
+                    new IllegalArgumentException());
+        }
 
-            // Only attempt to add
-            List<File> foundFiles = l.getFiles();
-            if (foundFiles.size() == 1) {
-                ModuleIdentifier externalImport =
-                        new ModuleIdentifier(importItem.getName());
+        // Check to see if we have parsed a file with the same contents
+        CompileMetrics metrics = myCompileEnvironment.getMetrics();
+        String key = ParseTreeCache.computeKey(file);
+        ParserRuleContext rootModuleCtx = PARSE_TREE_CACHE.get(key);
+        boolean isCached = rootModuleCtx != null;
+        if (!isCached) {
+            CompileMetrics.Phase phase =
+                    metrics.startPhase(file.getName(), "parse");
+            try {
+                rootModuleCtx = parseModule(file, input);
+            }
+            finally {
+                phase.stop();
+            }
+            PARSE_TREE_CACHE.put(key, rootModuleCtx);
+        }
 
-                // Add this as an external realiz file if it is not already declared to be one.
-                if (!myCompileEnvironment.isExternalRealizFile(externalImport)) {
-                    myCompileEnvironment.addExternalRealizFile(externalImport,
-                            l.getFile());
+        // Build the intermediate representation
+        CompileMetrics.Phase phase =
+                metrics.startPhase(file.getName(), "buildAST");
+        try {
+            metrics.incrementCounter(isCached ? "parseTreeCache.hit"
+                    : "parseTreeCache.miss");
+
+            TreeBuildingListener v =
+                    new TreeBuildingListener(file, myCompileEnvironment
+                            .getTypeGraph(), headerOnly);
+            if (headerOnly) {
+                HeaderParseTreeWalker.INSTANCE.walk(v, rootModuleCtx);
+            }
+            else {
+                ParseTreeWalker.DEFAULT.walk(v, rootModuleCtx);
+            }
 
-                    // Print out debugging message
-                    if (myCompileEnvironment.flags
-                            .isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
-                        myStatusHandler.info(null, "Skipping External Import: "
-                                + importItem.getName());
+            // Count the number of AST nodes
+            ModuleDec moduleDec = v.getModule();
+            if (metrics.isEnabled()) {
+                final long[] numNodes = { 0 };
+                TreeWalker.visit(new TreeWalkerVisitor() {
+
+                    @Override
+                    public void preAny(ResolveConceptualElement data) {
+                        numNodes[0]++;
                     }
-                }
-            }
-            else if (foundFiles.size() > 1) {
-                throw new ImportException(
-                        "Found more than one external import with the name "
-                                + importItem.getName() + ";");
+                }, moduleDec);
+                metrics.addToCounter("ast.nodes", numNodes[0]);
             }
+
+            return moduleDec;
         }
-        catch (IOException ioe) {
-            throw new MiscErrorException(ioe.getMessage(), ioe.getCause());
+        finally {
+            phase.stop();
         }
     }
 
     /**
      * <p>This method uses the {@link ResolveFile} provided
-     * to construct a parser and create an ANTLR4 module AST.</p>
+     * to construct a parser and create an ANTLR4 parse tree.</p>
      *
      * @param file The RESOLVE file that we are going to compile.
+     * @param input The input stream for the file.
      *
-     * @return The inner representation for a module. See {@link ModuleDec}.
+     * @return The root context for the module.
      *
-     * @throws MiscErrorException Some how we couldn't instantiate an {@link CharStream}.
-     * @throws SourceErrorException There are errors in the source file.
+     * @throws MiscErrorException There are syntax errors in the source file.
      */
-    private ModuleDec createModuleAST(ResolveFile file) {
-        CharStream input = file.getInputStream();
-        if (input == null) {
-            throw new MiscErrorException("CharStream null",
-                    new IllegalArgumentException());
-        }
-
+    final ParserRuleContext parseModule(ResolveFile file, CharStream input) {
         // Create a RESOLVE language lexer
         ResolveLexer lexer = new ResolveLexer(input);
         ResolveTokenFactory factory = new ResolveTokenFactory(file);
@@ -307,19 +368,132 @@ class Controller {
                     new IllegalStateException());
         }
 
-        // Build the intermediate representation
-        TreeBuildingListener v =
-                new TreeBuildingListener(file, myCompileEnvironment
-                        .getTypeGraph());
-        ParseTreeWalker.DEFAULT.walk(v, rootModuleCtx);
+        return rootModuleCtx;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>For concept/enhancement realizations, the user can supply
+     * Non-RESOLVE type files. This method locates all externally
+     * supplied files and add them to the compile environment for
+     * future use.</p>
+     *
+     * @param importItem A filename that we have labeled as externally import
+     *
+     * @throws MiscErrorException We caught some kind of {@link IOException}.
+     */
+    private void addFileAsExternalImport(PosSymbol importItem) {
+        try {
+            List<File> foundFiles =
+                    myCompileEnvironment.getWorkspaceIndex().getFiles(
+                            importItem.getName(), NON_NATIVE_EXT);
 
-        return v.getModule();
+            // Only attempt to add
+            if (foundFiles.size() == 1) {
+                ModuleIdentifier externalImport =
+                        new ModuleIdentifier(importItem.getName());
+
+                // Add this as an external realiz file if it is not already declared to be one.
+                if (!myCompileEnvironment.isExternalRealizFile(externalImport)) {
+                    myCompileEnvironment.addExternalRealizFile(externalImport,
+                            foundFiles.get(0));
+
+                    // Print out debugging message
+                    if (myCompileEnvironment.flags
+                            .isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+                        myStatusHandler.info(null, "Skipping External Import: "
+                                + importItem.getName());
+                    }
+                }
+            }
+            else if (foundFiles.size() > 1) {
+                throw new ImportException(
+                        "Found more than one external import with the name "
+                                + importItem.getName() + ";");
+            }
+        }
+        catch (IOException ioe) {
+            throw new MiscErrorException(ioe.getMessage(), ioe.getCause());
+        }
+    }
+
+    /**
+     * <p>Performs the different compilation tasks for a module
+     * whose imports have all been compiled.</p>
+     *
+     * @param m The identifier for the module.
+     * @param targetId The identifier for the target module.
+     */
+    private void compileModule(ModuleIdentifier m, ModuleIdentifier targetId) {
+        // Print the entire ModuleDec
+        if (myCompileEnvironment.flags
+                .isFlagSet(ResolveCompiler.FLAG_PRINT_MODULE)
+                && m.equals(targetId)) {
+            RawASTOutputPipeline rawASTOutputPipe =
+                    new RawASTOutputPipeline(myCompileEnvironment,
+                            mySymbolTable);
+            rawASTOutputPipe.process(m);
+        }
+
+        // Output AST to Graphviz dot file. (Only for argument files)
+        if (myCompileEnvironment.flags
+                .isFlagSet(ResolveCompiler.FLAG_EXPORT_AST)
+                && m.equals(targetId)) {
+            GraphicalASTOutputPipeline astOutputPipe =
+                    new GraphicalASTOutputPipeline(myCompileEnvironment,
+                            mySymbolTable);
+            astOutputPipe.process(m);
+        }
+
+        // Type and populate symbol table
+        AnalysisPipeline analysisPipe =
+                new AnalysisPipeline(myCompileEnvironment, mySymbolTable);
+        analysisPipe.process(m);
+
+        // Generate VCs
+        if (myCompileEnvironment.flags.isFlagSet(VCGenerator.FLAG_VERIFY_VC)
+                && m.equals(targetId)) {
+            VCGenPipeline vcGenPipeline =
+                    new VCGenPipeline(myCompileEnvironment, mySymbolTable);
+            vcGenPipeline.process(m);
+        }
+
+        // Complete compilation for this module
+        myCompileEnvironment.completeRecord(m);
+        if (myCompileEnvironment.flags.isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+            myStatusHandler.info(null, "Done Compiling: " + m.toString());
+        }
+    }
+
+    /**
+     * <p>This method checks to see if the {@link ResolveFile} provided
+     * is stored in the file system (as opposed to being a user created
+     * file from the WebIDE/WebAPI).</p>
+     *
+     * @param file A RESOLVE file.
+     *
+     * @return {@code true} if we can find the file on disk,
+     * {@code false} otherwise.
+     */
+    private boolean isPhysicalFile(ResolveFile file) {
+        return !myCompileEnvironment.isMetaFile(file.getName())
+                && file.getCreatedJarPath() != null
+                && new File(file.getCreatedJarPath()).isFile();
     }
 
     /**
-     * <p>A recursive method to find all the import dependencies
+     * <p>A method to find all the import dependencies
      * needed by the specified module.</p>
      *
+     * <p>As soon as we find an import that we haven't seen before, we submit
+     * a task that parses it and keep looking at the rest of the imports.
+     * The parsed modules are then processed in the order they were submitted,
+     * so their records, the dependency graph and any error we report don't
+     * depend on which parse finishes first.</p>
+     *
      * @param g The compilation's file dependency graph.
      * @param root Current compiling module.
      *
@@ -331,62 +505,92 @@ class Controller {
     private void findDependencies(
             DefaultDirectedGraph<ModuleIdentifier, DefaultEdge> g,
             ModuleDec root) {
-        Map<PosSymbol, Boolean> allImports = root.getModuleDependencies();
-        for (PosSymbol importRequest : allImports.keySet()) {
-            // Don't try to import the built-in Cls_Theory
-            if (!importRequest.getName().equals("Cls_Theory")) {
-                // Check to see if this import has been labeled as externally realized
-                // or not. If yes, we add it as an external import and move on.
-                // If no, we add it as a new dependency that must be imported.
-                if (!allImports.get(importRequest)) {
-                    ResolveFile file = findResolveFile(importRequest.getName());
-                    ModuleIdentifier id =
-                            new ModuleIdentifier(importRequest.getName());
-                    ModuleIdentifier rootId = new ModuleIdentifier(root);
-                    ModuleDec module;
-
-                    // Search for the file in our processed modules
-                    if (!myCompileEnvironment.containsID(id)) {
-                        // Print out debugging message
-                        if (myCompileEnvironment.flags
-                                .isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
-                            myStatusHandler.info(null, "Importing New Module: "
-                                    + id.toString());
+        Map<ModuleIdentifier, PendingImport> pendingImports =
+                new LinkedHashMap<>();
+        Iterator<PendingImport> pendingIt;
+        ModuleDec module = root;
+        do {
+            ModuleIdentifier moduleId = new ModuleIdentifier(module);
+            Map<PosSymbol, Boolean> allImports = module.getModuleDependencies();
+            for (PosSymbol importRequest : allImports.keySet()) {
+                // Don't try to import the built-in Cls_Theory
+                if (!importRequest.getName().equals("Cls_Theory")) {
+                    // Check to see if this import has been labeled as externally realized
+                    // or not. If yes, we add it as an external import and move on.
+                    // If no, we add it as a new dependency that must be imported.
+                    if (!allImports.get(importRequest)) {
+                        final ResolveFile file =
+                                findResolveFile(importRequest.getName());
+                        ModuleIdentifier id =
+                                new ModuleIdentifier(importRequest.getName());
+
+                        // Search for the file in our processed modules
+                        if (!myCompileEnvironment.containsID(id)
+                                && !pendingImports.containsKey(id)) {
+                            // Print out debugging message
+                            if (myCompileEnvironment.flags
+                                    .isFlagSet(ResolveCompiler.FLAG_DEBUG)) {
+                                myStatusHandler.info(null,
+                                        "Importing New Module: "
+                                                + id.toString());
+                            }
+
+                            pendingImports.put(id, new PendingImport(
+                                    importRequest, file, myCompileEnvironment
+                                            .submitTask(new Callable<ModuleDec>() {
+
+                                                @Override
+                                                public ModuleDec call() {
+                                                    return createModuleAST(file, true);
+                                                }
+                                            })));
+                        }
+                        // Import error
+                        else if (myCompileEnvironment.containsID(id)
+                                && myCompileEnvironment.getModuleAST(id) == null) {
+                            throw new ImportException("Invalid import "
+                                    + importRequest.toString()
+                                    + "; Cannot import module of " + "type: "
+                                    + file.getModuleType().getExtension());
                         }
 
-                        module = createModuleAST(file);
-                        myCompileEnvironment.constructRecord(file, module);
+                        // Check for circular dependency
+                        if (pathExists(g, id, moduleId)) {
+                            throw new CircularDependencyException(
+                                    "Circular dependency detected.");
+                        }
 
-                        // Now check this new module for dependencies
-                        findDependencies(g, module);
+                        // Add new edge to our graph indicating the relationship between
+                        // the two files.
+                        Graphs.addEdgeWithVertices(g, moduleId, id);
                     }
                     else {
-                        module = myCompileEnvironment.getModuleAST(id);
-                    }
-
-                    // Import error
-                    if (module == null) {
-                        throw new ImportException("Invalid import "
-                                + importRequest.toString()
-                                + "; Cannot import module of " + "type: "
-                                + file.getModuleType().getExtension());
+                        addFileAsExternalImport(importRequest);
                     }
-
-                    // Check for circular dependency
-                    if (pathExists(g, id, rootId)) {
-                        throw new CircularDependencyException(
-                                "Circular dependency detected.");
-                    }
-
-                    // Add new edge to our graph indicating the relationship between
-                    // the two files.
-                    Graphs.addEdgeWithVertices(g, rootId, id);
                 }
-                else {
-                    addFileAsExternalImport(importRequest);
+            }
+
+            // Wait for the next module we need to check for dependencies
+            module = null;
+            pendingIt = pendingImports.values().iterator();
+            if (pendingIt.hasNext()) {
+                PendingImport next = pendingIt.next();
+                pendingIt.remove();
+
+                module = myCompileEnvironment.getTaskResult(next.moduleDec);
+
+                // Import error
+                if (module == null) {
+                    throw new ImportException("Invalid import "
+                            + next.importRequest.toString()
+                            + "; Cannot import module of " + "type: "
+                            + next.file.getModuleType().getExtension());
                 }
+
+                myCompileEnvironment.constructRecord(next.file, module);
             }
         }
+        while (module != null);
     }
 
     /**
@@ -406,17 +610,17 @@ class Controller {
         if (myCompileEnvironment.isMetaFile(baseName)) {
             file = myCompileEnvironment.getUserFileFromMap(baseName);
         }
-        // If not, use the file locator to locate our file
+        // If not, use the workspace index to locate our file
         else {
             try {
-                FileLocator l =
-                        new FileLocator(baseName, ModuleType.getAllExtensions());
+                File foundFile =
+                        myCompileEnvironment.getWorkspaceIndex().getFile(
+                                baseName, ModuleType.getAllExtensions());
                 File workspaceDir = myCompileEnvironment.getWorkspaceDir();
-                Files.walkFileTree(workspaceDir.toPath(), l);
                 ModuleType extType =
-                        Utilities.getModuleType(l.getFile().getName());
+                        Utilities.getModuleType(foundFile.getName());
                 file =
-                        Utilities.convertToResolveFile(l.getFile(), extType,
+                        Utilities.convertToResolveFile(foundFile, extType,
                                 workspaceDir.getAbsolutePath());
             }
             catch (IOException ioe) {
@@ -455,6 +659,48 @@ class Controller {
         return result;
     }
 
+    /**
+     * <p>This method returns the modules that can be added to the
+     * {@link SharedLibrary}. These are the modules that we haven't compiled,
+     * are not the target module, are not user created files from the
+     * WebIDE/WebAPI and only import other library modules.</p>
+     *
+     * @param g The compilation's file dependency graph.
+     * @param compileOrder The compilation order returned by {@link #getCompileOrder}.
+     * @param targetId The identifier for the target module.
+     * @param library The library modules shared between compilation jobs.
+     *
+     * @return A list of {@link ModuleIdentifier ModuleIdentifiers} in
+     * compilation order.
+     */
+    private List<ModuleIdentifier> getNewLibraryModules(
+            DefaultDirectedGraph<ModuleIdentifier, DefaultEdge> g,
+            List<ModuleIdentifier> compileOrder, ModuleIdentifier targetId,
+            SharedLibrary library) {
+        List<ModuleIdentifier> result = new ArrayList<>();
+        for (ModuleIdentifier m : compileOrder) {
+            boolean isLibraryModule =
+                    !m.equals(targetId)
+                            && !myCompileEnvironment.isMetaFile(m
+                                    .toString());
+
+            Iterator<ModuleIdentifier> importIt =
+                    Graphs.successorListOf(g, m).iterator();
+            while (isLibraryModule && importIt.hasNext()) {
+                ModuleIdentifier importId = importIt.next();
+                isLibraryModule =
+                        result.contains(importId)
+                                || library.containsModule(importId);
+            }
+
+            if (isLibraryModule) {
+                result.add(m);
+            }
+        }
+
+        return result;
+    }
+
     /**
      * <p>This method is used to check for circular dependencies when
      * importing modules using our file dependencies graph.</p>
@@ -484,4 +730,109 @@ class Controller {
         }
         return false;
     }
+
+    /**
+     * <p>This method stores the content hash of the target file and of every
+     * module it imports, directly or indirectly, along with the output files
+     * that were written in the {@link IncrementalBuildRecord}. If any of the
+     * files is not stored in the file system, we can't tell if it changed in
+     * the future, so we don't record anything.</p>
+     *
+     * <p>Note that the compilation's dependency graph doesn't go past modules
+     * that an earlier target file has already compiled, so we use the
+     * imports from each module's {@link ModuleDec} to find all of them.</p>
+     *
+     * @param buildRecord The records from previous compilations.
+     * @param flagSignature The signature of the current flags.
+     * @param file The target file.
+     * @param targetId The target module's identifier.
+     * @param outputFiles The absolute paths of the output files written
+     *                    while compiling the target file.
+     *
+     * @throws IOException There was an error writing the records.
+     */
+    private void updateBuildRecord(IncrementalBuildRecord buildRecord,
+            String flagSignature, ResolveFile file, ModuleIdentifier targetId,
+            List<String> outputFiles) throws IOException {
+        // Find the target and all the modules it imports
+        Set<ModuleIdentifier> allModules = new LinkedHashSet<>();
+        Deque<ModuleIdentifier> pendingModules = new ArrayDeque<>();
+        pendingModules.add(targetId);
+        while (!pendingModules.isEmpty()) {
+            ModuleIdentifier m = pendingModules.remove();
+            if (allModules.add(m)) {
+                Map<PosSymbol, Boolean> allImports =
+                        myCompileEnvironment.getModuleAST(m)
+                                .getModuleDependencies();
+                for (PosSymbol importRequest : allImports.keySet()) {
+                    // Externally realized files and the built-in
+                    // Cls_Theory don't have a RESOLVE file.
+                    if (!allImports.get(importRequest)
+                            && !importRequest.getName().equals("Cls_Theory")) {
+                        pendingModules.add(new ModuleIdentifier(importRequest
+                                .getName()));
+                    }
+                }
+            }
+        }
+
+        Map<ModuleIdentifier, IncrementalBuildRecord.ModuleRecord> modules =
+                new LinkedHashMap<>();
+        for (ModuleIdentifier m : allModules) {
+            ResolveFile moduleFile = myCompileEnvironment.getFile(m);
+            if (!isPhysicalFile(moduleFile)) {
+                return;
+            }
+
+            modules.put(m, new IncrementalBuildRecord.ModuleRecord(
+                    moduleFile.getCreatedJarPath(),
+                    ParseTreeCache.computeKey(moduleFile.getInputStream())));
+        }
+
+        buildRecord.update(file.getCreatedJarPath(), flagSignature, modules,
+                outputFiles);
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>An helper class that stores an imported module
+     * that is still being parsed.</p>
+     */
+    private static class PendingImport {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The import that caused this module to be parsed.</p> */
+        final PosSymbol importRequest;
+
+        /** <p>The imported file.</p> */
+        final ResolveFile file;
+
+        /** <p>The pending result of parsing the file.</p> */
+        final Future<ModuleDec> moduleDec;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a record for a module that is being parsed.</p>
+         *
+         * @param importRequest The import that caused this module to be parsed.
+         * @param file The imported file.
+         * @param moduleDec The pending result of parsing the file.
+         */
+        PendingImport(PosSymbol importRequest, ResolveFile file,
+                Future<ModuleDec> moduleDec) {
+            this.importRequest = importRequest;
+            this.file = file;
+            this.moduleDec = moduleDec;
+        }
+
+    }
 }
\ No newline at end of file
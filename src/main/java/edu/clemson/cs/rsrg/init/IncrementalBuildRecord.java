@@ -0,0 +1,262 @@
+/*
+ * IncrementalBuildRecord.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import edu.clemson.cs.rsrg.parsing.utilities.ParseTreeCache;
+import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.antlr.v4.runtime.CharStreams;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * <p>This class persists the result of successful compilations between runs
+ * of the compiler. For each target file, we store the flags it was compiled
+ * with, the modules in its dependency graph (the target and everything it
+ * imports) along with a hash of the contents of their files, and the
+ * output files that were written.</p>
+ *
+ * <p>The next time the same target file is compiled with the same flags, we
+ * only need to compare the hashes of the files in the stored graph with the
+ * files in the workspace. If none of them changed and all the output files
+ * still exist, neither the target file nor any of its imports need to be
+ * parsed, populated or have their VCs generated again.</p>
+ *
+ * <p>Each target file has its own record, so editing a file only causes
+ * the target files that import it (directly or indirectly) to be compiled
+ * again. The populated modules themselves are not stored, so within a
+ * target this is all or nothing. If any file in its graph changed, the
+ * target and all of its imports are parsed and populated again. Reusing the
+ * analysis of the unchanged imports would require persisting the symbol
+ * table, which we don't do.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+class IncrementalBuildRecord {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The file where we store the records.</p> */
+    private final Path myRecordPath;
+
+    /** <p>The records for all target files.</p> */
+    private final JSONObject myTargets;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /** <p>The name of the file where we store the records.</p> */
+    static final String RECORD_FILE_NAME = ".resolve-incremental.json";
+
+    /** <p>The charset used to read and write the records.</p> */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** <p>The version of the record format.</p> */
+    private static final int RECORD_VERSION = 2;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This loads the records stored in the specified workspace
+     * directory. If there aren't any, or they can't be read,
+     * we start with an empty record.</p>
+     *
+     * @param workspaceDir The RESOLVE workspace directory.
+     */
+    IncrementalBuildRecord(File workspaceDir) {
+        myRecordPath = new File(workspaceDir, RECORD_FILE_NAME).toPath();
+
+        JSONObject targets = new JSONObject();
+        if (Files.isRegularFile(myRecordPath)) {
+            try {
+                JSONObject record =
+                        new JSONObject(new String(Files
+                                .readAllBytes(myRecordPath), UTF8));
+                if (record.optInt("version") == RECORD_VERSION) {
+                    targets = record.getJSONObject("targets");
+                }
+            }
+            catch (IOException | JSONException e) {
+                // Corrupted or unreadable records are simply ignored.
+            }
+        }
+        myTargets = targets;
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Checks to see if the target file has been compiled using the
+     * same flags, none of the files in its dependency graph have
+     * been modified since and none of its output files have
+     * been deleted.</p>
+     *
+     * @param targetPath The absolute path to the target file.
+     * @param flagSignature The signature of the current flags.
+     *
+     * @return {@code true} if the target file is up to date,
+     * {@code false} otherwise.
+     */
+    final boolean isUpToDate(String targetPath, String flagSignature) {
+        JSONObject target = myTargets.optJSONObject(targetPath);
+        if (target == null || !flagSignature.equals(target.optString("flags"))) {
+            return false;
+        }
+
+        JSONObject modules = target.optJSONObject("modules");
+        JSONArray outputs = target.optJSONArray("outputs");
+        if (modules == null || outputs == null) {
+            return false;
+        }
+
+        for (int i = 0; i < outputs.length(); i++) {
+            if (!new File(outputs.optString(i)).isFile()) {
+                return false;
+            }
+        }
+
+        Iterator<?> moduleIt = modules.keys();
+        while (moduleIt.hasNext()) {
+            JSONObject module = modules.optJSONObject((String) moduleIt.next());
+            if (module == null) {
+                return false;
+            }
+
+            String hash = computeHash(module.optString("path"));
+            if (hash == null || !hash.equals(module.optString("hash"))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>Stores the result of a successful compilation of the target
+     * file and writes all the records to disk.</p>
+     *
+     * @param targetPath The absolute path to the target file.
+     * @param flagSignature The signature of the current flags.
+     * @param modules A map from each module in the dependency graph to
+     *                its absolute path and its content hash.
+     * @param outputs The absolute paths of the output files written
+     *                while compiling the target file.
+     *
+     * @throws IOException There was an error writing the records.
+     */
+    final void update(String targetPath, String flagSignature,
+            Map<ModuleIdentifier, ModuleRecord> modules, List<String> outputs)
+            throws IOException {
+        JSONObject moduleRecords = new JSONObject();
+        for (Map.Entry<ModuleIdentifier, ModuleRecord> entry : modules
+                .entrySet()) {
+            ModuleRecord record = entry.getValue();
+            JSONObject module = new JSONObject();
+            module.put("path", record.path);
+            module.put("hash", record.hash);
+            moduleRecords.put(entry.getKey().toString(), module);
+        }
+
+        JSONObject target = new JSONObject();
+        target.put("flags", flagSignature);
+        target.put("modules", moduleRecords);
+        target.put("outputs", new JSONArray(outputs));
+        myTargets.put(targetPath, target);
+
+        JSONObject record = new JSONObject();
+        record.put("version", RECORD_VERSION);
+        record.put("targets", myTargets);
+        Files.write(myRecordPath, record.toString(2).getBytes(UTF8));
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Computes the hash for the contents of the specified file.</p>
+     *
+     * @param path The absolute path to a file.
+     *
+     * @return The hash of the file's contents or {@code null} if
+     * the file can't be read.
+     */
+    private static String computeHash(String path) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try {
+            return ParseTreeCache.computeKey(CharStreams
+                    .fromPath(file.toPath()));
+        }
+        catch (IOException ioe) {
+            return null;
+        }
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>An helper class that stores the information
+     * about a module in the dependency graph.</p>
+     */
+    static class ModuleRecord {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The absolute path to the module's file.</p> */
+        final String path;
+
+        /** <p>The hash of the file's contents.</p> */
+        final String hash;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a record for a module in the dependency graph.</p>
+         *
+         * @param path The absolute path to the module's file.
+         * @param hash The hash of the file's contents.
+         */
+        ModuleRecord(String path, String hash) {
+            this.path = path;
+            this.hash = hash;
+        }
+
+    }
+
+}
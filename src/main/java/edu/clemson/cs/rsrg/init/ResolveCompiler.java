@@ -100,11 +100,23 @@ public class ResolveCompiler {
             "Exports the AST for the target file as a .dot file that can be viewed in Graphviz";
     private static final String FLAG_DESC_WORKSPACE_DIR =
             "Changes the workspace directory path.";
+    private static final String FLAG_DESC_JOBS =
+            "Specifies the number of threads used to parse imported modules, to generate VCs with -parallelVCs and to prove VCs.";
+    private static final String FLAG_DESC_INCREMENTAL =
+            "Skips a target file if neither it nor the files it imports have changed since it was last compiled with the same flags and its output files still exist. Otherwise, everything is compiled again.";
+    private static final String FLAG_DESC_METRICS =
+            "Records the time spent in each compilation phase and writes a JSON report to the specified file.";
     private static final String FLAG_SECTION_GENERAL = "General";
     private static final String FLAG_SECTION_DEBUG = "Debugging";
 
     private static final String[] WORKSPACE_DIR_ARG_NAME = { "Path" };
 
+    private static final String[] JOBS_ARG_NAME = { "Number" };
+
+    private static final String[] JOBS_DEFAULT_ARG = { "1" };
+
+    private static final String[] METRICS_ARG_NAME = { "Path" };
+
     // ===========================================================
     // Flags
     // ===========================================================
@@ -173,6 +185,31 @@ public class ResolveCompiler {
             new Flag(FLAG_SECTION_GENERAL, "workspaceDir",
                     FLAG_DESC_WORKSPACE_DIR, WORKSPACE_DIR_ARG_NAME);
 
+    /**
+     * <p>Tells the compiler the number of worker threads it can use
+     * to parse imported modules, to generate VCs in parallel and
+     * to prove VCs.</p>
+     */
+    static final Flag FLAG_JOBS =
+            new Flag(FLAG_SECTION_GENERAL, "jobs", FLAG_DESC_JOBS,
+                    JOBS_ARG_NAME, JOBS_DEFAULT_ARG);
+
+    /**
+     * <p>Tells the compiler to skip any target file whose source and
+     * imported modules are unchanged since the last successful
+     * compilation.</p>
+     */
+    static final Flag FLAG_INCREMENTAL =
+            new Flag(FLAG_SECTION_GENERAL, "incremental", FLAG_DESC_INCREMENTAL);
+
+    /**
+     * <p>Tells the compiler to record the time spent in each compilation
+     * phase and where to write the report.</p>
+     */
+    static final Flag FLAG_METRICS =
+            new Flag(FLAG_SECTION_DEBUG, "metrics", FLAG_DESC_METRICS,
+                    METRICS_ARG_NAME);
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -202,25 +239,21 @@ public class ResolveCompiler {
      * is called by running the compiler from the command line.</p>
      */
     public void invokeCompiler() {
-        // Create a status handler
-        StatusHandler statusHandler = new SystemStdHandler();
-
-        // Handle all arguments to the compiler
-        CompileEnvironment compileEnvironment =
-                handleCompileArgs(statusHandler);
+        compileArgumentFiles(new SystemStdHandler(), null);
+    }
 
-        // Compile files/directories listed in the argument list
-        try {
-            compileRealFiles(myArgumentFileList, compileEnvironment);
-        }
-        catch (CompilerException e) {
-            // YS - The status handler object might have changed.
-            statusHandler = compileEnvironment.getStatusHandler();
-            statusHandler.error(null, e.getMessage());
-            if (compileEnvironment.flags.isFlagSet(FLAG_DEBUG_STACK_TRACE)) {
-                statusHandler.printStackTrace(e);
-            }
-            statusHandler.stopLogging();
+    /**
+     * <p>This invokes the RESOLVE compiler using library modules that
+     * have been populated by previous compilation jobs. Usually this
+     * method is called by the {@link CompilerDaemon}.</p>
+     *
+     * @param statusHandler A status handler to display debug or error messages.
+     * @param library The library modules shared between compilation jobs.
+     */
+    public void invokeCompiler(StatusHandler statusHandler,
+            SharedLibrary library) {
+        synchronized (library) {
+            compileArgumentFiles(statusHandler, library);
         }
     }
 
@@ -234,28 +267,24 @@ public class ResolveCompiler {
      */
     public void invokeCompiler(Map<String, ResolveFile> fileMap,
             StatusHandler statusHandler, OutputListener listener) {
-        // Handle all arguments to the compiler
-        CompileEnvironment compileEnvironment =
-                handleCompileArgs(statusHandler);
-
-        // Store the file map
-        compileEnvironment.setFileMap(fileMap);
-
-        // Store the new listener object
-        compileEnvironment.addOutputListener(listener);
+        compileUserFiles(fileMap, statusHandler, listener, null);
+    }
 
-        // Compile files/directories listed in the argument list
-        try {
-            compileArbitraryFiles(myArgumentFileList, compileEnvironment);
-        }
-        catch (CompilerException e) {
-            // YS - The status handler object might have changed.
-            statusHandler = compileEnvironment.getStatusHandler();
-            statusHandler.error(null, e.getMessage());
-            if (compileEnvironment.flags.isFlagSet(FLAG_DEBUG_STACK_TRACE)) {
-                statusHandler.printStackTrace(e);
-            }
-            statusHandler.stopLogging();
+    /**
+     * <p>This invokes the RESOLVE compiler using library modules that
+     * have been populated by previous compilation jobs. Usually this
+     * method is called by running the compiler from the WebAPI/WebIDE.</p>
+     *
+     * @param fileMap A map containing all the user modified files.
+     * @param statusHandler A status handler to display debug or error messages.
+     * @param listener An output listener object.
+     * @param library The library modules shared between compilation jobs.
+     */
+    public void invokeCompiler(Map<String, ResolveFile> fileMap,
+            StatusHandler statusHandler, OutputListener listener,
+            SharedLibrary library) {
+        synchronized (library) {
+            compileUserFiles(fileMap, statusHandler, listener, library);
         }
     }
 
@@ -295,6 +324,42 @@ public class ResolveCompiler {
         }
     }
 
+    /**
+     * <p>Compiles all the files specified by the argument list.</p>
+     *
+     * @param statusHandler A status handler to display debug or error messages.
+     * @param library The library modules shared between compilation jobs
+     *                or {@code null} if we don't share library modules.
+     */
+    private void compileArgumentFiles(StatusHandler statusHandler,
+            SharedLibrary library) {
+        // Handle all arguments to the compiler
+        CompileEnvironment compileEnvironment =
+                handleCompileArgs(statusHandler, null, library);
+        if (compileEnvironment == null) {
+            return;
+        }
+
+        // Compile files/directories listed in the argument list
+        try {
+            compileRealFiles(myArgumentFileList, compileEnvironment);
+        }
+        catch (CompilerException e) {
+            // YS - The status handler object might have changed.
+            statusHandler = compileEnvironment.getStatusHandler();
+            statusHandler.error(null, e.getMessage());
+            if (compileEnvironment.flags.isFlagSet(FLAG_DEBUG_STACK_TRACE)) {
+                statusHandler.printStackTrace(e);
+            }
+            statusHandler.stopLogging();
+        }
+        finally {
+            compileEnvironment.close();
+        }
+
+        writeMetricsReport(compileEnvironment);
+    }
+
     /**
      * <p>This method will instantiate the controller and
      * begin the compilation process for the specified file.</p>
@@ -372,16 +437,65 @@ public class ResolveCompiler {
         }
     }
 
+    /**
+     * <p>Compiles all the "meta" files or physical files specified by
+     * the argument list.</p>
+     *
+     * @param fileMap A map containing all the user modified files.
+     * @param statusHandler A status handler to display debug or error messages.
+     * @param listener An output listener object.
+     * @param library The library modules shared between compilation jobs
+     *                or {@code null} if we don't share library modules.
+     */
+    private void compileUserFiles(Map<String, ResolveFile> fileMap,
+            StatusHandler statusHandler, OutputListener listener,
+            SharedLibrary library) {
+        // Handle all arguments to the compiler
+        CompileEnvironment compileEnvironment =
+                handleCompileArgs(statusHandler, fileMap, library);
+        if (compileEnvironment == null) {
+            return;
+        }
+
+        // Store the new listener object
+        compileEnvironment.addOutputListener(listener);
+
+        // Compile files/directories listed in the argument list
+        try {
+            compileArbitraryFiles(myArgumentFileList, compileEnvironment);
+        }
+        catch (CompilerException e) {
+            // YS - The status handler object might have changed.
+            statusHandler = compileEnvironment.getStatusHandler();
+            statusHandler.error(null, e.getMessage());
+            if (compileEnvironment.flags.isFlagSet(FLAG_DEBUG_STACK_TRACE)) {
+                statusHandler.printStackTrace(e);
+            }
+            statusHandler.stopLogging();
+        }
+        finally {
+            compileEnvironment.close();
+        }
+
+        writeMetricsReport(compileEnvironment);
+    }
+
     /**
      * <p>Method that handles the basic arguments and returns a
      * <code>CompileEnvironment</code> that includes information
      * on the current compilation job.</p>
      *
      * @param statusHandler A status handler to display debug or error messages.
+     * @param fileMap A map containing all the user modified files or
+     *                {@code null} if we are only compiling physical files.
+     * @param library The library modules shared between compilation jobs
+     *                or {@code null} if we don't share library modules.
      *
-     * @return A new {@link CompileEnvironment} for the current job.
+     * @return A new {@link CompileEnvironment} for the current job or
+     * {@code null} if we couldn't create one.
      */
-    private CompileEnvironment handleCompileArgs(StatusHandler statusHandler) {
+    private CompileEnvironment handleCompileArgs(StatusHandler statusHandler,
+            Map<String, ResolveFile> fileMap, SharedLibrary library) {
         CompileEnvironment compileEnvironment = null;
         try {
             // Instantiate a new compile environment that will store
@@ -407,18 +521,37 @@ public class ResolveCompiler {
                     Collections.addAll(myArgumentFileList, remainingArgs);
                 }
 
+                // Store the file map. The shared library needs it to know
+                // which library modules have been modified by the user.
+                if (fileMap != null) {
+                    compileEnvironment.setFileMap(fileMap);
+                }
+
                 // Store the symbol table and type graph
-                MathSymbolTableBuilder symbolTable =
-                        new MathSymbolTableBuilder(compileEnvironment);
+                MathSymbolTableBuilder symbolTable;
+                if (library == null) {
+                    symbolTable = new MathSymbolTableBuilder(compileEnvironment);
+                }
+                else {
+                    symbolTable =
+                            library.beginCompile(compileEnvironment,
+                                    myArgumentFileList);
+                }
                 compileEnvironment.setSymbolTable(symbolTable);
                 compileEnvironment.setTypeGraph(symbolTable.getTypeGraph());
             }
         }
         catch (FlagDependencyException fde) {
             // YS - The status handler object might have changed.
-            statusHandler = compileEnvironment.getStatusHandler();
+            // The compile environment might not exist if one of
+            // its flags had an invalid argument.
+            if (compileEnvironment != null) {
+                statusHandler = compileEnvironment.getStatusHandler();
+            }
             statusHandler.error(null, fde.getMessage());
-            if (compileEnvironment.flags.isFlagSet(FLAG_DEBUG_STACK_TRACE)) {
+            if (compileEnvironment != null
+                    && compileEnvironment.flags
+                            .isFlagSet(FLAG_DEBUG_STACK_TRACE)) {
                 statusHandler.printStackTrace(fde);
             }
             statusHandler.stopLogging();
@@ -486,4 +619,29 @@ public class ResolveCompiler {
         // Print modules implies debug flag is on
         FlagDependencies.addImplies(FLAG_PRINT_MODULE, FLAG_DEBUG);
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>Writes the metrics recorded by the compilation job to the file
+     * specified by the {@code -metrics} flag (if it was set).</p>
+     *
+     * @param compileEnvironment The current job's compilation environment
+     *                           that stores all necessary objects and flags.
+     */
+    private void writeMetricsReport(CompileEnvironment compileEnvironment) {
+        if (compileEnvironment.flags.isFlagSet(FLAG_METRICS)) {
+            File reportFile =
+                    Utilities.getAbsoluteFile(compileEnvironment.flags
+                            .getFlagArgument(FLAG_METRICS, "Path"));
+            try {
+                compileEnvironment.getMetrics().writeReport(reportFile);
+            }
+            catch (IOException ioe) {
+                compileEnvironment.getStatusHandler().error(
+                        null,
+                        "Could not write the metrics report: "
+                                + ioe.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,325 @@
+/*
+ * SharedLibrary.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.typeandpopulate.symboltables.MathSymbolTableBuilder;
+import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
+import edu.clemson.cs.rsrg.misc.Utilities;
+import java.io.File;
+import java.util.*;
+
+/**
+ * <p>This class stores the library modules that have been populated by
+ * previous compilation jobs, so that they can be shared by all jobs
+ * running in the same JVM (e.g. the WebIDE/WebAPI or the
+ * {@link CompilerDaemon}).</p>
+ *
+ * <p>A library module is a module that was located in the RESOLVE workspace,
+ * is not one of the target files, is not a user created file from the
+ * WebIDE/WebAPI, and only imports other library modules. All jobs share
+ * one {@link MathSymbolTableBuilder}. Once a job has populated all of its
+ * library modules, we take a snapshot of the symbol table. Before the next
+ * job starts, we restore that snapshot, which discards the scopes that the
+ * previous job populated for its own modules.</p>
+ *
+ * <p>A file that was populated as a library module can later be the target
+ * of another job or be replaced by a user created file from the
+ * WebIDE/WebAPI. Neither of them is ever treated as a library module, so we
+ * restore the snapshot that was taken before it was populated and
+ * discard every library module populated after it.</p>
+ *
+ * <p>Since all jobs share the same symbol table, only one job can use a
+ * {@code SharedLibrary} at a time. {@link ResolveCompiler} takes care of
+ * this by locking this object for the duration of the job.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class SharedLibrary {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>The library modules populated so far, in the
+     * order they were compiled.</p>
+     */
+    private final Map<ModuleIdentifier, LibraryModule> myModules;
+
+    /**
+     * <p>The snapshots of the symbol table taken after each group of
+     * library modules was populated. The last one contains all the
+     * library modules.</p>
+     */
+    private final List<MathSymbolTableBuilder.Snapshot> mySnapshots;
+
+    /** <p>The symbol table shared by all jobs.</p> */
+    private MathSymbolTableBuilder mySymbolTable;
+
+    /** <p>The workspace directory for the library modules.</p> */
+    private File myWorkspaceDir;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates an empty shared library. The first job that uses
+     * it will populate the library modules it imports.</p>
+     */
+    public SharedLibrary() {
+        myModules = new LinkedHashMap<>();
+        mySnapshots = new ArrayList<>();
+        mySymbolTable = null;
+        myWorkspaceDir = null;
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the number of library modules that
+     * have been populated.</p>
+     *
+     * @return The number of library modules.
+     */
+    public final synchronized int size() {
+        return myModules.size();
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Stores the specified library modules that have just been populated
+     * and takes a new snapshot of the symbol table.</p>
+     *
+     * @param compileEnvironment The current job's compilation environment.
+     * @param ids The library modules that were populated in this job.
+     */
+    final synchronized void addModules(CompileEnvironment compileEnvironment,
+            List<ModuleIdentifier> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        for (ModuleIdentifier id : ids) {
+            ResolveFile file = compileEnvironment.getFile(id);
+            myModules.put(id, new LibraryModule(compileEnvironment
+                    .getModuleAST(id), file, new File(file.getCreatedJarPath())
+                    .lastModified(), mySnapshots.size()));
+        }
+
+        mySnapshots.add(mySymbolTable.createSnapshot());
+    }
+
+    /**
+     * <p>Checks to see if the specified module is one of
+     * our library modules.</p>
+     *
+     * @param id A module identifier.
+     *
+     * @return {@code true} if it is a library module,
+     * {@code false} otherwise.
+     */
+    final synchronized boolean containsModule(ModuleIdentifier id) {
+        return myModules.containsKey(id);
+    }
+
+    /**
+     * <p>Prepares this library for a new job. This returns the symbol table
+     * to the state it was in after the library modules were populated and
+     * adds all the library modules as completed modules in the job's
+     * compilation environment.</p>
+     *
+     * <p>If this is the first job, the workspace has changed, or any library
+     * file has been modified since it was populated, we start over with a
+     * new symbol table. If one of the target files or user created files is
+     * a library module, we go back to the snapshot taken before it
+     * was populated.</p>
+     *
+     * @param compileEnvironment The current job's compilation environment.
+     * @param targetFiles The names of the files that the job will compile.
+     *
+     * @return The symbol table for the job.
+     */
+    final synchronized MathSymbolTableBuilder beginCompile(
+            CompileEnvironment compileEnvironment, List<String> targetFiles) {
+        boolean reset =
+                mySnapshots.isEmpty()
+                        || !compileEnvironment.getWorkspaceDir().equals(
+                                myWorkspaceDir) || hasModifiedFiles();
+
+        // Target files and user created files will be compiled by this
+        // job, so they can't be library modules.
+        if (!reset) {
+            removeTargetModules(compileEnvironment, targetFiles);
+            reset = mySnapshots.isEmpty();
+        }
+
+        // Discard anything populated by the previous job. If the previous
+        // job didn't close its scopes, we can't trust the symbol table.
+        if (!reset) {
+            try {
+                mySymbolTable.restoreSnapshot(mySnapshots.get(mySnapshots
+                        .size() - 1));
+            }
+            catch (IllegalStateException ise) {
+                reset = true;
+            }
+        }
+
+        if (reset) {
+            myModules.clear();
+            mySnapshots.clear();
+            mySymbolTable = new MathSymbolTableBuilder(compileEnvironment);
+            myWorkspaceDir = compileEnvironment.getWorkspaceDir();
+        }
+        else {
+            // The type graph still refers to the previous job
+            mySymbolTable.getTypeGraph().setCompileEnvironment(
+                    compileEnvironment);
+        }
+
+        for (Map.Entry<ModuleIdentifier, LibraryModule> entry : myModules
+                .entrySet()) {
+            LibraryModule module = entry.getValue();
+            compileEnvironment.constructRecord(module.file, module.moduleDec);
+            compileEnvironment.completeRecord(entry.getKey());
+        }
+        compileEnvironment.setSharedLibrary(this);
+
+        return mySymbolTable;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Checks to see if any of the library files have been
+     * modified since they were populated.</p>
+     *
+     * @return {@code true} if we need to populate the library
+     * modules again, {@code false} otherwise.
+     */
+    private boolean hasModifiedFiles() {
+        for (LibraryModule module : myModules.values()) {
+            File f = new File(module.file.getCreatedJarPath());
+            if (f.lastModified() != module.lastModified) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>Removes any library module whose file is one of the target files
+     * or that has the same name as one of the user created files, along
+     * with the snapshot taken after it was populated and every library
+     * module populated after it.</p>
+     *
+     * @param compileEnvironment The current job's compilation environment.
+     * @param targetFiles The names of the files that the job will compile.
+     */
+    private void removeTargetModules(CompileEnvironment compileEnvironment,
+            List<String> targetFiles) {
+        Set<File> targets = new HashSet<>();
+        for (String fileString : targetFiles) {
+            targets.add(Utilities.getAbsoluteFile(fileString).toPath()
+                    .normalize().toFile());
+        }
+
+        // Find the first group that contains a target file
+        // or a user created file
+        int firstRemoved = mySnapshots.size();
+        for (Map.Entry<ModuleIdentifier, LibraryModule> entry : myModules
+                .entrySet()) {
+            LibraryModule module = entry.getValue();
+            File f =
+                    new File(module.file.getCreatedJarPath()).getAbsoluteFile()
+                            .toPath().normalize().toFile();
+            if (targets.contains(f)
+                    || compileEnvironment.isMetaFile(entry.getKey()
+                            .toString())) {
+                firstRemoved = Math.min(firstRemoved, module.snapshotIndex);
+            }
+        }
+
+        Iterator<LibraryModule> moduleIt = myModules.values().iterator();
+        while (moduleIt.hasNext()) {
+            if (moduleIt.next().snapshotIndex >= firstRemoved) {
+                moduleIt.remove();
+            }
+        }
+        mySnapshots.subList(firstRemoved, mySnapshots.size()).clear();
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>An helper class that stores a populated library module.</p>
+     */
+    private static class LibraryModule {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The module representation declaration.</p> */
+        final ModuleDec moduleDec;
+
+        /** <p>The original source file.</p> */
+        final ResolveFile file;
+
+        /** <p>The file's modification time when it was populated.</p> */
+        final long lastModified;
+
+        /**
+         * <p>The index of the snapshot taken after this
+         * module was populated.</p>
+         */
+        final int snapshotIndex;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a record for a populated library module.</p>
+         *
+         * @param moduleDec The module representation declaration.
+         * @param file The original source file.
+         * @param lastModified The file's modification time.
+         * @param snapshotIndex The index of the snapshot taken after
+         *                      this module was populated.
+         */
+        LibraryModule(ModuleDec moduleDec, ResolveFile file, long lastModified,
+                int snapshotIndex) {
+            this.moduleDec = moduleDec;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.snapshotIndex = snapshotIndex;
+        }
+
+    }
+
+}
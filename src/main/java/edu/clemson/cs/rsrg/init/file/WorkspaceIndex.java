@@ -0,0 +1,227 @@
+/*
+ * WorkspaceIndex.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * <p>A catalog of all the files in a RESOLVE workspace. Instead of
+ * walking the entire workspace directory each time we need to locate
+ * an imported file, we walk it once and index every file by its name.
+ * Each lookup is then a hash lookup per requested extension.</p>
+ *
+ * <p>The index is rebuilt when a lookup fails or when a file we have
+ * indexed no longer exists, so files that were created, moved or deleted
+ * after the index was built are still found the same way a fresh
+ * directory walk would find them.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class WorkspaceIndex extends SimpleFileVisitor<Path> {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The workspace directory that we are indexing.</p> */
+    private final Path myWorkspacePath;
+
+    /**
+     * <p>A map from file names (including the extension) to all the files
+     * with that name, in the order they were visited.</p>
+     */
+    private final Map<String, List<File>> myFileMap;
+
+    /**
+     * <p>The order in which each file was visited. This allows us to
+     * return matches for different extensions in the same order as
+     * a directory walk.</p>
+     */
+    private final Map<File, Integer> myVisitOrder;
+
+    /** <p>This indicates whether or not we have walked the workspace.</p> */
+    private boolean myIsBuiltFlag;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates an empty index for the specified workspace
+     * directory. The workspace is walked the first time we
+     * attempt to locate a file.</p>
+     *
+     * @param workspaceDir The RESOLVE workspace directory.
+     */
+    public WorkspaceIndex(File workspaceDir) {
+        myWorkspacePath = workspaceDir.toPath();
+        myFileMap = new HashMap<>();
+        myVisitOrder = new HashMap<>();
+        myIsBuiltFlag = false;
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the first file matching the specified name and
+     * one of the extensions.</p>
+     *
+     * @param name An extensionless file name.
+     * @param extensions A list of valid extensions for the file.
+     *
+     * @return The matching file.
+     *
+     * @throws IOException There was an error walking the workspace.
+     * @throws NoSuchFileException If a file matching name could
+     *         not be found.
+     */
+    public final synchronized File getFile(String name, List<String> extensions)
+            throws IOException {
+        List<File> matches = getFiles(name, extensions);
+        if (matches.size() == 0) {
+            throw new NoSuchFileException("File matching name '" + name
+                    + "' could not be found");
+        }
+
+        return matches.get(0);
+    }
+
+    /**
+     * <p>Returns all files matching the specified name and one of the
+     * extensions, in the order a directory walk would have found them.</p>
+     *
+     * @param name An extensionless file name.
+     * @param extensions A list of valid extensions for the file.
+     *
+     * @return A list of matching files.
+     *
+     * @throws IOException There was an error walking the workspace.
+     */
+    public final synchronized List<File> getFiles(String name,
+            List<String> extensions) throws IOException {
+        if (!myIsBuiltFlag) {
+            rebuild();
+        }
+
+        List<File> matches = lookup(name, extensions);
+
+        // Our index might be out of date, so we rebuild
+        // it and try one more time.
+        if (matches.isEmpty() || !allExist(matches)) {
+            rebuild();
+            matches = lookup(name, extensions);
+        }
+
+        return matches;
+    }
+
+    /**
+     * <p>Using a path and the basic file attributes, add the
+     * file to our index.</p>
+     *
+     * @param file The current visiting path.
+     * @param attr The file attributes.
+     *
+     * @return Always continue searching until done.
+     */
+    @Override
+    public final FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+        Path name = file.getFileName();
+        if (name != null) {
+            File f = file.toFile();
+            List<File> files = myFileMap.get(name.toString());
+            if (files == null) {
+                files = new ArrayList<>(1);
+                myFileMap.put(name.toString(), files);
+            }
+
+            files.add(f);
+            myVisitOrder.put(f, myVisitOrder.size());
+        }
+
+        return FileVisitResult.CONTINUE;
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Checks to see if all the files still exist.</p>
+     *
+     * @param files A list of files.
+     *
+     * @return {@code true} if all of them exist, {@code false} otherwise.
+     */
+    private boolean allExist(List<File> files) {
+        for (File f : files) {
+            if (!f.isFile()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>Searches our index for the files matching the specified name
+     * and one of the extensions.</p>
+     *
+     * @param name An extensionless file name.
+     * @param extensions A list of valid extensions for the file.
+     *
+     * @return A list of matching files.
+     */
+    private List<File> lookup(String name, List<String> extensions) {
+        List<File> matches = new ArrayList<>();
+        for (String extension : extensions) {
+            List<File> files = myFileMap.get(name + "." + extension);
+            if (files != null) {
+                matches.addAll(files);
+            }
+        }
+
+        // Sort the matches in the order we visited them
+        if (matches.size() > 1) {
+            Collections.sort(matches, new Comparator<File>() {
+
+                @Override
+                public int compare(File o1, File o2) {
+                    return myVisitOrder.get(o1).compareTo(myVisitOrder.get(o2));
+                }
+            });
+        }
+
+        return matches;
+    }
+
+    /**
+     * <p>Clears our index and walks the entire workspace directory.</p>
+     *
+     * @throws IOException There was an error walking the workspace.
+     */
+    private void rebuild() throws IOException {
+        myFileMap.clear();
+        myVisitOrder.clear();
+        Files.walkFileTree(myWorkspacePath, this);
+        myIsBuiltFlag = true;
+    }
+
+}
@@ -66,6 +66,25 @@ public class FlagManager {
         return global_instance;
     }
 
+    /**
+     * <p>Returns a string that uniquely describes all the flags that are set
+     * and their arguments. Two <code>FlagManager</code>s have the same
+     * signature <strong>iff</strong> they have the same flags set with the
+     * same arguments.</p>
+     *
+     * @return The flag signature.
+     */
+    public String getFlagSignature() {
+        List<String> setFlags = new ArrayList<>();
+        for (Map.Entry<Flag, FlagInfo> entry : myFlags.entrySet()) {
+            setFlags.add(entry.getKey().getName()
+                    + new TreeMap<>(entry.getValue().arguments));
+        }
+        Collections.sort(setFlags);
+
+        return setFlags.toString();
+    }
+
     /**
      * <p>All arguments in the originally provided array of arguments that
      * looked like flags but didn't match a known flag, up to the first argument
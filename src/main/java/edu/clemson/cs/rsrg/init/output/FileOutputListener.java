@@ -27,9 +27,7 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 import org.stringtemplate.v4.STGroupFile;
@@ -38,10 +36,15 @@ import org.stringtemplate.v4.STGroupFile;
  * <p>A listener that contains methods for retrieving compilation
  * results from the compiler and outputs them to different files.</p>
  *
+ * <p>A {@code VC} output file stays open until the {@link VCGenerator}
+ * is done with its module. If the {@link VCGenerator} fails before that,
+ * {@link #close()} removes the incomplete file. This is done by the
+ * compilation environment at the end of the job.</p>
+ *
  * @author Yu-Shan Sun
  * @version 1.0
  */
-public class FileOutputListener implements OutputListener {
+public class FileOutputListener implements OutputListener, Closeable {
 
     // ===========================================================
     // Member Fields
@@ -50,6 +53,18 @@ public class FileOutputListener implements OutputListener {
     /** <p>This is the status handler for the RESOLVE compiler.</p> */
     private final StatusHandler myStatusHandler;
 
+    /**
+     * <p>The {@code VC} output files that we are still writing to,
+     * indexed by their filenames.</p>
+     */
+    private final Map<String, Writer> myOpenVCFiles;
+
+    /** <p>The absolute paths of all the files we have written so far.</p> */
+    private final List<String> myOutputFiles;
+
+    /** <p>String template groups for storing the generated {@code VCs}.</p> */
+    private final STGroup myVCGenOutputGroup;
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -62,12 +77,60 @@ public class FileOutputListener implements OutputListener {
      */
     public FileOutputListener(StatusHandler handler) {
         myStatusHandler = handler;
+        myOpenVCFiles = new HashMap<>();
+        myOutputFiles = new ArrayList<>();
+        myVCGenOutputGroup = new STGroupFile("templates/VCGenOutput.stg");
     }
 
     // ===========================================================
     // Public Methods
     // ===========================================================
 
+    /**
+     * <p>This method writes the {@code VCs} in the provided
+     * {@link AssertiveCodeBlock} to the output file, so we don't have
+     * to hold on to the output for the whole module.</p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating VCs for.
+     * @param outputFileName A name for the output file.
+     * @param block A final {@link AssertiveCodeBlock}.
+     * @param locationDetails A map containing details about encountered {@link Location Locations}.
+     */
+    @Override
+    public final void assertiveCodeBlockResult(String inputFileName,
+            String outputFileName, AssertiveCodeBlock block,
+            Map<Location, String> locationDetails) {
+        String vcFileName = outputFileName + ".asrt";
+        try {
+            for (VerificationCondition vc : block.getVCs()) {
+                // Create the file and write the header when we see the first VC
+                Writer writer = myOpenVCFiles.get(vcFileName);
+                if (writer == null) {
+                    Path vcFilePath = Paths.get(vcFileName);
+                    writer =
+                            Files.newBufferedWriter(vcFilePath, Charset
+                                    .forName("UTF-8"));
+                    myOpenVCFiles.put(vcFileName, writer);
+                    myOutputFiles.add(vcFilePath.toAbsolutePath().toString());
+
+                    ST headerModel =
+                            myVCGenOutputGroup.getInstanceOf(
+                                    "outputVCGenFileHeader").add("fileName",
+                                    inputFileName).add("dateGenerated",
+                                    new Date());
+                    writer.write(headerModel.render());
+                }
+
+                writer.write(renderVC(vc, locationDetails));
+                writer.write("\n");
+            }
+        }
+        catch (IOException ioe) {
+            myStatusHandler.error(null, "Error while writing to file: "
+                    + vcFileName);
+        }
+    }
+
     /**
      * <p>This method outputs the provided {@code Graphviz} model generated
      * from the {@link GenerateGraphvizModel}.</p>
@@ -82,6 +145,39 @@ public class FileOutputListener implements OutputListener {
         writeToFile(outputFileName + "_ModuleDec.gv", graphvizModel);
     }
 
+    /**
+     * <p>Closes and deletes the {@code VC} output files that were never
+     * finished, because the {@link VCGenerator} failed before it was done
+     * with their modules.</p>
+     */
+    @Override
+    public final void close() {
+        for (Map.Entry<String, Writer> entry : myOpenVCFiles.entrySet()) {
+            Path vcFilePath = Paths.get(entry.getKey());
+            try {
+                entry.getValue().close();
+                Files.deleteIfExists(vcFilePath);
+            }
+            catch (IOException ioe) {
+                myStatusHandler.error(null, "Error while removing file: "
+                        + entry.getKey());
+            }
+            myOutputFiles.remove(vcFilePath.toAbsolutePath().toString());
+        }
+        myOpenVCFiles.clear();
+    }
+
+    /**
+     * <p>Returns the absolute paths of all the files
+     * written by this listener.</p>
+     *
+     * @return An unmodifiable list of paths in the order
+     * they were written.
+     */
+    public final List<String> getOutputFiles() {
+        return Collections.unmodifiableList(myOutputFiles);
+    }
+
     /**
      * <p>This method outputs the provided the java translation results
      * from the {@code JavaTranslator}.</p>
@@ -122,51 +218,46 @@ public class FileOutputListener implements OutputListener {
     public final void vcGeneratorResult(String inputFileName,
             String outputFileName, List<AssertiveCodeBlock> blocks,
             Map<Location, String> locationDetails, String verboseOutput) {
-        StringBuffer sb = new StringBuffer();
-
-        // String template to hold the VC generation details
-        STGroup group = new STGroupFile("templates/VCGenOutput.stg");
-        ST model =
-                group.getInstanceOf("outputVCGenFile").add("fileName",
-                        inputFileName).add("dateGenerated", new Date());
-
-        // Add the VC output in human readable format
-        for (AssertiveCodeBlock block : blocks) {
-            // Obtain the final list of vcs
-            List<VerificationCondition> vcs = block.getVCs();
-            for (VerificationCondition vc : vcs) {
-                // Create a model for adding all the details
-                // associated with this VC.
-                Location loc = vc.getLocation();
-                ST vcModel = group.getInstanceOf("outputVC");
-                vcModel.add("vcNum", vc.getName());
-                vcModel.add("location", loc);
-                vcModel.add("locationDetail", locationDetails.get(loc));
-
-                // Output each of the associated sequents
-                List<Sequent> sequents = vc.getAssociatedSequents();
-                for (Sequent s : sequents) {
-                    ST sequentModel = group.getInstanceOf("outputSequent");
-                    sequentModel.add("consequents", s.getConcequents());
-                    sequentModel.add("antecedents", s.getAntecedents());
-
-                    // Add this sequent to our vc model
-                    vcModel.add("sequents", sequentModel.render());
-                }
+        String vcFileName = outputFileName + ".asrt";
 
-                // Add the VC to the model
-                model.add("vcs", vcModel.render());
+        // If the VCs have already been written by assertiveCodeBlockResult,
+        // we only need to append the verbose output.
+        Writer writer = myOpenVCFiles.remove(vcFileName);
+        if (writer != null) {
+            try {
+                writer.write(verboseOutput);
+                writer.close();
+            }
+            catch (IOException ioe) {
+                myStatusHandler.error(null, "Error while writing to file: "
+                        + vcFileName);
             }
         }
+        else {
+            StringBuffer sb = new StringBuffer();
 
-        // Append the generated VC details from the model
-        sb.append(model.render());
+            // String template to hold the VC generation details
+            ST model =
+                    myVCGenOutputGroup.getInstanceOf("outputVCGenFile").add(
+                            "fileName", inputFileName).add("dateGenerated",
+                            new Date());
+
+            // Add the VC output in human readable format
+            for (AssertiveCodeBlock block : blocks) {
+                for (VerificationCondition vc : block.getVCs()) {
+                    model.add("vcs", renderVC(vc, locationDetails));
+                }
+            }
 
-        // Append VC details with any verbose output
-        sb.append(verboseOutput);
+            // Append the generated VC details from the model
+            sb.append(model.render());
 
-        // Output the results to file
-        writeToFile(outputFileName + ".asrt", sb.toString());
+            // Append VC details with any verbose output
+            sb.append(verboseOutput);
+
+            // Output the results to file
+            writeToFile(vcFileName, sb.toString());
+        }
     }
 
     /**
@@ -187,6 +278,38 @@ public class FileOutputListener implements OutputListener {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>Renders a {@link VerificationCondition} in a human readable format.</p>
+     *
+     * @param vc A {@link VerificationCondition}.
+     * @param locationDetails A map containing details about encountered {@link Location Locations}.
+     *
+     * @return The rendered {@code VC}.
+     */
+    private String renderVC(VerificationCondition vc,
+            Map<Location, String> locationDetails) {
+        // Create a model for adding all the details
+        // associated with this VC.
+        Location loc = vc.getLocation();
+        ST vcModel = myVCGenOutputGroup.getInstanceOf("outputVC");
+        vcModel.add("vcNum", vc.getName());
+        vcModel.add("location", loc);
+        vcModel.add("locationDetail", locationDetails.get(loc));
+
+        // Output each of the associated sequents
+        List<Sequent> sequents = vc.getAssociatedSequents();
+        for (Sequent s : sequents) {
+            ST sequentModel = myVCGenOutputGroup.getInstanceOf("outputSequent");
+            sequentModel.add("consequents", s.getConcequents());
+            sequentModel.add("antecedents", s.getAntecedents());
+
+            // Add this sequent to our vc model
+            vcModel.add("sequents", sequentModel.render());
+        }
+
+        return vcModel.render();
+    }
+
     /**
      * <p>Writes the content to the specified filename.</p>
      *
@@ -202,6 +325,7 @@ public class FileOutputListener implements OutputListener {
             Writer writer = Files.newBufferedWriter(outputFilePath, charset);
             writer.write(outputString);
             writer.close();
+            myOutputFiles.add(outputFilePath.toAbsolutePath().toString());
         }
         catch (IOException ioe) {
             myStatusHandler.error(null, "Error while writing to file: "
@@ -31,6 +31,23 @@ import java.util.Map;
  */
 public interface OutputListener {
 
+    /**
+     * <p>This method outputs a final {@link AssertiveCodeBlock} as soon as the
+     * {@link VCGenerator} is done with it, so the generated {@code VCs} can be
+     * used while the rest of the module is still being processed. The
+     * {@code VCs} in {@code block} already have their final names.</p>
+     *
+     * <p>The blocks are sent in the same order as they appear in the list
+     * that is later passed to {@link #vcGeneratorResult}.</p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating VCs for.
+     * @param outputFileName A name for the output file.
+     * @param block A final {@link AssertiveCodeBlock}.
+     * @param locationDetails A map containing details about encountered {@link Location Locations}.
+     */
+    void assertiveCodeBlockResult(String inputFileName, String outputFileName,
+            AssertiveCodeBlock block, Map<Location, String> locationDetails);
+
     /**
      * <p>This method outputs the provided {@code Graphviz} model generated
      * from the {@link GenerateGraphvizModel}.</p>
@@ -63,7 +80,9 @@ public interface OutputListener {
 
     /**
      * <p>This method outputs the provided {@link AssertiveCodeBlock AssertiveCodeBlocks}
-     * and/or raw output result from the {@link VCGenerator}.</p>
+     * and/or raw output result from the {@link VCGenerator}. This is called
+     * once the {@link VCGenerator} is done with the whole module and after each
+     * of the {@code blocks} has been sent to {@link #assertiveCodeBlockResult}.</p>
      *
      * @param inputFileName Name of the {@link ResolveFile} we are generating VCs for.
      * @param outputFileName A name for the output file.
@@ -0,0 +1,79 @@
+/*
+ * OutputListenerAdapter.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.r2jt.rewriteprover.Metrics;
+import edu.clemson.cs.r2jt.rewriteprover.model.PerVCProverModel;
+import edu.clemson.cs.rsrg.parsing.data.Location;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An {@link OutputListener} that ignores all the compilation results.
+ * Listeners that extend this class only need to override the methods
+ * for the results they are interested in, so they keep compiling when
+ * new methods are added to {@link OutputListener}.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public abstract class OutputListenerAdapter implements OutputListener {
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void assertiveCodeBlockResult(String inputFileName,
+            String outputFileName, AssertiveCodeBlock block,
+            Map<Location, String> locationDetails) {}
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void astGraphvizModelResult(String outputFileName,
+            String graphvizModel) {}
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void javaTranslationResult(String inputFileName,
+            String outputFileName, String javaTranslation) {}
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void proverResult(String inputFileName, String outputFileName) {}
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vcGeneratorResult(String inputFileName, String outputFileName,
+            List<AssertiveCodeBlock> blocks,
+            Map<Location, String> locationDetails, String verboseOutput) {}
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vcResult(boolean proved, PerVCProverModel finalModel, Metrics m) {}
+
+}
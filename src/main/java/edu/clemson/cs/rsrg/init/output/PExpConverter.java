@@ -0,0 +1,231 @@
+/*
+ * PExpConverter.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.r2jt.rewriteprover.Antecedent;
+import edu.clemson.cs.r2jt.rewriteprover.Consequent;
+import edu.clemson.cs.r2jt.rewriteprover.VC;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PExp;
+import edu.clemson.cs.r2jt.rewriteprover.absyn.PSymbol;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import edu.clemson.cs.rsrg.absyn.expressions.Exp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.AbstractFunctionExp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.EqualsExp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.FunctionExp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.InfixExp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.PrefixExp;
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.VarExp;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import java.util.*;
+
+/**
+ * <p>This class converts the {@link Sequent Sequents} generated by the
+ * {@link edu.clemson.cs.rsrg.vcgeneration.VCGenerator} into the
+ * {@link VC VCs} used by the congruence closure prover.</p>
+ *
+ * <p>The prover works on its own {@link TypeGraph}, so we only keep
+ * the distinction between boolean and non-boolean expressions. Variables
+ * and function applications become uninterpreted symbols and any other
+ * kind of expression becomes a constant named after its string
+ * representation. This is sound for congruence closure, since two
+ * constants are only merged if the prover can show that they
+ * are equal.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+class PExpConverter {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>The boolean operators and constants we can recognize
+     * in an expression without a mathematical type.</p>
+     */
+    private static final Set<String> BOOLEAN_OPERATORS =
+            new HashSet<>(Arrays.asList("and", "or", "implies", "iff", "not",
+                    "true", "false"));
+
+    /** <p>The type graph used by the prover.</p> */
+    private final TypeGraph myTypeGraph;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates a converter that builds expressions for the
+     * provided prover type graph.</p>
+     *
+     * @param g The type graph used by the prover.
+     */
+    PExpConverter(TypeGraph g) {
+        myTypeGraph = g;
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Converts a {@link Sequent} into a prover {@link VC}. The
+     * consequents of the sequent are all goals, so the {@link VC}
+     * is proved if any of them is proved.</p>
+     *
+     * @param name Name of the {@link VC}.
+     * @param sequent A {@link Sequent}.
+     *
+     * @return The {@link VC} representation of {@code sequent}.
+     */
+    final VC convert(String name, Sequent sequent) {
+        return new VC(name,
+                new Antecedent(convertAll(sequent.getAntecedents())),
+                new Consequent(convertAll(sequent.getConcequents())));
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Converts an {@link Exp} into a prover expression.</p>
+     *
+     * @param exp An {@link Exp}.
+     *
+     * @return The {@link PExp} representation of {@code exp}.
+     */
+    private PExp convert(Exp exp) {
+        edu.clemson.cs.r2jt.typeandpopulate.MTType type =
+                convertType(exp);
+
+        PExp retval;
+        if (exp instanceof VarExp) {
+            VarExp varExp = (VarExp) exp;
+            retval =
+                    new PSymbol(type, null, fullName(varExp.getQualifier(),
+                            varExp.getName().getName()));
+        }
+        else if (exp instanceof AbstractFunctionExp
+                && !(exp instanceof FunctionExp && ((FunctionExp) exp)
+                        .getCaratExp() != null)) {
+            AbstractFunctionExp functionExp = (AbstractFunctionExp) exp;
+
+            List<Exp> arguments;
+            if (functionExp instanceof FunctionExp) {
+                arguments = ((FunctionExp) functionExp).getArguments();
+            }
+            else {
+                arguments = functionExp.getParameters();
+            }
+
+            retval =
+                    new PSymbol(type, null, fullName(
+                            functionExp.getQualifier(), functionExp
+                                    .getOperatorAsString()),
+                            convertAll(arguments));
+        }
+        else {
+            retval = new PSymbol(type, null, exp.toString());
+        }
+
+        return retval;
+    }
+
+    /**
+     * <p>Converts a list of {@link Exp Exps} into prover expressions.</p>
+     *
+     * @param exps A list of {@link Exp Exps}.
+     *
+     * @return A list containing the {@link PExp} representation of each
+     * {@link Exp}.
+     */
+    private List<PExp> convertAll(List<Exp> exps) {
+        List<PExp> pExps = new ArrayList<>(exps.size());
+        for (Exp exp : exps) {
+            pExps.add(convert(exp));
+        }
+
+        return pExps;
+    }
+
+    /**
+     * <p>Finds the prover type for an expression. Not all the expressions
+     * created by the {@link edu.clemson.cs.rsrg.vcgeneration.VCGenerator}
+     * have a mathematical type, so if there isn't one, we look at the
+     * kind of expression to see if it is boolean.</p>
+     *
+     * @param exp An {@link Exp}.
+     *
+     * @return {@code BOOLEAN} if {@code exp} is boolean,
+     * {@code ENTITY} otherwise.
+     */
+    private edu.clemson.cs.r2jt.typeandpopulate.MTType convertType(Exp exp) {
+        boolean isBoolean;
+        MTType type = exp.getMathType();
+        if (type != null) {
+            isBoolean = type.isBoolean();
+        }
+        else if (exp instanceof EqualsExp) {
+            isBoolean = true;
+        }
+        else if (exp instanceof InfixExp || exp instanceof PrefixExp) {
+            isBoolean =
+                    BOOLEAN_OPERATORS.contains(((AbstractFunctionExp) exp)
+                            .getOperatorAsString());
+        }
+        else if (exp instanceof VarExp) {
+            isBoolean =
+                    BOOLEAN_OPERATORS.contains(((VarExp) exp).getName()
+                            .getName());
+        }
+        else {
+            isBoolean = false;
+        }
+
+        edu.clemson.cs.r2jt.typeandpopulate.MTType retval;
+        if (isBoolean) {
+            retval = myTypeGraph.BOOLEAN;
+        }
+        else {
+            retval = myTypeGraph.ENTITY;
+        }
+
+        return retval;
+    }
+
+    /**
+     * <p>Forms the name of a symbol, including its qualifier
+     * if it has one.</p>
+     *
+     * @param qualifier The qualifier or {@code null}.
+     * @param name The symbol name.
+     *
+     * @return The full name.
+     */
+    private String fullName(PosSymbol qualifier, String name) {
+        String retval;
+        if (qualifier == null) {
+            retval = name;
+        }
+        else {
+            retval = qualifier.getName() + "::" + name;
+        }
+
+        return retval;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,368 @@
+/*
+ * ProverOutputListener.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init.output;
+
+import edu.clemson.cs.r2jt.congruenceclassprover.VerificationConditionCongruenceClosureImpl;
+import edu.clemson.cs.r2jt.rewriteprover.Metrics;
+import edu.clemson.cs.r2jt.rewriteprover.model.PerVCProverModel;
+import edu.clemson.cs.r2jt.typereasoning.TypeGraph;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.parsing.data.Location;
+import edu.clemson.cs.rsrg.statushandling.StatusHandler;
+import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
+import edu.clemson.cs.rsrg.vcgeneration.sequents.Sequent;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
+import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * <p>A listener that sends each {@link VerificationCondition} to the
+ * congruence closure prover as soon as the {@link VCGenerator} is done
+ * with its {@link AssertiveCodeBlock}, so the {@code VCs} are proved
+ * while the rest of the module is still being processed.</p>
+ *
+ * <p>The {@code VCs} wait in a bounded queue until one of the prover
+ * workers is free. If the queue is full, the {@link VCGenerator} blocks
+ * until there is room, so we never hold on to more than a fixed number
+ * of unproved {@code VCs}. The results are reported in order once the
+ * {@link VCGenerator} is done with the whole module.</p>
+ *
+ * <p>The prover workers keep running until {@link #close()} is called,
+ * which is done by the compilation environment at the end of the job.</p>
+ *
+ * <p>Note that the prover only builds the congruence closure for each
+ * {@link Sequent}. It doesn't have access to the theorems from the
+ * module's theories, and the {@link PExpConverter} gives every expression
+ * the {@code Entity} type and turns quantified expressions into constants.
+ * A {@code VC} that isn't proved here might still be true, and the results
+ * are reported as congruence closure results rather than as the outcome
+ * of a full verification.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class ProverOutputListener implements OutputListener, Closeable {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The number of {@code VCs} each worker can have waiting in the queue.</p> */
+    private static final int QUEUE_CAPACITY_PER_WORKER = 16;
+
+    /** <p>The pool of prover workers.</p> */
+    private final ThreadPoolExecutor myProverWorkers;
+
+    /**
+     * <p>The pending prover results for each {@code VC},
+     * indexed by the output filename of their module.</p>
+     */
+    private final Map<String, Map<String, Future<Boolean>>> myPendingResults;
+
+    /** <p>This is the status handler for the RESOLVE compiler.</p> */
+    private final StatusHandler myStatusHandler;
+
+    /**
+     * <p>The prover's type graph for each worker. The prover's
+     * type graph isn't safe to share between threads.</p>
+     */
+    private final ThreadLocal<TypeGraph> myTypeGraphs;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This constructs a output listener that proves the
+     * generated {@code VCs}.</p>
+     *
+     * @param handler The status handler for the RESOLVE compiler.
+     * @param numWorkers The number of prover workers.
+     */
+    public ProverOutputListener(StatusHandler handler, int numWorkers) {
+        myStatusHandler = handler;
+        myPendingResults = new HashMap<>();
+        myTypeGraphs = new ThreadLocal<TypeGraph>() {
+
+            @Override
+            protected TypeGraph initialValue() {
+                return new TypeGraph();
+            }
+        };
+
+        // The workers are daemon threads, so an idle pool never keeps the
+        // compiler from exiting. If the queue is full, the caller waits
+        // until one of the workers takes a VC from the queue.
+        myProverWorkers =
+                new ThreadPoolExecutor(numWorkers, numWorkers, 0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<Runnable>(numWorkers
+                                * QUEUE_CAPACITY_PER_WORKER),
+                        new ThreadFactory() {
+
+                            private final ThreadFactory myDefaultFactory =
+                                    Executors.defaultThreadFactory();
+
+                            @Override
+                            public Thread newThread(Runnable r) {
+                                Thread t = myDefaultFactory.newThread(r);
+                                t.setDaemon(true);
+                                return t;
+                            }
+                        }, new RejectedExecutionHandler() {
+
+                            @Override
+                            public void rejectedExecution(Runnable r,
+                                    ThreadPoolExecutor executor) {
+                                // Nobody would ever run the VC
+                                if (executor.isShutdown()) {
+                                    throw new RejectedExecutionException(
+                                            "The prover has been shut down.");
+                                }
+
+                                try {
+                                    executor.getQueue().put(r);
+                                }
+                                catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                    throw new RejectedExecutionException(e);
+                                }
+
+                                // We might have been shut down while waiting
+                                if (executor.isShutdown()
+                                        && executor.getQueue().remove(r)) {
+                                    throw new RejectedExecutionException(
+                                            "The prover has been shut down.");
+                                }
+                            }
+                        });
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>This method adds the {@code VCs} in the provided
+     * {@link AssertiveCodeBlock} to the prover's queue.</p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating VCs for.
+     * @param outputFileName A name for the output file.
+     * @param block A final {@link AssertiveCodeBlock}.
+     * @param locationDetails A map containing details about encountered {@link Location Locations}.
+     */
+    @Override
+    public final void assertiveCodeBlockResult(String inputFileName,
+            String outputFileName, AssertiveCodeBlock block,
+            Map<Location, String> locationDetails) {
+        Map<String, Future<Boolean>> pendingResults;
+        synchronized (myPendingResults) {
+            pendingResults = myPendingResults.get(outputFileName);
+            if (pendingResults == null) {
+                pendingResults = new LinkedHashMap<>();
+                myPendingResults.put(outputFileName, pendingResults);
+            }
+        }
+
+        for (VerificationCondition vc : block.getVCs()) {
+            Future<Boolean> result = myProverWorkers.submit(new ProveVCTask(vc));
+            synchronized (pendingResults) {
+                pendingResults.put(vc.getName(), result);
+            }
+        }
+    }
+
+    /**
+     * <p>This listener doesn't output {@code Graphviz} models.</p>
+     *
+     * @param outputFileName A name for the output file.
+     * @param graphvizModel The inner {@code AST} represented in a {@code GraphViz}
+     *                      file format.
+     */
+    @Override
+    public final void astGraphvizModelResult(String outputFileName,
+            String graphvizModel) {}
+
+    /**
+     * <p>Shuts down the prover workers once they are done with the
+     * {@code VCs} that are already in the queue. Any {@code VCs}
+     * sent after this are rejected.</p>
+     */
+    @Override
+    public final void close() {
+        myProverWorkers.shutdown();
+    }
+
+    /**
+     * <p>This listener doesn't output java translation results.</p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating {@code Java} translations.
+     * @param outputFileName A name for the output file.
+     * @param javaTranslation The translated {@code Java} source code.
+     */
+    @Override
+    public final void javaTranslationResult(String inputFileName,
+            String outputFileName, String javaTranslation) {}
+
+    /**
+     * <p>This listener doesn't output results from the {@code CCProver}.</p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating proofs.
+     * @param outputFileName A name for the output file.
+     */
+    @Override
+    public final void proverResult(String inputFileName, String outputFileName) {}
+
+    /**
+     * <p>This method waits for the prover to finish with all the
+     * {@code VCs} in the module and reports the results.</p>
+     *
+     * @param inputFileName Name of the {@link ResolveFile} we are generating VCs for.
+     * @param outputFileName A name for the output file.
+     * @param blocks A list of final {@link AssertiveCodeBlock AssertiveCodeBlocks}.
+     * @param locationDetails A map containing details about encountered {@link Location Locations}.
+     * @param verboseOutput The verbose output string generated by the {@link VCGenerator}.
+     */
+    @Override
+    public final void vcGeneratorResult(String inputFileName,
+            String outputFileName, List<AssertiveCodeBlock> blocks,
+            Map<Location, String> locationDetails, String verboseOutput) {
+        Map<String, Future<Boolean>> pendingResults;
+        synchronized (myPendingResults) {
+            pendingResults = myPendingResults.remove(outputFileName);
+        }
+
+        // Copy the pending results, so we don't hold the lock
+        // while we wait for the prover.
+        List<Map.Entry<String, Future<Boolean>>> results = new ArrayList<>();
+        if (pendingResults != null) {
+            synchronized (pendingResults) {
+                results.addAll(pendingResults.entrySet());
+            }
+        }
+
+        int numProved = 0;
+        for (Map.Entry<String, Future<Boolean>> entry : results) {
+            String vcName = entry.getKey();
+            try {
+                if (entry.getValue().get()) {
+                    myStatusHandler.info(null, "VC " + vcName
+                            + ": Proved by congruence closure");
+                    numProved++;
+                }
+                else {
+                    myStatusHandler.info(null, "VC " + vcName
+                            + ": Not proved by congruence closure");
+                }
+            }
+            catch (ExecutionException ee) {
+                myStatusHandler.error(null, "VC " + vcName
+                        + ": Prover error: " + ee.getCause());
+            }
+            catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                myStatusHandler.error(null,
+                        "Interrupted while waiting for the prover.");
+                return;
+            }
+        }
+
+        myStatusHandler.info(null, "Congruence closure proved " + numProved
+                + " of " + results.size() + " VC(s) for " + inputFileName
+                + " (theorems are not used, so this is not a full"
+                + " verification result).");
+    }
+
+    /**
+     * <p>This listener doesn't output results from the old prover.</p>
+     *
+     * @param proved {@code true} if the {@code VC} was proved,
+     *               {@code false} otherwise.
+     * @param finalModel The prover representation for a {@code VC}.
+     * @param m The prover generated metrics.
+     */
+    @Override
+    public final void vcResult(boolean proved, PerVCProverModel finalModel,
+            Metrics m) {}
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>A task that proves a {@link VerificationCondition} by proving
+     * each of its {@link Sequent Sequents}.</p>
+     */
+    private class ProveVCTask implements Callable<Boolean> {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The {@link VerificationCondition} we are proving.</p> */
+        private final VerificationCondition myVC;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a task that proves {@code vc}.</p>
+         *
+         * @param vc A {@link VerificationCondition}.
+         */
+        ProveVCTask(VerificationCondition vc) {
+            myVC = vc;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * <p>Converts each {@link Sequent} and builds its congruence
+         * closure. A {@link Sequent} is proved if one of its consequents
+         * is true or if its antecedents are contradictory.</p>
+         *
+         * @return {@code true} if all the {@link Sequent Sequents}
+         * were proved, {@code false} otherwise.
+         */
+        @Override
+        public final Boolean call() {
+            TypeGraph g = myTypeGraphs.get();
+            PExpConverter converter = new PExpConverter(g);
+
+            boolean proved = true;
+            Iterator<Sequent> sequentIt =
+                    myVC.getAssociatedSequents().iterator();
+            while (proved && sequentIt.hasNext()) {
+                VerificationConditionCongruenceClosureImpl closure =
+                        new VerificationConditionCongruenceClosureImpl(g,
+                                converter.convert(myVC.getName(), sequentIt
+                                        .next()), null, null);
+
+                VerificationConditionCongruenceClosureImpl.STATUS status =
+                        closure.isProved();
+                proved =
+                        status == VerificationConditionCongruenceClosureImpl.STATUS.PROVED
+                                || status == VerificationConditionCongruenceClosureImpl.STATUS.FALSE_ASSUMPTION;
+            }
+
+            return proved;
+        }
+
+    }
+
+}
\ No newline at end of file
@@ -14,6 +14,7 @@ package edu.clemson.cs.rsrg.init.pipeline;
 
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.CompileMetrics;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.treewalk.TreeWalker;
 import edu.clemson.cs.rsrg.typeandpopulate.Populator;
@@ -59,7 +60,16 @@ public class AnalysisPipeline extends AbstractPipeline {
         Populator populator =
                 new Populator(mySymbolTable, myCompileEnvironment);
         myCompileEnvironment.setTypeGraph(populator.getTypeGraph());
-        TreeWalker.visit(populator, moduleDec);
+
+        CompileMetrics.Phase phase =
+                myCompileEnvironment.getMetrics().startPhase(
+                        currentTarget.toString(), "populate");
+        try {
+            TreeWalker.visit(populator, moduleDec);
+        }
+        finally {
+            phase.stop();
+        }
 
         if (myCompileEnvironment.flags
                 .isFlagSet(Populator.FLAG_POPULATOR_DEBUG)) {
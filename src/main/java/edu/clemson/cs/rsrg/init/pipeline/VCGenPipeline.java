@@ -14,6 +14,7 @@ package edu.clemson.cs.rsrg.init.pipeline;
 
 import edu.clemson.cs.rsrg.absyn.declarations.moduledecl.ModuleDec;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.CompileMetrics;
 import edu.clemson.cs.rsrg.init.ResolveCompiler;
 import edu.clemson.cs.rsrg.init.output.OutputListener;
 import edu.clemson.cs.rsrg.statushandling.StatusHandler;
@@ -69,7 +70,15 @@ public class VCGenPipeline extends AbstractPipeline {
         }
 
         // Walk the AST and generate VCs
-        TreeWalker.visit(vcGenerator, moduleDec);
+        CompileMetrics.Phase phase =
+                myCompileEnvironment.getMetrics().startPhase(
+                        currentTarget.toString(), "vcgen");
+        try {
+            TreeWalker.visit(vcGenerator, moduleDec);
+        }
+        finally {
+            phase.stop();
+        }
 
         // Output the contents to listener objects
         for (OutputListener listener : myCompileEnvironment
@@ -53,6 +53,7 @@ import edu.clemson.cs.rsrg.init.file.ResolveFile;
 import edu.clemson.cs.rsrg.misc.Utilities;
 import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.parsing.utilities.HeaderParseTreeWalker;
 import edu.clemson.cs.rsrg.parsing.utilities.SyntacticSugarConverter;
 import edu.clemson.cs.rsrg.statushandling.exception.SourceErrorException;
 import edu.clemson.cs.rsrg.treewalk.TreeWalker;
@@ -142,6 +143,12 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
     /** <p>The current file we are compiling.</p> */
     private final ResolveFile myFile;
 
+    /**
+     * <p>This indicates that we only need the module's signatures, so
+     * we don't build any statements.</p>
+     */
+    private final boolean myIsHeaderOnly;
+
     /**
      * <p>This is the math type graph that indicates relationship
      * between different math types.</p>
@@ -161,8 +168,30 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
      * @param typeGraph Type graph that indicates relationship between different mathematical types.
      */
     public TreeBuildingListener(ResolveFile file, TypeGraph typeGraph) {
+        this(file, typeGraph, false);
+    }
+
+    /**
+     * <p>Create a listener to walk the compiler generated ANTLR4 parser tree
+     * and generate the intermediate representation objects used by the
+     * subsequent modules.</p>
+     *
+     * <p>If {@code headerOnly} is {@code true}, every procedure, initialization
+     * and finalization block is created without any statements. This is all
+     * we need when the module is only being imported by another module. Such
+     * trees should be walked using the {@link HeaderParseTreeWalker}, so the
+     * statements are not visited at all.</p>
+     *
+     * @param file The current file we are compiling.
+     * @param typeGraph Type graph that indicates relationship between different mathematical types.
+     * @param headerOnly {@code true} if we don't need to build any statements,
+     *                   {@code false} otherwise.
+     */
+    public TreeBuildingListener(ResolveFile file, TypeGraph typeGraph,
+            boolean headerOnly) {
         myTypeGraph = typeGraph;
         myFile = file;
+        myIsHeaderOnly = headerOnly;
         myFinalModule = null;
         myNodes = new ParseTreeProperty<>();
         myDefinitionMemberList = null;
@@ -2089,8 +2118,7 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         myNodes.put(ctx, createTypeInitFinalItem(createLocation(ctx),
                 TypeInitFinalItem.ItemType.INITIALIZATION, affects,
                 getFacilityDecls(ctx.facilityDecl()), getVarDecls(ctx
-                        .variableDecl()), Utilities.collect(Statement.class,
-                        ctx.stmt(), myNodes)));
+                        .variableDecl()), getStatements(ctx.stmt())));
     }
 
     /**
@@ -2128,8 +2156,7 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         myNodes.put(ctx, createTypeInitFinalItem(createLocation(ctx),
                 TypeInitFinalItem.ItemType.FINALIZATION, affects,
                 getFacilityDecls(ctx.facilityDecl()), getVarDecls(ctx
-                        .variableDecl()), Utilities.collect(Statement.class,
-                        ctx.stmt(), myNodes)));
+                        .variableDecl()), getStatements(ctx.stmt())));
     }
 
     /**
@@ -2189,8 +2216,7 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         myNodes.put(ctx, createFacilityTypeInitFinalItem(createLocation(ctx),
                 FacilityTypeInitFinalItem.ItemType.INITIALIZATION, affects,
                 requires, ensures, getFacilityDecls(ctx.facilityDecl()),
-                getVarDecls(ctx.variableDecl()), Utilities.collect(
-                        Statement.class, ctx.stmt(), myNodes)));
+                getVarDecls(ctx.variableDecl()), getStatements(ctx.stmt())));
     }
 
     /**
@@ -2250,8 +2276,7 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         myNodes.put(ctx, createFacilityTypeInitFinalItem(createLocation(ctx),
                 FacilityTypeInitFinalItem.ItemType.FINALIZATION, affects,
                 requires, ensures, getFacilityDecls(ctx.facilityDecl()),
-                getVarDecls(ctx.variableDecl()), Utilities.collect(
-                        Statement.class, ctx.stmt(), myNodes)));
+                getVarDecls(ctx.variableDecl()), getStatements(ctx.stmt())));
     }
 
     /**
@@ -2362,8 +2387,13 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
                         getParameterDecls(ctx.operationParameterList()
                                 .parameterDecl()), returnTy, affectsClause,
                         getFacilityDecls(ctx.facilityDecl()), getVarDecls(ctx
-                                .variableDecl()), Utilities.collect(
-                                Statement.class, ctx.stmt(), myNodes));
+                                .variableDecl()), getStatements(ctx.stmt()));
+
+        // Headers don't have any statements to convert
+        if (myIsHeaderOnly) {
+            myNodes.put(ctx, beforeConversionProcDec);
+            return;
+        }
 
         // Attempt to resolve all the syntactic sugar conversions
         SyntacticSugarConverter converter =
@@ -2431,8 +2461,14 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
                         getParameterDecls(ctx.operationParameterList()
                                 .parameterDecl()), returnTy, affectsClause,
                         decreasingClause, getFacilityDecls(ctx.facilityDecl()),
-                        getVarDecls(ctx.variableDecl()), Utilities.collect(
-                                Statement.class, ctx.stmt(), myNodes), true);
+                        getVarDecls(ctx.variableDecl()), getStatements(ctx
+                                .stmt()), true);
+
+        // Headers don't have any statements to convert
+        if (myIsHeaderOnly) {
+            myNodes.put(ctx, beforeConversionProcDec);
+            return;
+        }
 
         // Attempt to resolve all the syntactic sugar conversions
         SyntacticSugarConverter converter =
@@ -2483,7 +2519,13 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         OperationProcedureDec beforeConversionOpProcDec =
                 new OperationProcedureDec(operationDec, getFacilityDecls(ctx
                         .facilityDecl()), getVarDecls(ctx.variableDecl()),
-                        Utilities.collect(Statement.class, ctx.stmt(), myNodes));
+                        getStatements(ctx.stmt()));
+
+        // Headers don't have any statements to convert
+        if (myIsHeaderOnly) {
+            myNodes.put(ctx, beforeConversionOpProcDec);
+            return;
+        }
 
         // Attempt to resolve all the syntactic sugar conversions
         SyntacticSugarConverter converter =
@@ -2538,8 +2580,14 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         OperationProcedureDec beforeConversionOpProcDec =
                 new OperationProcedureDec(operationDec, decreasingClause,
                         getFacilityDecls(ctx.facilityDecl()), getVarDecls(ctx
-                                .variableDecl()), Utilities.collect(
-                                Statement.class, ctx.stmt(), myNodes), true);
+                                .variableDecl()), getStatements(ctx.stmt()),
+                        true);
+
+        // Headers don't have any statements to convert
+        if (myIsHeaderOnly) {
+            myNodes.put(ctx, beforeConversionOpProcDec);
+            return;
+        }
 
         // Attempt to resolve all the syntactic sugar conversions
         SyntacticSugarConverter converter =
@@ -5049,6 +5097,11 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
                 new FacilityTypeInitFinalItem(l.clone(), itemType, affects,
                         requires, ensures, facilityDecs, varDecs, statements);
 
+        // Headers don't have any statements to convert
+        if (myIsHeaderOnly) {
+            return beforeConversionFinalItem;
+        }
+
         // Attempt to resolve all the syntactic sugar conversions
         SyntacticSugarConverter converter =
                 new SyntacticSugarConverter(myArrayNameTyToInnerTyMap,
@@ -5185,6 +5238,11 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
                 new TypeInitFinalItem(l.clone(), itemType, affects,
                         facilityDecs, varDecs, statements);
 
+        // Headers don't have any statements to convert
+        if (myIsHeaderOnly) {
+            return beforeConversionFinalItem;
+        }
+
         // Attempt to resolve all the syntactic sugar conversions
         SyntacticSugarConverter converter =
                 new SyntacticSugarConverter(myArrayNameTyToInnerTyMap,
@@ -5331,6 +5389,24 @@ public class TreeBuildingListener extends ResolveParserBaseListener {
         return varDecs;
     }
 
+    /**
+     * <p>An helper method to retrieve the statements for a procedure,
+     * initialization or finalization block. If we are only building
+     * the module's header, we don't have any statements.</p>
+     *
+     * @param stmtContexts The ANTLR4 parser rule for list of statements.
+     *
+     * @return List of {@link Statement}.
+     */
+    private List<Statement> getStatements(
+            List<ResolveParser.StmtContext> stmtContexts) {
+        if (myIsHeaderOnly) {
+            return new ArrayList<>();
+        }
+
+        return Utilities.collect(Statement.class, stmtContexts, myNodes);
+    }
+
     /**
      * <p>An helper method to retrieve the variable declarations (if any).</p>
      *
@@ -55,14 +55,14 @@ public class Location implements Cloneable {
 
     /**
      * <p>This method overrides the default clone method implementation
-     * for the {@link Location} class.</p>
+     * for the {@link Location} class. A {@link Location} can't be modified
+     * after it is created, so there is no need to make a copy.</p>
      *
-     * @return A deep copy of the object.
+     * @return The object itself.
      */
     @Override
     public final Location clone() {
-        return new Location(myFile, myPosition.myCurrline,
-                myPosition.myCurrColumn);
+        return this;
     }
 
     /**
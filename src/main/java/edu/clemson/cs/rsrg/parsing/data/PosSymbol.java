@@ -142,13 +142,14 @@ public class PosSymbol implements BasicCapabilities {
      * <p>This method overrides the default {@code hashCode} method implementation
      * for the {@code PosSymbol} class.</p>
      *
+     * <p>Note that {@link #equals(Object)} only compares the symbols,
+     * so the location can't be part of the hash code.</p>
+     *
      * @return The hash code associated with the object.
      */
     @Override
     public final int hashCode() {
-        int result = myLocation != null ? myLocation.hashCode() : 0;
-        result = 31 * result + mySymbol.hashCode();
-        return result;
+        return mySymbol.hashCode();
     }
 
     /**
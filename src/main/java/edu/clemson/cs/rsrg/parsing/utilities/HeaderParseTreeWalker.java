@@ -0,0 +1,62 @@
+/*
+ * HeaderParseTreeWalker.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.parsing.utilities;
+
+import edu.clemson.cs.rsrg.parsing.ResolveParser;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+
+/**
+ * <p>A {@link ParseTreeWalker} that never visits the statements in a parse
+ * tree. When a module is only imported by other modules, we only need the
+ * signatures of its operations, procedures and types, so walking its
+ * procedure bodies is a waste of time and memory.</p>
+ *
+ * <p>This walker must be used together with a {@code TreeBuildingListener}
+ * that was created in header only mode, since the listener would otherwise
+ * expect to find the representation for every statement.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class HeaderParseTreeWalker extends ParseTreeWalker {
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /** <p>A shared instance of this walker. This walker has no state.</p> */
+    public static final HeaderParseTreeWalker INSTANCE =
+            new HeaderParseTreeWalker();
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Performs a walk on the given parse tree starting at the root
+     * and going down recursively with depth-first search, skipping
+     * any statement nodes.</p>
+     *
+     * @param listener The listener that is notified of the visited nodes.
+     * @param t The parse tree to be walked.
+     */
+    @Override
+    public void walk(ParseTreeListener listener, ParseTree t) {
+        if (!(t instanceof ResolveParser.StmtContext)) {
+            super.walk(listener, t);
+        }
+    }
+
+}
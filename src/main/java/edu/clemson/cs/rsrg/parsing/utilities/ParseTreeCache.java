@@ -0,0 +1,181 @@
+/*
+ * ParseTreeCache.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.parsing.utilities;
+
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * <p>A bounded, in-memory cache of error free ANTLR4 parse trees keyed by
+ * the source file and a hash of its contents. Nothing is written to disk, so
+ * the cache only lives as long as the JVM. A single command line compilation
+ * parses every file once and never finds a cached tree. Only processes that
+ * run several jobs (e.g. the {@code CompilerDaemon} or the WebIDE/WebAPI)
+ * benefit from it.</p>
+ *
+ * <p>Lexing and parsing is the expensive part of building a module's AST.
+ * A parse tree doesn't depend on the type graph (the
+ * {@code TreeBuildingListener} supplies it when it walks the tree), so the
+ * same parse tree can be walked again to build a fresh {@code ModuleDec}
+ * every time an unchanged file is imported. The tokens in a parse tree do
+ * keep a reference to the {@link ResolveFile} that was parsed, which is
+ * why a tree is only reused for a file with the same name and path.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class ParseTreeCache {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The cached parse trees, in least recently used order.</p> */
+    private final Map<String, ParserRuleContext> myParseTrees;
+
+    /** <p>The number of lookups that found a parse tree.</p> */
+    private long myHitCount;
+
+    /** <p>The number of lookups that did not find a parse tree.</p> */
+    private long myMissCount;
+
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /** <p>The charset used to compute the content hash.</p> */
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /** <p>The hexadecimal digits used to print the content hash.</p> */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates a cache that holds at most
+     * {@code maxEntries} parse trees.</p>
+     *
+     * @param maxEntries Maximum number of cached parse trees.
+     */
+    public ParseTreeCache(final int maxEntries) {
+        myParseTrees =
+                new LinkedHashMap<String, ParserRuleContext>(16, 0.75f, true) {
+
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<String, ParserRuleContext> eldest) {
+                        return size() > maxEntries;
+                    }
+                };
+        myHitCount = 0;
+        myMissCount = 0;
+    }
+
+    // ===========================================================
+    // Public Methods
+    // ===========================================================
+
+    /**
+     * <p>Computes the cache key for the contents of a
+     * {@link CharStream}. This does not consume the stream.</p>
+     *
+     * @param input The input stream for a file.
+     *
+     * @return A string containing the hash of the stream's contents.
+     */
+    public static String computeKey(CharStream input) {
+        String text = input.getText(Interval.of(0, input.size() - 1));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(text.getBytes(UTF8));
+
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+                hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xF];
+            }
+
+            return new String(hex);
+        }
+        catch (NoSuchAlgorithmException nsae) {
+            throw new MiscErrorException(nsae.getMessage(), nsae);
+        }
+    }
+
+    /**
+     * <p>Computes the cache key for a {@link ResolveFile}. Two files only
+     * have the same key if they have the same name, path and contents.</p>
+     *
+     * @param file A RESOLVE file.
+     *
+     * @return A string containing the file's name, path and
+     * the hash of its contents.
+     */
+    public static String computeKey(ResolveFile file) {
+        return file.toString() + ":" + file.getCreatedJarPath() + ":"
+                + computeKey(file.getInputStream());
+    }
+
+    /**
+     * <p>Returns the parse tree associated with the key.</p>
+     *
+     * @param key A key obtained from {@link #computeKey(ResolveFile)}.
+     *
+     * @return The cached parse tree or {@code null} if there isn't one.
+     */
+    public final synchronized ParserRuleContext get(String key) {
+        ParserRuleContext result = myParseTrees.get(key);
+        if (result == null) {
+            myMissCount++;
+        }
+        else {
+            myHitCount++;
+        }
+
+        return result;
+    }
+
+    /**
+     * <p>Stores a parse tree. The caller must make sure that the tree
+     * was parsed without any errors.</p>
+     *
+     * @param key A key obtained from {@link #computeKey(ResolveFile)}.
+     * @param parseTree The parse tree for the file's contents.
+     */
+    public final synchronized void put(String key, ParserRuleContext parseTree) {
+        myParseTrees.put(key, parseTree);
+    }
+
+    /**
+     * <p>This method returns the cache statistics in string format.</p>
+     *
+     * @return The statistics as a string.
+     */
+    @Override
+    public final synchronized String toString() {
+        return "In-memory Parse Tree Cache: " + myParseTrees.size()
+                + " entries, " + myHitCount + " hits, " + myMissCount
+                + " misses";
+    }
+
+}
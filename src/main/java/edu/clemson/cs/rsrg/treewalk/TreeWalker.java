@@ -14,19 +14,25 @@ package edu.clemson.cs.rsrg.treewalk;
 
 import edu.clemson.cs.rsrg.absyn.ResolveConceptualElement;
 import edu.clemson.cs.rsrg.absyn.VirtualListNode;
-import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>The {@code TreeWalker} is used to apply the visitor pattern to the
  * RESOLVE abstract syntax tree. The visitor logic is implemented as a
  * {@link TreeWalkerVisitor} or as a {@link TreeWalkerStackVisitor}.</p>
  *
+ * <p>The visitor methods are located using reflection. Since every pass over
+ * the AST visits the same kinds of nodes over and over again, the methods we
+ * find for each visitor class are cached, so each lookup is only done
+ * once.</p>
+ *
  * @author Blair Durkee
  * @author Yu-Shan Sun
  * @author Daniel Welch
@@ -34,6 +40,17 @@ import java.util.List;
  */
 public class TreeWalker {
 
+    // ===========================================================
+    // Objects
+    // ===========================================================
+
+    /**
+     * <p>The visitor methods that we have located so far
+     * for each visitor class.</p>
+     */
+    private static final ConcurrentMap<Class<?>, VisitorMethodTable> METHOD_TABLES =
+            new ConcurrentHashMap<>();
+
     // ===========================================================
     // Public Methods
     // ===========================================================
@@ -54,10 +71,12 @@ public class TreeWalker {
     public static void visit(TreeWalkerVisitor visitor,
             ResolveConceptualElement e) {
         if (e != null) {
+            VisitorMethodTable table = getMethodTable(visitor);
+
             // are we overriding the walking for this element?
-            if (!walkOverride(visitor, e)) {
+            if (!walkOverride(visitor, table, e)) {
                 // invoke the "pre" visitor method(s)
-                invokeVisitorMethods(visitor, "pre", e);
+                invokeVisitorMethods(visitor, table, MethodType.PRE, e);
 
                 List<ResolveConceptualElement> children = e.getChildren();
                 if (children.size() > 0) {
@@ -68,14 +87,15 @@ public class TreeWalker {
                     while (iter.hasNext()) {
                         prevChild = nextChild;
                         nextChild = iter.next();
-                        invokeVisitorMethods(visitor, "mid", e, prevChild,
-                                nextChild);
+                        invokeVisitorMethods(visitor, table, MethodType.MID, e,
+                                prevChild, nextChild);
                         visit(visitor, nextChild);
                     }
-                    invokeVisitorMethods(visitor, "mid", e, nextChild, null);
+                    invokeVisitorMethods(visitor, table, MethodType.MID, e,
+                            nextChild, null);
                 }
                 // invoke the "post" visitor method(s)
-                invokeVisitorMethods(visitor, "post", e);
+                invokeVisitorMethods(visitor, table, MethodType.POST, e);
             }
         }
     }
@@ -84,110 +104,97 @@ public class TreeWalker {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>Returns the cached visitor methods for the visitor's class,
+     * creating an empty table if this is the first time we see it.</p>
+     *
+     * @param visitor An instance of {@link TreeWalkerVisitor}.
+     *
+     * @return The {@link VisitorMethodTable} for the visitor's class.
+     */
+    private static VisitorMethodTable getMethodTable(TreeWalkerVisitor visitor) {
+        Class<?> visitorClass = visitor.getClass();
+        VisitorMethodTable table = METHOD_TABLES.get(visitorClass);
+        if (table == null) {
+            VisitorMethodTable newTable = new VisitorMethodTable(visitorClass);
+            table = METHOD_TABLES.putIfAbsent(visitorClass, newTable);
+            if (table == null) {
+                table = newTable;
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * <p>Invokes a visitor method and returns its result.</p>
+     *
+     * @param visitor An instance of {@link TreeWalkerVisitor} which implements
+     *                visit methods to be applied to nodes of the RESOLVE AST.
+     * @param visitorMethod The visitor method to be invoked.
+     * @param args The arguments to the visitor method.
+     *
+     * @return The object returned by the visitor method.
+     */
+    private static Object invokeVisitorMethod(TreeWalkerVisitor visitor,
+            Method visitorMethod, Object[] args) {
+        Class<?> currentClass = visitorMethod.getParameterTypes()[0];
+        try {
+            return visitorMethod.invoke(visitor, args);
+        }
+        catch (IllegalAccessException iae) {
+            throw new RuntimeException("Error accessing class: " + currentClass.getSimpleName(), iae);
+        }
+        catch (InvocationTargetException ite) {
+            //An exception was thrown inside the corresponding walk method
+            Throwable throwable = ite.getTargetException();
+            while (throwable instanceof RuntimeException && throwable.getCause() != null) {
+                throwable = throwable.getCause();
+            }
+
+            throw new RuntimeException("Target invocation error for class: " + currentClass.getSimpleName(), throwable);
+        }
+    }
+
     /**
      * <p>Invokes each of the visitor methods on the various different
      * {@link ResolveConceptualElement}s.</p>
      *
      * @param visitor An instance of {@link TreeWalkerVisitor} which implements
      *                visit methods to be applied to nodes of the RESOLVE AST.
-     * @param prefix Prefix string for the current walking method.
+     * @param table The cached visitor methods for the visitor's class.
+     * @param type The kind of visitor method we are invoking.
      * @param e The node to walk.
      */
-    private static void invokeVisitorMethods(TreeWalkerVisitor visitor, String prefix,
+    private static void invokeVisitorMethods(TreeWalkerVisitor visitor,
+            VisitorMethodTable table, MethodType type,
             ResolveConceptualElement... e) {
-        boolean pre = prefix.equals("pre"), post = prefix.equals("post"), mid =
-                prefix.equals("mid"), list = (e[0] instanceof VirtualListNode);
-
         // Invoke generic visitor methods (preAny, postAny)
-        if (pre) {
+        if (type == MethodType.PRE) {
             visitor.preAny(e[0]);
         }
 
-        // Get the heirarchy of classes from which this node inherits
-        // e.g., [ConceptModuleDec, ModuleDec, Dec, ResolveConceptualElement]
-        Class<?> elementClass = e[0].getClass();
-        List<Class<?>> classHierarchy = new ArrayList<>();
+        // Obtain the proper visitor methods. Virtual list nodes
+        // are visited using their parent.
+        Method[] visitorMethods;
+        ResolveConceptualElement[] args = e;
+        if (e[0] instanceof VirtualListNode) {
+            VirtualListNode listNode = (VirtualListNode) e[0];
+            visitorMethods = table.getListNodeMethods(type, listNode);
 
-        if (list) {
-            classHierarchy.add(((VirtualListNode) e[0]).getParent().getClass());
-        }
-        else if (pre || post) {
-            while (elementClass != ResolveConceptualElement.class) {
-                if (post) {
-                    classHierarchy.add(elementClass);
-                }
-                else {
-                    classHierarchy.add(0, elementClass);
-                }
-                elementClass = elementClass.getSuperclass();
-            }
+            args = Arrays.copyOf(e, e.length);
+            args[0] = listNode.getParent();
         }
         else {
-            classHierarchy.add(elementClass);
+            visitorMethods = table.getMethods(type, e[0].getClass());
         }
 
-        // Iterate over the class hierarchy
-        Iterator<Class<?>> iter = classHierarchy.iterator();
-        while (iter.hasNext()) {
-            Class<?> currentClass = iter.next();
-
-            // Construct name of method
-            String className, methodName;
-            if (!list) {
-                className = currentClass.getSimpleName();
-            }
-            else {
-                className = ((VirtualListNode) e[0]).getNodeName();
-            }
-            methodName = prefix + className;
-
-            ResolveConceptualElement[] parent = Arrays.copyOf(e, e.length);
-            // Get parent and child types if this is a list node
-            Class<?> paramType = ResolveConceptualElement.class;
-            if (list) {
-                paramType = ((VirtualListNode) e[0]).getListType();
-                parent[0] = ((VirtualListNode) e[0]).getParent();
-            }
-
-            // Now try to obtain the proper visitor method
-            try {
-                Method visitorMethod;
-                if (pre || post) { // pre and post methods
-                    visitorMethod =
-                            visitor.getClass().getMethod(methodName,
-                                    currentClass);
-                }
-                else { // mid methods
-                    visitorMethod =
-                            visitor.getClass().getMethod(methodName,
-                                    currentClass, paramType, paramType);
-                }
-
-                // Invoking the visitor method now!!!
-                visitorMethod.invoke(visitor, (Object[]) parent);
-            }
-            catch (NoSuchMethodException nsme) {
-                //This is fine if we're dealing with a virtual node, otherwise
-                //it shouldn't be possible
-                if (!list) {
-                    throw new RuntimeException("Cannot locate method", nsme);
-                }
-            }
-            catch (IllegalAccessException iae) {
-                throw new RuntimeException("Error accessing class: " + currentClass.getSimpleName(), iae);
-            }
-            catch (InvocationTargetException ite) {
-                //An exception was thrown inside the corresponding walk method
-                Throwable throwable = ite.getTargetException();
-                while (throwable instanceof RuntimeException && throwable.getCause() != null) {
-                    throwable = throwable.getCause();
-                }
-
-                throw new RuntimeException("Target invocation error for class: " + currentClass.getSimpleName(), throwable);
-            }
+        // Invoking the visitor methods now!!!
+        for (Method visitorMethod : visitorMethods) {
+            invokeVisitorMethod(visitor, visitorMethod, args);
         }
 
-        if (post) {
+        if (type == MethodType.POST) {
             visitor.postAny(e[0]);
         }
     }
@@ -198,52 +205,242 @@ public class TreeWalker {
      *
      * @param visitor An instance of {@link TreeWalkerVisitor} which implements
      *                visit methods to be applied to nodes of the RESOLVE AST.
+     * @param table The cached visitor methods for the visitor's class.
      * @param e Current element that we are walking.
      *
      * @return {@code true} if override exists, {@code false} otherwise.
      */
-    private static boolean walkOverride(TreeWalkerVisitor visitor, ResolveConceptualElement e) {
-        Class<?> elementClass = e.getClass();
-        List<Class<?>> classHierarchy = new ArrayList<>();
-        while (elementClass != ResolveConceptualElement.class) {
-            classHierarchy.add(0, elementClass);
-            elementClass = elementClass.getSuperclass();
+    private static boolean walkOverride(TreeWalkerVisitor visitor,
+            VisitorMethodTable table, ResolveConceptualElement e) {
+        Object[] args = { e };
+        boolean foundOverride = false;
+        Method[] walkMethods = table.getMethods(MethodType.WALK, e.getClass());
+        for (int i = 0; i < walkMethods.length && !foundOverride; i++) {
+            foundOverride =
+                    ((Boolean) invokeVisitorMethod(visitor, walkMethods[i],
+                            args));
         }
 
-        boolean foundOverride = false;
-        Iterator<Class<?>> iter = classHierarchy.iterator();
-        while (iter.hasNext() && !foundOverride) {
-            Class<?> c = iter.next();
+        return foundOverride;
+    }
 
-            if (!c.equals(VirtualListNode.class)) {
-                String walkMethodName = "walk" + c.getSimpleName();
-                try {
-                    Method walkMethod =
-                            visitor.getClass().getMethod(walkMethodName,
-                                    c);
-                    foundOverride =
-                            ((Boolean) walkMethod.invoke(visitor, e));
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>The different kinds of visitor methods.</p>
+     */
+    private enum MethodType {
+        PRE("pre"), MID("mid"), POST("post"), WALK("walk");
+
+        /** <p>The prefix for the visitor method names.</p> */
+        final String prefix;
+
+        /**
+         * <p>This creates a visitor method kind.</p>
+         *
+         * @param prefix The prefix for the visitor method names.
+         */
+        MethodType(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * <p>An helper class that caches the visitor methods of a visitor class,
+     * so we only need to look them up the first time we visit a node of a
+     * particular class. This is safe to use by multiple threads.</p>
+     */
+    private static class VisitorMethodTable {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The visitor class.</p> */
+        private final Class<?> myVisitorClass;
+
+        /**
+         * <p>For each {@link MethodType}, the methods to be invoked
+         * for each node class.</p>
+         */
+        private final List<ConcurrentMap<Class<?>, Method[]>> myNodeMethods;
+
+        /**
+         * <p>For each {@link MethodType}, the methods to be invoked for each
+         * virtual list node (identified by its parent class, name and
+         * list type).</p>
+         */
+        private final List<ConcurrentMap<List<Object>, Method[]>> myListNodeMethods;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates an empty table for the visitor class.</p>
+         *
+         * @param visitorClass The visitor class.
+         */
+        VisitorMethodTable(Class<?> visitorClass) {
+            myVisitorClass = visitorClass;
+            myNodeMethods = new ArrayList<>(MethodType.values().length);
+            myListNodeMethods = new ArrayList<>(MethodType.values().length);
+            for (int i = 0; i < MethodType.values().length; i++) {
+                myNodeMethods.add(new ConcurrentHashMap<Class<?>, Method[]>());
+                myListNodeMethods
+                        .add(new ConcurrentHashMap<List<Object>, Method[]>());
+            }
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the visitor methods to be invoked for a virtual list
+         * node. These are optional, so the result might be empty.</p>
+         *
+         * @param type The kind of visitor method.
+         * @param listNode A virtual list node.
+         *
+         * @return The visitor methods in the order they must be invoked.
+         */
+        final Method[] getListNodeMethods(MethodType type,
+                VirtualListNode listNode) {
+            Class<?> parentClass = listNode.getParent().getClass();
+            List<Object> key =
+                    Arrays.<Object> asList(parentClass, listNode.getNodeName(),
+                            listNode.getListType());
+
+            ConcurrentMap<List<Object>, Method[]> methods =
+                    myListNodeMethods.get(type.ordinal());
+            Method[] result = methods.get(key);
+            if (result == null) {
+                String methodName = type.prefix + listNode.getNodeName();
+                Class<?> paramType = listNode.getListType();
+
+                Method visitorMethod;
+                if (type == MethodType.MID) {
+                    visitorMethod =
+                            findMethod(methodName, parentClass, paramType,
+                                    paramType);
+                }
+                else {
+                    visitorMethod = findMethod(methodName, parentClass);
                 }
-                catch (NoSuchMethodException nsme) {
-                    //Shouldn't be possible
-                    throw new RuntimeException("Cannot locate method: " + walkMethodName, nsme);
+
+                if (visitorMethod == null) {
+                    //This is fine if we're dealing with a virtual node
+                    result = new Method[0];
+                }
+                else {
+                    result = new Method[] { visitorMethod };
                 }
-                catch (IllegalAccessException iae) {
-                    //Shouldn't be possible
-                    throw new RuntimeException("Error accessing class: " + c.getSimpleName(), iae);
+                methods.putIfAbsent(key, result);
+            }
+
+            return result;
+        }
+
+        /**
+         * <p>Returns the visitor methods to be invoked for a node class.
+         * The pre and walk methods are ordered from the most general to
+         * the most specific class in the hierarchy, the post methods
+         * are in the opposite order and there is only one mid method.</p>
+         *
+         * @param type The kind of visitor method.
+         * @param elementClass The node's class.
+         *
+         * @return The visitor methods in the order they must be invoked.
+         */
+        final Method[] getMethods(MethodType type, Class<?> elementClass) {
+            ConcurrentMap<Class<?>, Method[]> methods =
+                    myNodeMethods.get(type.ordinal());
+            Method[] result = methods.get(elementClass);
+            if (result == null) {
+                // Get the heirarchy of classes from which this node inherits
+                // e.g., [ConceptModuleDec, ModuleDec, Dec, ResolveConceptualElement]
+                List<Class<?>> classHierarchy = new ArrayList<>();
+                if (type == MethodType.MID) {
+                    classHierarchy.add(elementClass);
                 }
-                catch (InvocationTargetException ite) {
-                    //An exception was thrown inside the corresponding walk method
-                    Throwable throwable = ite.getTargetException();
-                    while (throwable instanceof RuntimeException && throwable.getCause() != null) {
-                        throwable = throwable.getCause();
+                else {
+                    Class<?> currentClass = elementClass;
+                    while (currentClass != ResolveConceptualElement.class) {
+                        if (type == MethodType.POST) {
+                            classHierarchy.add(currentClass);
+                        }
+                        else if (type == MethodType.PRE
+                                || !currentClass.equals(VirtualListNode.class)) {
+                            classHierarchy.add(0, currentClass);
+                        }
+                        currentClass = currentClass.getSuperclass();
+                    }
+                }
+
+                List<Method> visitorMethods = new ArrayList<>(classHierarchy.size());
+                for (Class<?> currentClass : classHierarchy) {
+                    String methodName = type.prefix + currentClass.getSimpleName();
+
+                    Method visitorMethod;
+                    if (type == MethodType.MID) {
+                        visitorMethod =
+                                findMethod(methodName, currentClass,
+                                        ResolveConceptualElement.class,
+                                        ResolveConceptualElement.class);
+                    }
+                    else {
+                        visitorMethod = findMethod(methodName, currentClass);
+                    }
+
+                    if (visitorMethod == null) {
+                        //Shouldn't be possible
+                        throw new RuntimeException("Cannot locate method: " + methodName,
+                                new NoSuchMethodException(myVisitorClass.getName() + "." + methodName));
                     }
+                    visitorMethods.add(visitorMethod);
+                }
+
+                result = visitorMethods.toArray(new Method[visitorMethods.size()]);
+                methods.putIfAbsent(elementClass, result);
+            }
 
-                    throw new RuntimeException("Target invocation error for class: " + c.getSimpleName(), throwable);
+            return result;
+        }
+
+        // ===========================================================
+        // Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Locates a public method in the visitor class.</p>
+         *
+         * @param methodName Name of the method.
+         * @param parameterTypes The method's parameter types.
+         *
+         * @return The method or {@code null} if there isn't one.
+         */
+        private Method findMethod(String methodName, Class<?>... parameterTypes) {
+            try {
+                Method visitorMethod =
+                        myVisitorClass.getMethod(methodName, parameterTypes);
+
+                // Skip the access checks every time we invoke it
+                try {
+                    visitorMethod.setAccessible(true);
                 }
+                catch (SecurityException se) {
+                    // We can still invoke it with the access checks
+                }
+
+                return visitorMethod;
+            }
+            catch (NoSuchMethodException nsme) {
+                return null;
             }
         }
 
-        return foundOverride;
     }
-}
\ No newline at end of file
+}
@@ -123,6 +123,14 @@ public class Populator extends TreeWalkerVisitor {
     private final TypeComparison<Exp, MTType> INEXACT_PARAMETER_MATCH =
             new InexactParameterMatch();
 
+    /**
+     * <p>The functions we have already matched using an exact domain match
+     * in each scope. See {@link #isCacheableFunctionApplication(AbstractFunctionExp)}
+     * for the function applications we can remember.</p>
+     */
+    private final Map<ScopeBuilder, IntendedFunctionCache> myIntendedFunctionCaches =
+            new IdentityHashMap<>();
+
     // -----------------------------------------------------------
     // Operation Declaration-Related
     // -----------------------------------------------------------
@@ -317,8 +325,37 @@ public class Populator extends TreeWalkerVisitor {
      */
     @Override
     public final void postAny(ResolveConceptualElement e) {
+        // Replace the types with their canonical instances, so we only keep
+        // one copy of each type and most types can be compared by reference.
+        if (e instanceof Exp) {
+            Exp eExp = (Exp) e;
+            MTType canonicalType =
+                    myTypeGraph.getCanonicalType(eExp.getMathType());
+            if (canonicalType != eExp.getMathType()) {
+                eExp.setMathType(canonicalType);
+            }
+
+            MTType canonicalTypeValue =
+                    myTypeGraph.getCanonicalType(eExp.getMathTypeValue());
+            if (canonicalTypeValue != eExp.getMathTypeValue()) {
+                eExp.setMathTypeValue(canonicalTypeValue);
+            }
+        }
+
         if (e instanceof Ty) {
             Ty eTy = (Ty) e;
+            MTType canonicalType =
+                    myTypeGraph.getCanonicalType(eTy.getMathType());
+            if (canonicalType != eTy.getMathType()) {
+                eTy.setMathType(canonicalType);
+            }
+
+            MTType canonicalTypeValue =
+                    myTypeGraph.getCanonicalType(eTy.getMathTypeValue());
+            if (canonicalTypeValue != eTy.getMathTypeValue()) {
+                eTy.setMathTypeValue(canonicalTypeValue);
+            }
+
             if (eTy.getMathTypeValue() == null) {
                 throw new NullMathTypeException(
                         "Ty "
@@ -1127,6 +1164,10 @@ public class Populator extends TreeWalkerVisitor {
                 myTypeGraph.addRelationship(bindingExpression, typeExp
                         .getMathTypeValue(), condition, myBuilder
                         .getInnermostActiveScope());
+
+                // The new relationship might change how the schematic
+                // types in a function's domain get bound.
+                myIntendedFunctionCaches.clear();
             }
             catch (IllegalArgumentException iae) {
                 throw new SourceErrorException(iae.getMessage(), dec
@@ -3332,7 +3373,8 @@ public class Populator extends TreeWalkerVisitor {
 
     /**
      * <p>For a given {@link AbstractFunctionExp}, finds the entry in the
-     * symbol table to which it refers.</p>
+     * symbol table to which it refers. Exact domain matches are remembered
+     * for each scope until a new entry is added to the scope.</p>
      *
      * @param e The expression we are searching for.
      *
@@ -3344,10 +3386,72 @@ public class Populator extends TreeWalkerVisitor {
         PosSymbol eOperator = e.getOperatorAsPosSymbol();
         String eOperatorString = eOperator.getName();
 
+        // Check to see if we have already matched an application of the
+        // same function with the same argument types in this scope.
+        ScopeBuilder scope = myBuilder.getInnermostActiveScope();
+        IntendedFunctionCache cache = null;
+        IntendedFunctionKey cacheKey = null;
+        MathSymbolEntry intendedEntry = null;
+        if (isCacheableFunctionApplication(e)) {
+            cache = myIntendedFunctionCaches.get(scope);
+            if (cache == null) {
+                cache = new IntendedFunctionCache();
+                myIntendedFunctionCaches.put(scope, cache);
+            }
+
+            cacheKey =
+                    new IntendedFunctionKey(e.getQualifier(), eOperatorString,
+                            eType);
+            intendedEntry =
+                    cache.get(cacheKey, scope.getModificationCount());
+            if (intendedEntry != null) {
+                myCompileEnvironment.getMetrics().incrementCounter(
+                        "populator.intendedFunction.cacheHit");
+            }
+            else {
+                myCompileEnvironment.getMetrics().incrementCounter(
+                        "populator.intendedFunction.cacheMiss");
+            }
+        }
+
+        if (intendedEntry == null) {
+            intendedEntry = getIntendedFunction(e, eType, scope, cache, cacheKey);
+        }
+
+        if (intendedEntry.getDefiningElement() == myCurrentDirectDefinition) {
+            throw new SourceErrorException("Direct definition cannot "
+                    + "contain recursive call.", e.getLocation());
+        }
+
+        MTFunction intendedEntryType = (MTFunction) intendedEntry.getType();
+
+        emitDebug(e.getLocation(), "\tMatching " + eOperatorString + " : " + eType
+                + " to " + intendedEntry.getName() + " : " + intendedEntryType
+                + ".");
+
+        return intendedEntry;
+    }
+
+    /**
+     * <p>Searches the symbol table for the entry to which an
+     * {@link AbstractFunctionExp} refers, trying an exact domain match,
+     * an inexact domain match and a match with the schematic types
+     * replaced, in that order.</p>
+     *
+     * @param e The expression we are searching for.
+     * @param eType The expression's conservative pre-application type.
+     * @param scope The innermost active scope.
+     * @param cache The cache for {@code scope} or {@code null} if
+     *              we can't remember the match for {@code e}.
+     * @param cacheKey The key for {@code e} in {@code cache} or {@code null}.
+     *
+     * @return The corresponding {@link MathSymbolEntry}.
+     */
+    private MathSymbolEntry getIntendedFunction(AbstractFunctionExp e, MTFunction eType,
+            ScopeBuilder scope, IntendedFunctionCache cache, IntendedFunctionKey cacheKey) {
         List<MathSymbolEntry> sameNameFunctions =
-                myBuilder.getInnermostActiveScope().query(
-                        new MathFunctionNamedQuery(e.getQualifier(), e
-                                .getOperatorAsPosSymbol()));
+                scope.query(new MathFunctionNamedQuery(e.getQualifier(), e
+                        .getOperatorAsPosSymbol()));
 
         if (sameNameFunctions.isEmpty()) {
             throw new SourceErrorException("No such function.", e.getLocation());
@@ -3356,6 +3460,12 @@ public class Populator extends TreeWalkerVisitor {
         MathSymbolEntry intendedEntry;
         try {
             intendedEntry = getExactDomainTypeMatch(e, eType, sameNameFunctions);
+
+            // An exact domain match only depends on the argument types,
+            // so any other application with the same types matches it too.
+            if (cache != null) {
+                cache.put(cacheKey, intendedEntry);
+            }
         }
         catch (NoSolutionException nse) {
             try {
@@ -3368,7 +3478,7 @@ public class Populator extends TreeWalkerVisitor {
 
                     if (myDefinitionSchematicTypes != null) {
                         // Create a copy of the original expression and assign it the conservative type
-                        AbstractFunctionExp eCopy = (AbstractFunctionExp) e.clone();
+                        AbstractFunctionExp eCopy = (AbstractFunctionExp) e.modifiableClone();
                         eCopy.setMathType(eType);
 
                         // Obtain a new AbstractFunctionExp with the schematic types replaced.
@@ -3423,17 +3533,6 @@ public class Populator extends TreeWalkerVisitor {
             }
         }
 
-        if (intendedEntry.getDefiningElement() == myCurrentDirectDefinition) {
-            throw new SourceErrorException("Direct definition cannot "
-                    + "contain recursive call.", e.getLocation());
-        }
-
-        MTFunction intendedEntryType = (MTFunction) intendedEntry.getType();
-
-        emitDebug(e.getLocation(), "\tMatching " + eOperatorString + " : " + eType
-                + " to " + intendedEntry.getName() + " : " + intendedEntryType
-                + ".");
-
         return intendedEntry;
     }
 
@@ -3633,6 +3732,33 @@ public class Populator extends TreeWalkerVisitor {
         return result;
     }
 
+    /**
+     * <p>Checks to see if the entry that an {@link AbstractFunctionExp}
+     * refers to only depends on the function name, the types of its
+     * arguments and the scope we are in. This isn't the case if one of
+     * the arguments is a type, since the value of the type can be used to
+     * deschematize the function, or if we are inside a definition with
+     * schematic types.</p>
+     *
+     * @param e A function application.
+     *
+     * @return {@code true} if we can remember the entry for {@code e},
+     * {@code false} otherwise.
+     */
+    private boolean isCacheableFunctionApplication(AbstractFunctionExp e) {
+        boolean result =
+                myDefinitionSchematicTypes.isEmpty()
+                        && !(e instanceof FunctionExp && ((FunctionExp) e)
+                                .getCaratExp() != null);
+
+        Iterator<Exp> argumentIt = e.getParameters().iterator();
+        while (result && argumentIt.hasNext()) {
+            result = argumentIt.next().getMathTypeValue() == null;
+        }
+
+        return result;
+    }
+
     /**
      * <p>An helper method that indicates we are leaving a type value node.</p>
      */
@@ -4041,6 +4167,147 @@ public class Populator extends TreeWalkerVisitor {
 
     }
 
+    /**
+     * <p>The functions that have been matched in a scope. The matches are
+     * forgotten as soon as a new entry is added to the scope.</p>
+     */
+    private static class IntendedFunctionCache {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The matched entry for each function application.</p> */
+        private final Map<IntendedFunctionKey, MathSymbolEntry> myEntries =
+                new HashMap<>();
+
+        /** <p>The scope's modification count when the entries were added.</p> */
+        private long myModificationCount = -1;
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the matched entry for a function application.</p>
+         *
+         * @param key The function application.
+         * @param modificationCount The scope's current modification count.
+         *
+         * @return The matched {@link MathSymbolEntry} or {@code null}
+         * if we don't know it.
+         */
+        final MathSymbolEntry get(IntendedFunctionKey key,
+                long modificationCount) {
+            if (modificationCount != myModificationCount) {
+                myEntries.clear();
+                myModificationCount = modificationCount;
+            }
+
+            return myEntries.get(key);
+        }
+
+        /**
+         * <p>Remembers the matched entry for a function application.</p>
+         *
+         * @param key The function application.
+         * @param entry The matched {@link MathSymbolEntry}.
+         */
+        final void put(IntendedFunctionKey key, MathSymbolEntry entry) {
+            myEntries.put(key, entry);
+        }
+
+    }
+
+    /**
+     * <p>A function application, as seen when we are looking for the
+     * function it refers to.</p>
+     */
+    private static class IntendedFunctionKey {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The function qualifier or {@code null} if there isn't one.</p> */
+        private final String myQualifier;
+
+        /** <p>The function name.</p> */
+        private final String myOperator;
+
+        /** <p>The conservative pre-application type.</p> */
+        private final MTFunction myType;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a key for a function application.</p>
+         *
+         * @param qualifier The function qualifier or {@code null}.
+         * @param operator The function name.
+         * @param type The conservative pre-application type.
+         */
+        IntendedFunctionKey(PosSymbol qualifier, String operator,
+                MTFunction type) {
+            if (qualifier == null) {
+                myQualifier = null;
+            }
+            else {
+                myQualifier = qualifier.getName();
+            }
+
+            myOperator = operator;
+            myType = type;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * <p>This method overrides the default {@code equals} method implementation
+         * for the {@code IntendedFunctionKey} class.</p>
+         *
+         * @param o Object to be compared.
+         *
+         * @return {@code true} if all the fields are equal, {@code false} otherwise.
+         */
+        @Override
+        public final boolean equals(Object o) {
+            boolean result = o instanceof IntendedFunctionKey;
+
+            if (result) {
+                IntendedFunctionKey oAsKey = (IntendedFunctionKey) o;
+                result =
+                        (myQualifier == null ? oAsKey.myQualifier == null
+                                : myQualifier.equals(oAsKey.myQualifier))
+                                && myOperator.equals(oAsKey.myOperator)
+                                && myType.equals(oAsKey.myType);
+            }
+
+            return result;
+        }
+
+        /**
+         * <p>This method overrides the default {@code hashCode} method implementation
+         * for the {@code IntendedFunctionKey} class.</p>
+         *
+         * @return The hash code associated with the object.
+         */
+        @Override
+        public final int hashCode() {
+            int result = myOperator.hashCode() * 31 + myType.hashCode();
+            if (myQualifier != null) {
+                result = result * 31 + myQualifier.hashCode();
+            }
+
+            return result;
+        }
+
+    }
+
     /**
      * <p>An helper class that indicates an inexact domain match between an {@link AbstractFunctionExp}
      * and a {@link MTFunction}.</p>
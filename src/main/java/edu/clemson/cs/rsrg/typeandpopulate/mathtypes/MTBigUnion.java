@@ -33,8 +33,11 @@ public class MTBigUnion extends MTAbstract<MTBigUnion> {
     /** <p>An integer value that helps us retrieve the hashcode for this class.</p> */
     private static final int BASE_HASH = "MTBigUnion".hashCode();
 
-    /** <p>A map containing all the quantified variables in this type.</p> */
-    private TreeMap<String, MTType> myQuantifiedVariables;
+    /**
+     * <p>A map containing all the quantified variables in this type. This
+     * is built the first time it is needed, possibly by any thread.</p>
+     */
+    private volatile TreeMap<String, MTType> myQuantifiedVariables;
 
     /**
      * If <code>myQuantifiedVariables</code> is <code>null</code>, then
@@ -48,8 +51,11 @@ public class MTBigUnion extends MTAbstract<MTBigUnion> {
     /** <p>A mapping between indexes and quantified variables.</p> */
     private final Map<Integer, String> myComponentIndexes = new HashMap<>();
 
-    /** <p>List of {@link MTType}s that are in this big union type. </p> */
-    private List<MTType> myComponents;
+    /**
+     * <p>List of {@link MTType}s that are in this big union type. This
+     * is built the first time it is needed, possibly by any thread.</p>
+     */
+    private volatile List<MTType> myComponents;
 
     // ===========================================================
     // Constructors
@@ -160,30 +166,43 @@ public class MTBigUnion extends MTAbstract<MTBigUnion> {
      */
     @Override
     public final List<MTType> getComponentTypes() {
-        if (myComponents == null) {
-            if (myQuantifiedVariables == null) {
-                myComponents =
-                        new ArrayList<>(myUniqueQuantifiedVariableCount);
-
-                for (int i = 0; i < myUniqueQuantifiedVariableCount; i++) {
-                    myComponents.add(myTypeGraph.CLS);
-                }
-            }
-            else {
-                List<MTType> components =
-                        new ArrayList<>(myQuantifiedVariables.size());
-                for (Map.Entry<String, MTType> entry : myQuantifiedVariables
-                        .entrySet()) {
-
-                    myComponentIndexes.put(components.size(), entry.getKey());
-                    components.add(entry.getValue());
+        List<MTType> result = myComponents;
+
+        if (result == null) {
+            synchronized (this) {
+                if (myComponents == null) {
+                    List<MTType> components;
+                    if (myQuantifiedVariables == null) {
+                        components =
+                                new ArrayList<>(
+                                        myUniqueQuantifiedVariableCount);
+
+                        for (int i = 0; i < myUniqueQuantifiedVariableCount; i++) {
+                            components.add(myTypeGraph.CLS);
+                        }
+                    }
+                    else {
+                        components =
+                                new ArrayList<>(myQuantifiedVariables.size());
+                        for (Map.Entry<String, MTType> entry : myQuantifiedVariables
+                                .entrySet()) {
+
+                            myComponentIndexes.put(components.size(), entry
+                                    .getKey());
+                            components.add(entry.getValue());
+                        }
+                        components.add(myExpression);
+                        components = Collections.unmodifiableList(components);
+                    }
+
+                    myComponents = components;
                 }
-                components.add(myExpression);
-                myComponents = Collections.unmodifiableList(components);
+
+                result = myComponents;
             }
         }
 
-        return myComponents;
+        return result;
     }
 
     /**
@@ -316,10 +335,17 @@ public class MTBigUnion extends MTAbstract<MTBigUnion> {
      */
     private void ensureQuantifiedTypes() {
         if (myQuantifiedVariables == null) {
-            myQuantifiedVariables = new TreeMap<>();
+            synchronized (this) {
+                if (myQuantifiedVariables == null) {
+                    TreeMap<String, MTType> quantifiedVariables =
+                            new TreeMap<>();
 
-            for (int i = 0; i < myUniqueQuantifiedVariableCount; i++) {
-                myQuantifiedVariables.put("*" + i, myTypeGraph.CLS);
+                    for (int i = 0; i < myUniqueQuantifiedVariableCount; i++) {
+                        quantifiedVariables.put("*" + i, myTypeGraph.CLS);
+                    }
+
+                    myQuantifiedVariables = quantifiedVariables;
+                }
             }
         }
     }
@@ -326,11 +326,11 @@ public class MTFunctionApplication extends MTAbstract<MTFunctionApplication> {
      */
     @Override
     protected final int getHashCode() {
-        int result = BASE_HASH + myFunction.getHashCode() + myName.hashCode();
+        int result = BASE_HASH + myFunction.hashCode() + myName.hashCode();
 
         for (MTType t : myArguments) {
             result *= 73;
-            result += t.getHashCode();
+            result += t.hashCode();
         }
 
         return result;
@@ -128,6 +128,7 @@ public class MTIntersect extends MTAbstract<MTIntersect> {
      */
     public final void addMember(MTType t) {
         myMembers.add(t);
+        resetHashCode();
     }
 
     /**
@@ -16,9 +16,11 @@ import edu.clemson.cs.rsrg.typeandpopulate.exception.BindingException;
 import edu.clemson.cs.rsrg.typeandpopulate.exception.NoSolutionException;
 import edu.clemson.cs.rsrg.typeandpopulate.exception.TypeMismatchException;
 import edu.clemson.cs.rsrg.typeandpopulate.symboltables.FinalizedScope;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.PerThreadReasoningResources;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
 import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>This abstract class serves as the parent class of all
@@ -35,17 +37,31 @@ public abstract class MTType {
     /** <p>The current type graph object in use.</p> */
     protected final TypeGraph myTypeGraph;
 
-    /** <p>Known alpha equivalent types.</p> */
-    private final Set<Object> myKnownAlphaEquivalencies = new HashSet<>();
+    /**
+     * <p>Known alpha equivalent types. Types are shared between threads,
+     * so this must be safe to update concurrently.</p>
+     */
+    private final Set<Object> myKnownAlphaEquivalencies =
+            Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
 
     /** <p>Known syntactic subtypes.</p> */
     private final Map<MTType, Map<String, MTType>> myKnownSyntacticSubtypeBindings =
-            new HashMap<>();
+            new ConcurrentHashMap<>();
+
+    /**
+     * <p>The hash code for this type. Types don't change once they are
+     * built, so we only compute it the first time it is needed. A value of
+     * {@code 0} means that we haven't computed it yet. Two threads might
+     * both compute it, but they always store the same value.</p>
+     */
+    private int myHashCode = 0;
 
     /**
-     * <p>Allows us to detect if we're getting into an equals-loop.</p>
+     * <p>Indicates that this is the canonical instance of all the types
+     * that are alpha equivalent to it. See
+     * {@link TypeGraph#getCanonicalType(MTType)}.</p>
      */
-    private int myEqualsDepth = 0;
+    private volatile boolean myIsCanonical = false;
 
     // ===========================================================
     // Constructors
@@ -181,46 +197,65 @@ public abstract class MTType {
      */
     @Override
     public final boolean equals(Object o) {
-        myEqualsDepth++;
-
         boolean result;
 
         if (this == o) {
             result = true;
         }
+        else if (!(o instanceof MTType)) {
+            result = false;
+        }
+        else if (myIsCanonical && ((MTType) o).myIsCanonical
+                && myTypeGraph == ((MTType) o).myTypeGraph) {
+            //The type graph never builds two canonical types that are alpha
+            //equivalent, so two different canonical types can't be equal
+            result = false;
+        }
+        else if (hashCode() != o.hashCode()) {
+            //Our hash code is consistent with alpha equivalency
+            result = false;
+        }
         else {
+            PerThreadReasoningResources resources =
+                    myTypeGraph.getThreadResources();
+
             //We only check our cache if we're at the first level of equals
-            //comparison to avoid an infinite recursive loop
-            result =
-                    (myEqualsDepth == 1)
-                            && myKnownAlphaEquivalencies.contains(o);
-
-            if (!result) {
-                try {
-                    //All 'equals' logic should be put into AlphaEquivalencyChecker!
-                    //Don't override equals!
-                    AlphaEquivalencyChecker alphaEq =
-                            myTypeGraph.threadResources.alphaChecker;
-                    alphaEq.reset();
-
-                    alphaEq.visit(this, (MTType) o);
-
-                    result = alphaEq.getResult();
-                }
-                catch (ClassCastException cce) {
-                    result = false;
+            //comparison on this thread to avoid an infinite recursive loop
+            boolean isFirstLevel = resources.typesInEquals.add(this);
+            try {
+                result =
+                        isFirstLevel && myKnownAlphaEquivalencies.contains(o);
+
+                if (!result) {
+                    try {
+                        //All 'equals' logic should be put into AlphaEquivalencyChecker!
+                        //Don't override equals!
+                        AlphaEquivalencyChecker alphaEq =
+                                resources.alphaChecker;
+                        alphaEq.reset();
+
+                        alphaEq.visit(this, (MTType) o);
+
+                        result = alphaEq.getResult();
+                    }
+                    catch (ClassCastException cce) {
+                        result = false;
+                    }
+
+                    //We only cache our answer at the first level to avoid an
+                    //infinite equals loop
+                    if (isFirstLevel && result) {
+                        myKnownAlphaEquivalencies.add(o);
+                    }
                 }
-
-                //We only cache our answer at the first level to avoid an
-                //infinite equals loop
-                if ((myEqualsDepth == 1) && result) {
-                    myKnownAlphaEquivalencies.add(o);
+            }
+            finally {
+                if (isFirstLevel) {
+                    resources.typesInEquals.remove(this);
                 }
             }
         }
 
-        myEqualsDepth--;
-
         return result;
     }
 
@@ -258,12 +293,9 @@ public abstract class MTType {
      */
     public final Map<String, MTType> getSyntacticSubtypeBindings(MTType o)
             throws NoSolutionException {
-        Map<String, MTType> result;
+        Map<String, MTType> result = myKnownSyntacticSubtypeBindings.get(o);
 
-        if (myKnownSyntacticSubtypeBindings.containsKey(o)) {
-            result = myKnownSyntacticSubtypeBindings.get(o);
-        }
-        else {
+        if (result == null) {
             SyntacticSubtypeChecker checker =
                     new SyntacticSubtypeChecker(myTypeGraph);
 
@@ -322,7 +354,13 @@ public abstract class MTType {
      */
     @Override
     public final int hashCode() {
-        return getHashCode();
+        int result = myHashCode;
+        if (result == 0) {
+            result = getHashCode();
+            myHashCode = result;
+        }
+
+        return result;
     }
 
     /**
@@ -334,6 +372,16 @@ public abstract class MTType {
         return (myTypeGraph.BOOLEAN == this);
     }
 
+    /**
+     * <p>Indicates that this type is the canonical instance of all the
+     * types that are alpha equivalent to it.</p>
+     *
+     * @return {@code true} if it is, {@code false} otherwise.
+     */
+    public final boolean isCanonical() {
+        return myIsCanonical;
+    }
+
     /**
      * <p>Indicates that this type is known to contain only elements <em>that
      * are themselves</em> types. Practically, this answers the question, "can
@@ -392,6 +440,29 @@ public abstract class MTType {
         return false;
     }
 
+    /**
+     * <p>Marks this type as the canonical instance of all the types that are
+     * alpha equivalent to it. This should only be called by
+     * {@link TypeGraph#getCanonicalType(MTType)}, once it has made sure that
+     * there isn't another canonical type that is alpha equivalent to this
+     * one.</p>
+     */
+    public final void markAsCanonical() {
+        myIsCanonical = true;
+    }
+
+    /**
+     * <p>Indicates that this type is no longer the canonical instance of
+     * the types that are alpha equivalent to it, so it will be compared
+     * by alpha equivalency again. This should only be called by
+     * {@link TypeGraph#restoreSnapshot(TypeGraph.Snapshot)}, when it
+     * forgets the canonical types it has seen since the snapshot
+     * was created.</p>
+     */
+    public final void unmarkAsCanonical() {
+        myIsCanonical = false;
+    }
+
     /**
      * <p>This method attempts to replace a component type at the specified
      * index.</p>
@@ -450,4 +521,12 @@ public abstract class MTType {
         return super.hashCode();
     }
 
+    /**
+     * <p>Forgets the hash code we computed for this type. This must be called
+     * by any method that changes the components of this type.</p>
+     */
+    final void resetHashCode() {
+        myHashCode = 0;
+    }
+
 }
\ No newline at end of file
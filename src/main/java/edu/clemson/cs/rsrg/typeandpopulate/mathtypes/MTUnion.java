@@ -128,6 +128,7 @@ public class MTUnion extends MTAbstract<MTUnion> {
      */
     public final void addMember(MTType t) {
         myMembers.add(t);
+        resetHashCode();
     }
 
     /**
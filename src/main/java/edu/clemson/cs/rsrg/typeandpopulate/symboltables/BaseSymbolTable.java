@@ -34,6 +34,9 @@ class BaseSymbolTable implements SymbolTable {
     /** <p>The collection of entries grouped by type.</p> */
     private final Map<Class<?>, List<SymbolTableEntry>> myEntriesByType = new HashMap<>();
 
+    /** <p>The number of times an entry has been put into this table.</p> */
+    private int myModificationCount = 0;
+
     // ===========================================================
     // Constructors
     // ===========================================================
@@ -145,6 +148,7 @@ class BaseSymbolTable implements SymbolTable {
     @Override
     public final void put(String name, SymbolTableEntry entry) {
         myEntries.put(name, entry);
+        myModificationCount++;
 
         boolean foundTopLevel = false;
         Class<?> entryClass = entry.getClass();
@@ -201,4 +205,19 @@ class BaseSymbolTable implements SymbolTable {
         return result.toString();
     }
 
-}
\ No newline at end of file
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the number of times an entry has been put into this table.
+     * The count only grows, so it can be used to tell if the table has
+     * changed.</p>
+     *
+     * @return The modification count.
+     */
+    final int getModificationCount() {
+        return myModificationCount;
+    }
+
+}
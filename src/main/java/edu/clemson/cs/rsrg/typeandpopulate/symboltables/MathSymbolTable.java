@@ -21,6 +21,7 @@ import edu.clemson.cs.rsrg.typeandpopulate.exception.NoSuchSymbolException;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -218,9 +219,12 @@ public class MathSymbolTable extends ScopeRepository {
     // Member Fields
     // ===========================================================
 
-    /** <p>A map of non-module scopes.</p> */
+    /**
+     * <p>A map of non-module scopes. The scopes are keyed by the
+     * identity of their defining elements.</p>
+     */
     private final Map<ResolveConceptualElement, FinalizedScope> myScopes =
-            new HashMap<>();
+            new IdentityHashMap<>();
 
     /** <p>A map of module scopes</p> */
     private final Map<ModuleIdentifier, FinalizedModuleScope> myModuleScopes =
@@ -285,7 +289,8 @@ public class MathSymbolTable extends ScopeRepository {
 
     /**
      * <p>Returns the {@link Scope} introduced and bounded by the given
-     * defining element.</p>
+     * defining element. The defining element must be the same object that
+     * was used to open the scope.</p>
      *
      * @param e defining element.
      *
@@ -297,11 +302,12 @@ public class MathSymbolTable extends ScopeRepository {
     @Override
     public final Scope getScope(ResolveConceptualElement e)
             throws NoSuchScopeException {
-        if (!myScopes.containsKey(e)) {
+        FinalizedScope scope = myScopes.get(e);
+        if (scope == null) {
             throw new NoSuchScopeException(e);
         }
 
-        return myScopes.get(e);
+        return scope;
     }
 
     /**
@@ -21,10 +21,7 @@ import edu.clemson.cs.rsrg.typeandpopulate.exception.NoSuchSymbolException;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.HardCoded;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.ModuleIdentifier;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.util.*;
 
 /**
  * <p>A <code>MathSymbolTableBuilder</code> is a factory for producing immutable
@@ -52,9 +49,13 @@ public class MathSymbolTableBuilder extends ScopeRepository {
     private final Deque<ScopeBuilder> myLexicalScopeStack =
             new LinkedList<>();
 
-    /** <p>A map of non-module scope builders.</p> */
+    /**
+     * <p>A map of non-module scope builders. The scopes are keyed by the
+     * identity of their defining elements, since hashing an AST node
+     * hashes its entire subtree.</p>
+     */
     private final Map<ResolveConceptualElement, ScopeBuilder> myScopes =
-            new HashMap<>();
+            new IdentityHashMap<>();
 
     /** <p>A map of module scope builders.</p> */
     private final Map<ModuleIdentifier, ModuleScopeBuilder> myModuleScopes =
@@ -126,6 +127,27 @@ public class MathSymbolTableBuilder extends ScopeRepository {
         return result;
     }
 
+    /**
+     * <p>Captures the modules that have been populated so far, along with
+     * the current state of the {@link TypeGraph}. The snapshot can be passed
+     * to {@link #restoreSnapshot(Snapshot)} to discard everything populated
+     * after this point (e.g. the user's modules), while keeping the scopes
+     * for all the modules in the snapshot (e.g. the library modules).</p>
+     *
+     * @return A {@link Snapshot} of this symbol table.
+     *
+     * @throws IllegalStateException If there are any open scopes.
+     */
+    public final Snapshot createSnapshot() {
+        if (myLexicalScopeStack.size() > 1) {
+            throw new IllegalStateException("There are open scopes.");
+        }
+
+        return new Snapshot(this, new IdentityHashMap<>(myScopes), new HashMap<>(
+                myModuleScopes), myLexicalScopeStack.peek().children(),
+                myTypeGraph.createSnapshot());
+    }
+
     /**
      * <p>Returns the most recently opened, unclosed working scope.</p>
      *
@@ -161,7 +183,8 @@ public class MathSymbolTableBuilder extends ScopeRepository {
 
     /**
      * <p>Returns the {@link Scope} introduced and bounded by the given
-     * defining element.</p>
+     * defining element. The defining element must be the same object that
+     * was used to open the scope.</p>
      *
      * @param e defining element.
      *
@@ -173,11 +196,12 @@ public class MathSymbolTableBuilder extends ScopeRepository {
     @Override
     public final Scope getScope(ResolveConceptualElement e)
             throws NoSuchScopeException {
-        if (!myScopes.containsKey(e)) {
+        ScopeBuilder scope = myScopes.get(e);
+        if (scope == null) {
             throw new NoSuchScopeException(e);
         }
 
-        return myScopes.get(e);
+        return scope;
     }
 
     /**
@@ -191,6 +215,32 @@ public class MathSymbolTableBuilder extends ScopeRepository {
         return myTypeGraph;
     }
 
+    /**
+     * <p>Discards all the scopes and type relationships that were added
+     * after the specified snapshot was created.</p>
+     *
+     * @param snapshot A snapshot created by this symbol table.
+     *
+     * @throws IllegalStateException If there are any open scopes.
+     */
+    public final void restoreSnapshot(Snapshot snapshot) {
+        if (snapshot.mySymbolTable != this) {
+            throw new IllegalArgumentException("Snapshot was created by "
+                    + "another symbol table.");
+        }
+
+        if (myLexicalScopeStack.size() > 1) {
+            throw new IllegalStateException("There are open scopes.");
+        }
+
+        myScopes.clear();
+        myScopes.putAll(snapshot.myScopes);
+        myModuleScopes.clear();
+        myModuleScopes.putAll(snapshot.myModuleScopes);
+        myLexicalScopeStack.peek().restoreChildren(snapshot.myGlobalChildren);
+        myTypeGraph.restoreSnapshot(snapshot.myTypeGraphSnapshot);
+    }
+
     /**
      * <p>Returns an immutable snapshot of the working symbol table represented
      * by this <code>MathSymbolTableBuilder</code> as a <code>MathSymbolTable</code>.</p>
@@ -341,4 +391,74 @@ public class MathSymbolTableBuilder extends ScopeRepository {
         }
     }
 
-}
\ No newline at end of file
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>An immutable record of all the populated module scopes in a
+     * {@link MathSymbolTableBuilder} at some point in time.</p>
+     */
+    public static final class Snapshot {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The symbol table that created this snapshot.</p> */
+        private final MathSymbolTableBuilder mySymbolTable;
+
+        /** <p>A map of non-module scope builders.</p> */
+        private final Map<ResolveConceptualElement, ScopeBuilder> myScopes;
+
+        /** <p>A map of module scope builders.</p> */
+        private final Map<ModuleIdentifier, ModuleScopeBuilder> myModuleScopes;
+
+        /** <p>The children of the global scope.</p> */
+        private final List<ScopeBuilder> myGlobalChildren;
+
+        /** <p>The snapshot of the type graph.</p> */
+        private final TypeGraph.Snapshot myTypeGraphSnapshot;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a snapshot using copies of a symbol table's contents.</p>
+         *
+         * @param symbolTable The symbol table that created this snapshot.
+         * @param scopes A map of non-module scope builders.
+         * @param moduleScopes A map of module scope builders.
+         * @param globalChildren The children of the global scope.
+         * @param typeGraphSnapshot The snapshot of the type graph.
+         */
+        private Snapshot(MathSymbolTableBuilder symbolTable,
+                Map<ResolveConceptualElement, ScopeBuilder> scopes,
+                Map<ModuleIdentifier, ModuleScopeBuilder> moduleScopes,
+                List<ScopeBuilder> globalChildren,
+                TypeGraph.Snapshot typeGraphSnapshot) {
+            mySymbolTable = symbolTable;
+            myScopes = scopes;
+            myModuleScopes = moduleScopes;
+            myGlobalChildren = globalChildren;
+            myTypeGraphSnapshot = typeGraphSnapshot;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the modules whose populated scopes are
+         * part of this snapshot.</p>
+         *
+         * @return A set of {@link ModuleIdentifier ModuleIdentifiers}.
+         */
+        public final Set<ModuleIdentifier> getModules() {
+            return Collections.unmodifiableSet(myModuleScopes.keySet());
+        }
+
+    }
+
+}
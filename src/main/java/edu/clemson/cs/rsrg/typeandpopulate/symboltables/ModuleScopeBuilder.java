@@ -121,6 +121,17 @@ public class ModuleScopeBuilder extends ScopeBuilder implements ModuleScope {
     // Package Private Methods
     // ===========================================================
 
+    /**
+     * <p>Returns a number that changes every time a new entry or
+     * a new import is added to this scope.</p>
+     *
+     * @return The modification count.
+     */
+    @Override
+    final int getLocalModificationCount() {
+        return super.getLocalModificationCount() + myImportedModules.size();
+    }
+
     /**
      * <p>This method seals this scope from further modifications.</p>
      *
@@ -532,6 +532,27 @@ public class ScopeBuilder extends SyntacticScope {
         return entry;
     }
 
+    /**
+     * <p>Returns a number that changes every time a new entry is added to
+     * this scope or to one of the working scopes that enclose it. Anything
+     * we learned by querying this scope is still valid as long as this
+     * number stays the same.</p>
+     *
+     * @return The modification count.
+     */
+    public final long getModificationCount() {
+        long count = 0;
+
+        Scope scope = this;
+        while (scope instanceof ScopeBuilder) {
+            ScopeBuilder scopeAsBuilder = (ScopeBuilder) scope;
+            count += scopeAsBuilder.getLocalModificationCount();
+            scope = scopeAsBuilder.getParent();
+        }
+
+        return count;
+    }
+
     // ===========================================================
     // Package Private Methods
     // ===========================================================
@@ -554,6 +575,26 @@ public class ScopeBuilder extends SyntacticScope {
         return new LinkedList<>(myChildren);
     }
 
+    /**
+     * <p>Returns a number that changes every time a new entry is added
+     * to this scope.</p>
+     *
+     * @return The modification count.
+     */
+    int getLocalModificationCount() {
+        return myBindings.getModificationCount();
+    }
+
+    /**
+     * <p>This method replaces the list of children scope builders.</p>
+     *
+     * @param children A list of {@link ScopeBuilder}.
+     */
+    final void restoreChildren(List<ScopeBuilder> children) {
+        myChildren.clear();
+        myChildren.addAll(children);
+    }
+
     /**
      * <p>This method seals this scope from further modifications.</p>
      *
@@ -51,7 +51,8 @@ public abstract class ScopeRepository {
 
     /**
      * <p>Returns the {@link Scope} introduced and bounded by the given
-     * defining element.</p>
+     * defining element. The defining element must be the same object that
+     * was used to open the scope.</p>
      *
      * @param e defining element.
      *
@@ -243,6 +243,9 @@ public abstract class SyntacticScope extends AbstractScope {
     @Override
     public final <E extends SymbolTableEntry> List<E> query(
             MultimatchSymbolQuery<E> query) {
+        mySource.getTypeGraph().getMetrics().incrementCounter(
+                "symbolTable.query");
+
         return query.searchFromContext(this, mySource);
     }
 
@@ -269,6 +272,8 @@ public abstract class SyntacticScope extends AbstractScope {
     public final <E extends SymbolTableEntry> E queryForOne(SymbolQuery<E> query)
             throws NoSuchSymbolException,
                 DuplicateSymbolException {
+        mySource.getTypeGraph().getMetrics().incrementCounter(
+                "symbolTable.queryForOne");
         List<E> results = query.searchFromContext(this, mySource);
 
         if (results.isEmpty()) {
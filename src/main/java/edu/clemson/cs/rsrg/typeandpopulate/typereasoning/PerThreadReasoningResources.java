@@ -12,7 +12,11 @@
  */
 package edu.clemson.cs.rsrg.typeandpopulate.typereasoning;
 
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
 import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.AlphaEquivalencyChecker;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 /**
  * <p>Type reasoning is used extensively by the prover, where things are done
@@ -20,7 +24,9 @@ import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.AlphaEquivalencyChecker;
  * performance is at a premium and we want to avoid dynamic object creation.
  * At the same time, we can't have a bunch of static variables running around
  * because many of these structures are not thread safe.  This class is 
- * guaranteed not to be shared between threads</p>
+ * guaranteed not to be shared between threads: each {@link TypeGraph}
+ * hands out one instance per thread through
+ * {@link TypeGraph#getThreadResources()}.</p>
  *
  * @version 2.0
  */
@@ -30,4 +36,12 @@ public class PerThreadReasoningResources {
     public final AlphaEquivalencyChecker alphaChecker =
             new AlphaEquivalencyChecker();
 
+    /**
+     * <p>The types whose {@code equals} method is currently running on
+     * this thread. This allows {@link MTType#equals(Object)} to detect if
+     * we're getting into an equals-loop.</p>
+     */
+    public final Set<MTType> typesInEquals =
+            Collections.newSetFromMap(new IdentityHashMap<MTType, Boolean>());
+
 }
\ No newline at end of file
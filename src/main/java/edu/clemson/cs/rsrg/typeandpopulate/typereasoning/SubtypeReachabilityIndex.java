@@ -0,0 +1,227 @@
+/*
+ * SubtypeReachabilityIndex.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.typeandpopulate.typereasoning;
+
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
+import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.relationships.TypeRelationship;
+import java.util.*;
+
+/**
+ * <p>An index over the {@link TypeNode TypeNodes} in a {@link TypeGraph}
+ * that allows us to answer the most common type queries without
+ * searching the graph.</p>
+ *
+ * <p>A {@link TypeRelationship} is <em>unconditional</em> if it says that
+ * every value of a type without any free variables is also in another
+ * type, i.e. it came from a type theorem of the form
+ * {@code For all x : S, x : D}. These relationships compose, so we keep
+ * their transitive closure and can tell if {@code S} is a subtype of
+ * {@code D} with a single lookup.</p>
+ *
+ * <p>All the other relationships need a path search. For those, we keep
+ * track of which nodes have a relationship leaving or entering them, since
+ * no other node can be part of a path.</p>
+ *
+ * <p>An index is never modified once it is built. Adding a relationship
+ * creates a new index, so threads can keep using an index while
+ * the {@link TypeGraph} is being changed.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+final class SubtypeReachabilityIndex {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /**
+     * <p>Every type that is known to be an unconditional supertype of
+     * a type, indexed by that type.</p>
+     */
+    private final Map<MTType, Set<MTType>> myUnconditionalSupertypes;
+
+    /** <p>The types of the nodes that have a relationship leaving them.</p> */
+    private final Set<MTType> mySourceNodes;
+
+    /** <p>The types of the nodes that have a relationship entering them.</p> */
+    private final Set<MTType> myDestinationNodes;
+
+    // ===========================================================
+    // Constructors
+    // ===========================================================
+
+    /**
+     * <p>This creates an index for a graph without any relationships.</p>
+     */
+    SubtypeReachabilityIndex() {
+        this(Collections.<MTType, Set<MTType>> emptyMap(), Collections
+                .<MTType> emptySet(), Collections.<MTType> emptySet());
+    }
+
+    /**
+     * <p>This creates an index with the provided contents.</p>
+     *
+     * @param unconditionalSupertypes The unconditional supertypes of each type.
+     * @param sourceNodes The nodes with a relationship leaving them.
+     * @param destinationNodes The nodes with a relationship entering them.
+     */
+    private SubtypeReachabilityIndex(
+            Map<MTType, Set<MTType>> unconditionalSupertypes,
+            Set<MTType> sourceNodes, Set<MTType> destinationNodes) {
+        myUnconditionalSupertypes = unconditionalSupertypes;
+        mySourceNodes = sourceNodes;
+        myDestinationNodes = destinationNodes;
+    }
+
+    // ===========================================================
+    // Package Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Returns the types of the nodes that have a relationship
+     * entering them.</p>
+     *
+     * @return An unmodifiable set of node types.
+     */
+    final Set<MTType> getDestinationNodes() {
+        return myDestinationNodes;
+    }
+
+    /**
+     * <p>Returns the types of the nodes that have a relationship
+     * leaving them.</p>
+     *
+     * @return An unmodifiable set of node types.
+     */
+    final Set<MTType> getSourceNodes() {
+        return mySourceNodes;
+    }
+
+    /**
+     * <p>Checks to see if every value in {@code subtype} is known to be
+     * in {@code supertype} by following one or more unconditional
+     * relationships.</p>
+     *
+     * @param subtype A mathematical type.
+     * @param supertype Another mathematical type.
+     *
+     * @return {@code true} if {@code supertype} can be reached from
+     * {@code subtype}, {@code false} otherwise.
+     */
+    final boolean isUnconditionalSubtype(MTType subtype, MTType supertype) {
+        Set<MTType> supertypes = myUnconditionalSupertypes.get(subtype);
+
+        return supertypes != null && supertypes.contains(supertype);
+    }
+
+    /**
+     * <p>Returns a new index that also contains a relationship between
+     * two nodes.</p>
+     *
+     * @param sourceNode The type of the node the relationship leaves.
+     * @param destinationNode The type of the node the relationship enters.
+     *
+     * @return The updated index.
+     */
+    final SubtypeReachabilityIndex withRelationship(MTType sourceNode,
+            MTType destinationNode) {
+        return new SubtypeReachabilityIndex(myUnconditionalSupertypes, with(
+                mySourceNodes, sourceNode), with(myDestinationNodes,
+                destinationNode));
+    }
+
+    /**
+     * <p>Returns a new index where every value in {@code subtype} is
+     * known to be in {@code supertype}, along with everything that
+     * follows from it.</p>
+     *
+     * @param subtype The source type of an unconditional relationship.
+     * @param supertype The destination type of an unconditional relationship.
+     *
+     * @return The updated index.
+     */
+    final SubtypeReachabilityIndex withUnconditionalSubtype(MTType subtype,
+            MTType supertype) {
+        // Everything that reaches the subtype now also reaches
+        // the supertype and everything it reaches
+        Set<MTType> newlyReachable = new LinkedHashSet<>();
+        newlyReachable.add(supertype);
+        Set<MTType> supertypeReaches =
+                myUnconditionalSupertypes.get(supertype);
+        if (supertypeReaches != null) {
+            newlyReachable.addAll(supertypeReaches);
+        }
+
+        Map<MTType, Set<MTType>> unconditionalSupertypes =
+                new HashMap<>(myUnconditionalSupertypes);
+        for (Map.Entry<MTType, Set<MTType>> entry : myUnconditionalSupertypes
+                .entrySet()) {
+            if (entry.getKey().equals(subtype)
+                    || entry.getValue().contains(subtype)) {
+                unconditionalSupertypes.put(entry.getKey(), with(entry
+                        .getValue(), newlyReachable));
+            }
+        }
+
+        if (!unconditionalSupertypes.containsKey(subtype)) {
+            unconditionalSupertypes.put(subtype, Collections
+                    .unmodifiableSet(newlyReachable));
+        }
+
+        return new SubtypeReachabilityIndex(Collections
+                .unmodifiableMap(unconditionalSupertypes), mySourceNodes,
+                myDestinationNodes);
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>An helper method that returns a copy of {@code original}
+     * with {@code element} added to it.</p>
+     *
+     * @param original An unmodifiable set.
+     * @param element The element to add.
+     *
+     * @return An unmodifiable set, which is {@code original}
+     * if it already contains {@code element}.
+     */
+    private static Set<MTType> with(Set<MTType> original, MTType element) {
+        return with(original, Collections.singleton(element));
+    }
+
+    /**
+     * <p>An helper method that returns a copy of {@code original}
+     * with all of {@code elements} added to it.</p>
+     *
+     * @param original An unmodifiable set.
+     * @param elements The elements to add.
+     *
+     * @return An unmodifiable set, which is {@code original}
+     * if it already contains all of {@code elements}.
+     */
+    private static Set<MTType> with(Set<MTType> original,
+            Collection<MTType> elements) {
+        Set<MTType> result = original;
+
+        if (!original.containsAll(elements)) {
+            Set<MTType> copy = new LinkedHashSet<>(original);
+            copy.addAll(elements);
+            result = Collections.unmodifiableSet(copy);
+        }
+
+        return result;
+    }
+}
@@ -15,10 +15,11 @@ package edu.clemson.cs.rsrg.typeandpopulate.typereasoning;
 import edu.clemson.cs.rsrg.absyn.expressions.Exp;
 import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.*;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.CompileMetrics;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
-import edu.clemson.cs.rsrg.statushandling.StatusHandler;
 import edu.clemson.cs.rsrg.typeandpopulate.Populator;
 import edu.clemson.cs.rsrg.typeandpopulate.entry.MathSymbolEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.SymbolTableEntry;
 import edu.clemson.cs.rsrg.typeandpopulate.exception.DuplicateSymbolException;
 import edu.clemson.cs.rsrg.typeandpopulate.exception.NoSolutionException;
 import edu.clemson.cs.rsrg.typeandpopulate.exception.NoSuchSymbolException;
@@ -34,11 +35,16 @@ import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.UnboundTypeAccumulator;
 import edu.clemson.cs.rsrg.typeandpopulate.typevisitor.VariableReplacingVisitor;
 import edu.clemson.cs.rsrg.typeandpopulate.utilities.FunctionApplicationFactory;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>Represents a directed graph of types, where edges between types
  * indicate a possible coercion that the type checker can perform.</p>
  *
+ * <p>The graph can be queried by several threads at once. Queries don't
+ * take any locks on their fast paths. Changes to the graph are serialized
+ * and the caches of failed queries are discarded after each change.</p>
+ *
  * @version 2.0
  */
 public class TypeGraph {
@@ -49,12 +55,18 @@ public class TypeGraph {
 
     /**
      * <p>A set of non-thread-safe resources to be used during general type
-     * reasoning. This really doesn't belong here, but anything that's reasoning
-     * about types should already have access to a type graph, and only one type
-     * graph is created per thread, so this is a convenient place to put it.</p>
+     * reasoning for each thread. This really doesn't belong here, but anything
+     * that's reasoning about types should already have access to a type graph,
+     * so this is a convenient place to put it.</p>
      */
-    public final PerThreadReasoningResources threadResources =
-            new PerThreadReasoningResources();
+    private final ThreadLocal<PerThreadReasoningResources> myThreadResources =
+            new ThreadLocal<PerThreadReasoningResources>() {
+
+                @Override
+                protected PerThreadReasoningResources initialValue() {
+                    return new PerThreadReasoningResources();
+                }
+            };
 
     /** <p>A {@link NodePairPathStrategy} for {@link Exp}.</p> */
     private final ExpValuePathStrategy EXP_VALUE_PATH =
@@ -64,27 +76,64 @@ public class TypeGraph {
     private final MTTypeValuePathStrategy MTTYPE_VALUE_PATH =
             new MTTypeValuePathStrategy();
 
+    /**
+     * <p>The canonical instance for each of the mathematical types we have
+     * seen, indexed by themselves. Any type that is alpha equivalent to a key
+     * maps to the same canonical instance.</p>
+     */
+    private final Map<MTType, MTType> myCanonicalTypes =
+            new ConcurrentHashMap<>();
+
     /** <p>This contains all mathematical nodes for this graph.</p> */
-    private final HashMap<MTType, TypeNode> myTypeNodes;
+    private final Map<MTType, TypeNode> myTypeNodes;
 
     /** <p>This contains all established relationships for mathematical subtypes.</p> */
     private final Set<EstablishedRelationship> myEstablishedSubtypes =
-            new HashSet<>();
+            newConcurrentSet();
 
     /** <p>This contains all established relationships for mathematical elements.</p> */
     private final Set<EstablishedRelationship> myEstablishedElements =
-            new HashSet<>();
+            newConcurrentSet();
 
     /**
-     * <p>The current job's compilation environment
-     * that stores all necessary objects and flags.</p>
+     * <p>The number of failed queries we remember in each of
+     * {@link #myRefutedSubtypes} and {@link #myRefutedElements}.</p>
+     */
+    private static final int REFUTED_RELATIONSHIPS_CAPACITY = 4096;
+
+    /**
+     * <p>This contains the most recent subtype relationships that couldn't be
+     * established by searching the graph. They only stay valid until the
+     * graph changes, at which point we start over with a new set. A query
+     * that was still running against the old graph can only update
+     * the old set.</p>
+     */
+    private volatile Set<EstablishedRelationship> myRefutedSubtypes =
+            newBoundedSet(REFUTED_RELATIONSHIPS_CAPACITY);
+
+    /**
+     * <p>This contains the most recent element relationships that couldn't be
+     * established by searching the graph. They only stay valid until the
+     * graph changes, at which point we start over with a new set. A query
+     * that was still running against the old graph can only update
+     * the old set.</p>
+     */
+    private volatile Set<EstablishedRelationship> myRefutedElements =
+            newBoundedSet(REFUTED_RELATIONSHIPS_CAPACITY);
+
+    /**
+     * <p>The unconditional subtype relationships and the nodes that have
+     * relationships in this graph. It is replaced with an updated index
+     * every time the graph changes.</p>
      */
-    private final CompileEnvironment myCompileEnvironment;
+    private volatile SubtypeReachabilityIndex myReachabilityIndex =
+            new SubtypeReachabilityIndex();
 
     /**
-     * <p>This is the status handler for the RESOLVE compiler.</p>
+     * <p>The current job's compilation environment
+     * that stores all necessary objects and flags.</p>
      */
-    private final StatusHandler myStatusHandler;
+    private volatile CompileEnvironment myCompileEnvironment;
 
     // ===========================================================
     // Function Factories
@@ -206,9 +255,18 @@ public class TypeGraph {
      *                           that stores all necessary objects and flags.
      */
     public TypeGraph(CompileEnvironment compileEnvironment) {
-        myTypeNodes = new HashMap<>();
+        myTypeNodes = new ConcurrentHashMap<>();
         myCompileEnvironment = compileEnvironment;
-        myStatusHandler = myCompileEnvironment.getStatusHandler();
+
+        // The global types are the canonical instances of themselves
+        MTType[] globalTypes =
+                { ELEMENT, ENTITY, CLS, SSET, BOOLEAN, R, ATOM, VOID,
+                        EMPTY_CLASS, EMPTY_SET, RECEPTACLES, POWERCLASS,
+                        UNION, INTERSECT, CLS_FUNCTION, CLS_CROSS, POWERSET,
+                        SSET_FUNCTION, SSET_CROSS };
+        for (MTType t : globalTypes) {
+            getCanonicalType(t);
+        }
     }
 
     // ===========================================================
@@ -255,7 +313,7 @@ public class TypeGraph {
      *        <code>bindingExpression</code>, <code>destination</code>, and
      *        <code>bindingCondition</code> should be evaluated.
      */
-    public final void addRelationship(Exp bindingExpression, MTType destination,
+    public final synchronized void addRelationship(Exp bindingExpression, MTType destination,
             Exp bindingCondition, Scope environment) {
         //Sanitize and sanity check our inputs somewhat
         if (destination == null) {
@@ -329,7 +387,24 @@ public class TypeGraph {
         sourceNode.addRelationship(relationship);
 
         // We'd like to force the presence of the destination node
-        getTypeNode(destinationCanonicalResult.canonicalType);
+        TypeNode destinationNode =
+                getTypeNode(destinationCanonicalResult.canonicalType);
+
+        // Update the index before anyone can see the new edge fail
+        SubtypeReachabilityIndex index =
+                myReachabilityIndex.withRelationship(sourceNode.getType(),
+                        destinationNode.getType());
+        if (isUnconditional(bindingExpression, bindingCondition,
+                finalPredicates, sourceCanonicalResult,
+                destinationCanonicalResult)) {
+            index =
+                    index.withUnconditionalSubtype(getCanonicalType(source),
+                            getCanonicalType(destination));
+        }
+        myReachabilityIndex = index;
+
+        // A new edge might give us a path we couldn't find before
+        clearRefutedRelationships();
 
         // Print debugging messages if the flag is on.
         if (myCompileEnvironment.flags.isFlagSet(Populator.FLAG_POPULATOR_DEBUG)) {
@@ -340,8 +415,89 @@ public class TypeGraph {
             sb.append("]:\n");
             sb.append(relationship);
             sb.append("\n\n---------------End New Type Relationship---------------\n");
-            myStatusHandler.info(null, sb.toString());
+            myCompileEnvironment.getStatusHandler().info(null, sb.toString());
+        }
+    }
+
+    /**
+     * <p>Captures the current state of this type graph, so that we can
+     * return to it using {@link #restoreSnapshot(Snapshot)}. This is
+     * usually done once all library modules have been populated, so
+     * that relationships added by user modules can be discarded
+     * without populating the library modules again.</p>
+     *
+     * @return A {@link Snapshot} of this type graph.
+     */
+    public final synchronized Snapshot createSnapshot() {
+        Map<TypeNode, Map<MTType, Set<TypeRelationship>>> relationships =
+                new HashMap<>();
+        for (TypeNode node : myTypeNodes.values()) {
+            relationships.put(node, node.copyRelationships());
+        }
+
+        return new Snapshot(this, new HashMap<>(myCanonicalTypes),
+                new HashMap<>(myTypeNodes), relationships, new HashSet<>(
+                        myEstablishedSubtypes), new HashSet<>(
+                        myEstablishedElements), myReachabilityIndex);
+    }
+
+    /**
+     * <p>Returns the canonical instance of {@code t}. The first time we see
+     * a type, it becomes the canonical instance for itself and all the
+     * types that are alpha equivalent to it, so each type is only kept
+     * once. Canonical types have their hash code computed once and two
+     * different canonical types are never {@code equals}, so they can be
+     * compared by reference.</p>
+     *
+     * <p>Set restrictions aren't alpha equivalent to anything, including
+     * themselves, so types that contain them are returned as is.</p>
+     *
+     * @param t A mathematical type or {@code null}.
+     *
+     * @return The canonical instance of {@code t} or {@code null}
+     * if {@code t} is {@code null}.
+     */
+    public final MTType getCanonicalType(MTType t) {
+        MTType result = t;
+
+        if (t != null && !t.isCanonical() && t.getTypeGraph() == this
+                && !containsSetRestriction(t)) {
+            result = myCanonicalTypes.get(t);
+            if (result == null) {
+                //If another thread got here first, its type wins. Only the
+                //winner may be marked, so we never have two canonical types
+                //that are alpha equivalent
+                result = myCanonicalTypes.putIfAbsent(t, t);
+                if (result == null) {
+                    t.markAsCanonical();
+                    result = t;
+                }
+            }
         }
+
+        return result;
+    }
+
+    /**
+     * <p>Returns the registry that records where the compiler
+     * spends its time, so the symbol table and the type graph
+     * can count their queries.</p>
+     *
+     * @return The current job's {@link CompileMetrics}.
+     */
+    public final CompileMetrics getMetrics() {
+        return myCompileEnvironment.getMetrics();
+    }
+
+    /**
+     * <p>Returns the type reasoning resources for the current thread.
+     * Each thread gets its own instance, so several threads can
+     * reason about the types in this graph at once.</p>
+     *
+     * @return The {@link PerThreadReasoningResources} for this thread.
+     */
+    public final PerThreadReasoningResources getThreadResources() {
+        return myThreadResources.get();
     }
 
     /**
@@ -372,7 +528,7 @@ public class TypeGraph {
     public static Exp getCopyWithVariablesSubstituted(Exp original,
             Map<String, MTType> substitutions) {
 
-        Exp result = original.clone();
+        Exp result = original.modifiableClone();
         result.setMathType(result.getMathType()
                 .getCopyWithVariablesSubstituted(substitutions));
 
@@ -387,6 +543,48 @@ public class TypeGraph {
         return result;
     }
 
+    /**
+     * <p>Returns the conditions under which <code>value</code> could be
+     * demonstrated to be a member of <code>expected</code>.</p>
+     *
+     * <p>Unlike a {@link TypeMismatchException}, the returned
+     * {@link TypeConditions} are cheap to create when there are no
+     * known conditions, so this is the method to use when
+     * a failing query is an expected outcome.</p>
+     *
+     * @param value The <code>RESOLVE</code> value to test for membership.
+     * @param expected A <code>RESOLVE</code> type against which to test
+     *                 membership.
+     *
+     * @return The {@link TypeConditions} for <code>value</code>
+     *         to be in <code>expected</code>.
+     */
+    public final TypeConditions getTypeConditions(Exp value, MTType expected) {
+        return TypeConditions.of(getValidTypeConditions(value, expected));
+    }
+
+    /**
+     * <p>Returns the conditions under which <code>value</code>, which is
+     * known to identify a <strong>MType</strong>, could be demonstrated to
+     * be a member of <code>expected</code>.</p>
+     *
+     * <p>Unlike a {@link TypeMismatchException}, the returned
+     * {@link TypeConditions} are cheap to create when there are no
+     * known conditions, so this is the method to use when
+     * a failing query is an expected outcome.</p>
+     *
+     * @param value The <code>RESOLVE</code> value to test for membership.
+     * @param expected A <code>RESOLVE</code> type against which to test
+     *                 membership.
+     *
+     * @return The {@link TypeConditions} for <code>value</code>
+     *         to be in <code>expected</code>.
+     */
+    public final TypeConditions getTypeConditions(MTType value, MTType expected) {
+        return TypeConditions.of(getValidTypeConditions(getCanonicalType(value),
+                getCanonicalType(expected)));
+    }
+
     /**
      * <p>Returns <code>true</code> <strong>iff</strong> <code>value</code> is
      * known to definitely be a member of <code>expected</code>.</p>
@@ -406,17 +604,10 @@ public class TypeGraph {
      *         definitely in <code>expected</code>.
      */
     public final boolean isKnownToBeIn(Exp value, MTType expected) {
-        boolean result;
-
-        try {
-            Exp conditions = getValidTypeConditions(value, expected);
-            result = MathExp.isLiteralTrue(conditions);
-        }
-        catch (TypeMismatchException e) {
-            result = false;
-        }
+        getMetrics().incrementCounter(
+                "typeGraph.isKnownToBeIn");
 
-        return result;
+        return getTypeConditions(value, expected).isKnownToHold();
     }
 
     /**
@@ -439,8 +630,13 @@ public class TypeGraph {
      *         definitely in <code>expected</code>.
      */
     public final boolean isKnownToBeIn(MTType value, MTType expected) {
+        getMetrics().incrementCounter(
+                "typeGraph.isKnownToBeIn");
         boolean result;
 
+        value = getCanonicalType(value);
+        expected = getCanonicalType(expected);
+
         EstablishedRelationship r =
                 new EstablishedRelationship(value, expected);
 
@@ -453,12 +649,19 @@ public class TypeGraph {
                         && isSubtype(value.getType(), expected);
 
         if (!result) {
-            try {
-                Exp conditions = getValidTypeConditions(value, expected);
-                result = MathExp.isLiteralTrue(conditions);
+            Set<EstablishedRelationship> refutedElements = myRefutedElements;
+            if (refutedElements.contains(r)) {
+                getMetrics().incrementCounter(
+                        "typeGraph.isKnownToBeIn.refutedHit");
             }
-            catch (TypeMismatchException e) {
-                result = false;
+            else {
+                result =
+                        MathExp.isLiteralTrue(getValidTypeConditions(value,
+                                expected));
+
+                if (!result) {
+                    addRefutedRelationship(refutedElements, r);
+                }
             }
         }
 
@@ -481,8 +684,13 @@ public class TypeGraph {
      *         <code>supertype</code>.
      */
     public final boolean isSubtype(MTType subtype, MTType supertype) {
+        getMetrics().incrementCounter(
+                "typeGraph.isSubtype");
         boolean result;
 
+        subtype = getCanonicalType(subtype);
+        supertype = getCanonicalType(supertype);
+
         EstablishedRelationship r =
                 new EstablishedRelationship(subtype, supertype);
 
@@ -514,15 +722,26 @@ public class TypeGraph {
             result = false;
         }
 
+        if (!result
+                && myReachabilityIndex.isUnconditionalSubtype(subtype,
+                        supertype)) {
+            getMetrics().incrementCounter("typeGraph.isSubtype.indexHit");
+            result = true;
+        }
+
         if (!result) {
-            try {
-                Exp conditions =
-                        getValidTypeConditions(subtype,
-                                new MTPowerclassApplication(this, supertype));
-                result = MathExp.isLiteralTrue(conditions);
+            Set<EstablishedRelationship> refutedSubtypes = myRefutedSubtypes;
+            if (refutedSubtypes.contains(r)) {
+                getMetrics().incrementCounter("typeGraph.isSubtype.refutedHit");
             }
-            catch (TypeMismatchException e) {
-                result = false;
+            else {
+                result =
+                        MathExp.isLiteralTrue(getValidTypeConditions(subtype,
+                                new MTPowerclassApplication(this, supertype)));
+
+                if (!result) {
+                    addRefutedRelationship(refutedSubtypes, r);
+                }
             }
         }
 
@@ -533,6 +752,59 @@ public class TypeGraph {
         return result;
     }
 
+    /**
+     * <p>Discards all canonical types, type nodes and relationships that
+     * were added after the specified snapshot was created. No other thread
+     * should be querying this graph while it is being restored.</p>
+     *
+     * @param snapshot A snapshot created by this type graph.
+     */
+    public final synchronized void restoreSnapshot(Snapshot snapshot) {
+        if (snapshot.myTypeGraph != this) {
+            throw new IllegalArgumentException("Snapshot was created by "
+                    + "another type graph.");
+        }
+
+        // Types that became canonical after the snapshot was created must
+        // stop comparing by reference, since a type that is alpha equivalent
+        // to them could become canonical later.
+        for (MTType t : myCanonicalTypes.values()) {
+            if (snapshot.myCanonicalTypes.get(t) != t) {
+                t.unmarkAsCanonical();
+            }
+        }
+        myCanonicalTypes.clear();
+        myCanonicalTypes.putAll(snapshot.myCanonicalTypes);
+
+        myTypeNodes.clear();
+        myTypeNodes.putAll(snapshot.myTypeNodes);
+        for (Map.Entry<TypeNode, Map<MTType, Set<TypeRelationship>>> entry : snapshot.myRelationships
+                .entrySet()) {
+            entry.getKey().restoreRelationships(entry.getValue());
+        }
+
+        myEstablishedSubtypes.clear();
+        myEstablishedSubtypes.addAll(snapshot.myEstablishedSubtypes);
+        myEstablishedElements.clear();
+        myEstablishedElements.addAll(snapshot.myEstablishedElements);
+        myReachabilityIndex = snapshot.myReachabilityIndex;
+        clearRefutedRelationships();
+    }
+
+    /**
+     * <p>Uses the specified compilation environment for any flags, status
+     * messages and metrics from now on. A type graph that is shared
+     * between compilation jobs (e.g. by a {@code SharedLibrary}) needs
+     * to be given the environment of each new job.</p>
+     *
+     * @param compileEnvironment The current job's compilation environment
+     *                           that stores all necessary objects and flags.
+     */
+    public final void setCompileEnvironment(
+            CompileEnvironment compileEnvironment) {
+        myCompileEnvironment = compileEnvironment;
+    }
+
     /**
      * <p>This method returns the object in string format.</p>
      *
@@ -562,6 +834,21 @@ public class TypeGraph {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>Remembers that we couldn't establish the relationship {@code r}
+     * by searching the graph. Relationships that involve a type that isn't
+     * canonical are never equal to anything, so we don't keep them.</p>
+     *
+     * @param refuted The set of refuted relationships.
+     * @param r A relationship we couldn't establish.
+     */
+    private static void addRefutedRelationship(
+            Set<EstablishedRelationship> refuted, EstablishedRelationship r) {
+        if (r.myType1.isCanonical() && r.myType2.isCanonical()) {
+            refuted.add(r);
+        }
+    }
+
     /**
      * <p>Creates canonical names for names in {@code t}.</p>
      *
@@ -584,6 +871,37 @@ public class TypeGraph {
                         .getCanonicalToEnvironmentOriginalMapping());
     }
 
+    /**
+     * <p>Forgets all the relationships we couldn't establish. This
+     * must be done every time the graph changes, after the change
+     * has been made.</p>
+     */
+    private void clearRefutedRelationships() {
+        myRefutedSubtypes = newBoundedSet(REFUTED_RELATIONSHIPS_CAPACITY);
+        myRefutedElements = newBoundedSet(REFUTED_RELATIONSHIPS_CAPACITY);
+    }
+
+    /**
+     * <p>Checks to see if {@code t} or any of its components
+     * is a set restriction.</p>
+     *
+     * @param t A mathematical type.
+     *
+     * @return {@code true} if it contains a {@link MTSetRestriction},
+     * {@code false} otherwise.
+     */
+    private static boolean containsSetRestriction(MTType t) {
+        boolean result = t instanceof MTSetRestriction;
+
+        Iterator<MTType> componentIt = t.getComponentTypes().iterator();
+        while (!result && componentIt.hasNext()) {
+            MTType component = componentIt.next();
+            result = !component.isCanonical() && containsSetRestriction(component);
+        }
+
+        return result;
+    }
+
     /**
      * <p>Returns a new {@link Exp} with the appropriate substitutions.</p>
      *
@@ -593,7 +911,7 @@ public class TypeGraph {
      * @return A modified {@link Exp}.
      */
     private Exp getCopyWithVariableNamesChanged(Exp original, Map<String, String> substitutions) {
-        Exp result = original.clone();
+        Exp result = original.modifiableClone();
 
         if (result.getMathType() == null) {
             throw new RuntimeException("copy() method for class "
@@ -722,8 +1040,8 @@ public class TypeGraph {
      * Returns the conditions required to establish that <code>foundValue</code>
      * is a member of the type represented by <code>expectedEntry</code> along
      * the path from <code>foundEntry</code> to <code>expectedEntry</code>. If
-     * no such conditions exist (i.e., if the conditions would be
-     * <code>false</code>), throws a <code>TypeMismatchException</code>.
+     * there are no relationships from <code>foundEntry</code> to
+     * <code>expectedEntry</code>, returns <code>null</code>.
      * </p>
      *
      * @param foundValue The value we'd like to establish is in the type
@@ -736,7 +1054,8 @@ public class TypeGraph {
      * @param pathStrategy The strategy for following the path between
      *        <code>foundEntry</code> and <code>expectedEntry</code>.
      *
-     * @return The conditions under which the path can be followed.
+     * @return The conditions under which the path can be followed or
+     *         <code>null</code> if there is no such path.
      *
      * @throws TypeMismatchException If the conditions under which the path can
      *         be followed would be <code>false</code>.
@@ -760,15 +1079,17 @@ public class TypeGraph {
      * as well as any type relationships that has been established.</p>
      *
      * @param query A mathematical type.
+     * @param candidates The types of the nodes we should consider.
      *
      * @return A map containing subtypes and associated type relationships.
      */
-    private Map<MTType, Map<String, MTType>> getSyntacticSubtypesWithRelationships(MTType query) {
+    private Map<MTType, Map<String, MTType>> getSyntacticSubtypesWithRelationships(MTType query,
+            Collection<MTType> candidates) {
         Map<MTType, Map<String, MTType>> result = new HashMap<>();
 
         Map<String, MTType> bindings;
 
-        for (MTType potential : myTypeNodes.keySet()) {
+        for (MTType potential : candidates) {
             try {
                 bindings = query.getSyntacticSubtypeBindings(potential);
                 result.put(potential, new HashMap<>(bindings));
@@ -787,11 +1108,16 @@ public class TypeGraph {
      * @return A {@link TypeNode}.
      */
     private TypeNode getTypeNode(MTType t) {
+        t = getCanonicalType(t);
         TypeNode result = myTypeNodes.get(t);
 
         if (result == null) {
-            result = new TypeNode(this, t);
-            myTypeNodes.put(t, result);
+            TypeNode newNode = new TypeNode(this, t);
+            result = myTypeNodes.putIfAbsent(t, newNode);
+            if (result == null) {
+                result = newNode;
+                clearRefutedRelationships();
+            }
         }
 
         return result;
@@ -815,8 +1141,9 @@ public class TypeGraph {
      * <p>
      * If there is no known set of circumstances under which <code>value</code>
      * could be demonstrated a member of <code>expected</code> (i.e., if the
-     * return value would simply be <code>false</code>), this method throws a
-     * <code>TypeMismatchException</code>.
+     * return value would simply be <code>false</code>), this method returns
+     * <code>null</code>. Failing queries are common, so we don't want to
+     * pay for a <code>TypeMismatchException</code> each time.
      * </p>
      *
      * @param value The <code>RESOLVE</code> value to test for membership.
@@ -824,14 +1151,10 @@ public class TypeGraph {
      *        membership.
      *
      * @return The conditions under which <code>value</code> could be
-     *         demonstrated to be in <code>expected</code>.
-     *
-     * @throws TypeMismatchException If there are no known conditions under
-     *         which <code>value</code> could be demonstrated to be in
-     *         <code>expected</code>.
+     *         demonstrated to be in <code>expected</code> or
+     *         <code>null</code> if there are no known conditions.
      */
-    private Exp getValidTypeConditions(MTType value, MTType expected)
-            throws TypeMismatchException {
+    private Exp getValidTypeConditions(MTType value, MTType expected) {
         //See note in the getValidTypeConditionsTo() in TypeRelationship,
         //re: Lovecraftian nightmare-scape
 
@@ -869,16 +1192,19 @@ public class TypeGraph {
             //At this stage, we've done everything safe and sensible that we can
             //do if the value we're looking at exists outside Entity
             if (value == CLS || value == ENTITY) {
-                throw new TypeMismatchException(
-                        "Unexpected mathematical type: " + value);
+                result = null;
             }
-
-            try {
+            else {
                 Exp intermediateResult =
                         getValidTypeConditions(value, value.getType(),
                                 expected, MTTYPE_VALUE_PATH);
 
-                if (MathExp.isLiteralTrue(intermediateResult)) {
+                if (intermediateResult == null) {
+                    if (MathExp.isLiteralFalse(result)) {
+                        result = null;
+                    }
+                }
+                else if (MathExp.isLiteralTrue(intermediateResult)) {
                     result = intermediateResult;
                 }
                 else {
@@ -887,11 +1213,6 @@ public class TypeGraph {
                                     intermediateResult);
                 }
             }
-            catch (TypeMismatchException tme) {
-                if (MathExp.isLiteralFalse(result)) {
-                    throw tme;
-                }
-            }
         }
 
         return result;
@@ -914,8 +1235,9 @@ public class TypeGraph {
      * <p>
      * If there is no known set of circumstances under which <code>value</code>
      * could be demonstrated a member of <code>expected</code> (i.e., if the
-     * return value would simply be <code>false</code>), this method throws a
-     * <code>TypeMismatchException</code>.
+     * return value would simply be <code>false</code>), this method returns
+     * <code>null</code>. Failing queries are common, so we don't want to
+     * pay for a <code>TypeMismatchException</code> each time.
      * </p>
      *
      * @param value The <code>RESOLVE</code> value to test for membership.
@@ -923,14 +1245,10 @@ public class TypeGraph {
      *        membership.
      *
      * @return The conditions under which <code>value</code> could be
-     *         demonstrated to be in <code>expected</code>.
-     *
-     * @throws TypeMismatchException If there are no known conditions under
-     *         which <code>value</code> could be demonstrated to be in
-     *         <code>expected</code>.
+     *         demonstrated to be in <code>expected</code> or
+     *         <code>null</code> if there are no known conditions.
      */
-    private Exp getValidTypeConditions(Exp value, MTType expected)
-            throws TypeMismatchException {
+    private Exp getValidTypeConditions(Exp value, MTType expected) {
         Exp result;
 
         MTType valueTypeValue = value.getMathTypeValue();
@@ -943,8 +1261,7 @@ public class TypeGraph {
         }
         else if (valueTypeValue == CLS || valueTypeValue == ENTITY) {
             //MType and Entity aren't in anything
-            throw new TypeMismatchException("Unexpected mathematical type: "
-                    + value);
+            result = null;
         }
         else if (valueTypeValue == null) {
             result =
@@ -980,8 +1297,9 @@ public class TypeGraph {
      * <p>
      * If there is no known set of circumstances under which <code>value</code>
      * could be demonstrated a member of <code>expected</code> (i.e., if the
-     * return value would simply be <code>false</code>), this method throws a
-     * <code>TypeMismatchException</code>.
+     * return value would simply be <code>false</code>), this method returns
+     * <code>null</code>. Failing queries are common, so we don't want to
+     * pay for a <code>TypeMismatchException</code> each time.
      * </p>
      *
      * @param foundValue The <code>RESOLVE</code> value to test for membership.
@@ -991,23 +1309,24 @@ public class TypeGraph {
      *        membership.
      *
      * @return The conditions under which <code>value</code> could be
-     *         demonstrated to be in <code>expected</code>.
-     *
-     * @throws TypeMismatchException If there are no known conditions under
-     *         which <code>value</code> could be demonstrated to be in
-     *         <code>expected</code>.
+     *         demonstrated to be in <code>expected</code> or
+     *         <code>null</code> if there are no known conditions.
      */
     private <V> Exp getValidTypeConditions(V foundValue, MTType foundType,
-            MTType expected, NodePairPathStrategy<V> pathStrategy)
-            throws TypeMismatchException {
+            MTType expected, NodePairPathStrategy<V> pathStrategy) {
         if (foundType == null) {
             throw new IllegalArgumentException(foundValue + " has no type.");
         }
 
+        // A path needs an edge, so we only look at the nodes
+        // that have one leaving or entering them.
+        SubtypeReachabilityIndex index = myReachabilityIndex;
         Map<MTType, Map<String, MTType>> potentialFoundNodes =
-                getSyntacticSubtypesWithRelationships(foundType);
+                getSyntacticSubtypesWithRelationships(foundType, index
+                        .getSourceNodes());
         Map<MTType, Map<String, MTType>> potentialExpectedNodes =
-                getSyntacticSubtypesWithRelationships(expected);
+                getSyntacticSubtypesWithRelationships(expected, index
+                        .getDestinationNodes());
 
         Exp result = MathExp.getFalseVarExp(null, this);
 
@@ -1020,8 +1339,11 @@ public class TypeGraph {
 
         boolean foundPath = false;
 
-        //If foundType equals expected, we're done
-        boolean foundTrivialPath = foundType.equals(expected);
+        //If foundType equals expected or is known to be one of its
+        //subtypes, we're done
+        boolean foundTrivialPath =
+                foundType.equals(expected)
+                        || index.isUnconditionalSubtype(foundType, expected);
 
         while (!foundTrivialPath && foundEntries.hasNext()) {
             foundEntry = foundEntries.next();
@@ -1037,14 +1359,17 @@ public class TypeGraph {
                             getPathConditions(foundValue, foundEntry,
                                     expectedEntry, pathStrategy);
 
-                    foundPath =
-                            foundPath | !MathExp.isLiteralFalse(newCondition);
+                    if (newCondition != null) {
+                        foundPath =
+                                foundPath
+                                        | !MathExp.isLiteralFalse(newCondition);
 
-                    foundTrivialPath = MathExp.isLiteralTrue(newCondition);
+                        foundTrivialPath = MathExp.isLiteralTrue(newCondition);
 
-                    result =
-                            MathExp.formDisjunct(newCondition.getLocation(),
-                                    newCondition, result);
+                        result =
+                                MathExp.formDisjunct(newCondition
+                                        .getLocation(), newCondition, result);
+                    }
                 }
                 catch (TypeMismatchException e) {}
             }
@@ -1054,7 +1379,7 @@ public class TypeGraph {
             result = MathExp.getTrueVarExp(null, this);
         }
         else if (!foundPath) {
-            throw new TypeMismatchException("No path found!");
+            result = null;
         }
 
         return result;
@@ -1155,6 +1480,69 @@ public class TypeGraph {
         return result;
     }
 
+    /**
+     * <p>An helper method that checks to see if a relationship holds for
+     * every value of its source type, i.e. it binds any value to a universal
+     * variable, it doesn't have any conditions and neither of its types
+     * has free variables.</p>
+     *
+     * @param bindingExpression The canonical binding expression.
+     * @param bindingCondition The canonical binding condition.
+     * @param predicates The static predicates for the relationship.
+     * @param sourceCanonicalResult The canonicalized source type.
+     * @param destinationCanonicalResult The canonicalized destination type.
+     *
+     * @return {@code true} if the relationship is unconditional,
+     * {@code false} otherwise.
+     */
+    private static boolean isUnconditional(Exp bindingExpression,
+            Exp bindingCondition, List<TypeRelationshipPredicate> predicates,
+            CanonicalizationResult sourceCanonicalResult,
+            CanonicalizationResult destinationCanonicalResult) {
+        return bindingExpression instanceof VarExp
+                && ((VarExp) bindingExpression).getQuantification() == SymbolTableEntry.Quantification.UNIVERSAL
+                && MathExp.isLiteralTrue(bindingCondition)
+                && predicates.isEmpty()
+                && sourceCanonicalResult.canonicalToEnvironmental.isEmpty()
+                && destinationCanonicalResult.canonicalToEnvironmental
+                        .isEmpty();
+    }
+
+    /**
+     * <p>An helper method that creates a thread safe set that only keeps
+     * the {@code capacity} most recently used elements.</p>
+     *
+     * @param capacity The maximum number of elements.
+     * @param <T> The class of the elements.
+     *
+     * @return An empty set.
+     */
+    private static <T> Set<T> newBoundedSet(final int capacity) {
+        return Collections.synchronizedSet(Collections
+                .newSetFromMap(new LinkedHashMap<T, Boolean>(16, 0.75f, true) {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<T, Boolean> eldest) {
+                        return size() > capacity;
+                    }
+                }));
+    }
+
+    /**
+     * <p>An helper method that creates a set that can be
+     * read and updated by several threads at once.</p>
+     *
+     * @param <T> The class of the elements.
+     *
+     * @return An empty set.
+     */
+    private static <T> Set<T> newConcurrentSet() {
+        return Collections.newSetFromMap(new ConcurrentHashMap<T, Boolean>());
+    }
+
     /**
      * <p>An helper method that replaces {@link TypeRelationshipPredicate TypeRelationshipPredicates}.</p>
      *
@@ -1300,7 +1688,8 @@ public class TypeGraph {
          * @param bindings Map of established type bindings.
          *
          * @return An {@link Exp} with the valid type conditions
-         * between the types.
+         * between the types or {@code null} if there are no
+         * relationships between them.
          *
          * @throws TypeMismatchException We cannot establish a type condition
          * between the types for {@code sourceValue}.
@@ -1326,7 +1715,8 @@ public class TypeGraph {
          * @param bindings Map of established type bindings.
          *
          * @return An {@link Exp} with the valid type conditions
-         * between the types.
+         * between the types or {@code null} if there are no
+         * relationships between them.
          *
          * @throws TypeMismatchException We cannot establish a type condition
          * between the types for {@code sourceValue}.
@@ -1335,8 +1725,16 @@ public class TypeGraph {
         public final Exp getValidTypeConditionsBetween(Exp sourceValue,
                 MTType sourceType, MTType expectedType,
                 Map<String, MTType> bindings) throws TypeMismatchException {
-            return myTypeNodes.get(sourceType).getValidTypeConditionsTo(
-                    sourceValue, expectedType, bindings);
+            Exp result = null;
+
+            TypeNode sourceNode = myTypeNodes.get(sourceType);
+            if (sourceNode.hasRelationshipsTo(expectedType)) {
+                result =
+                        sourceNode.getValidTypeConditionsTo(sourceValue,
+                                expectedType, bindings);
+            }
+
+            return result;
         }
 
     }
@@ -1358,7 +1756,8 @@ public class TypeGraph {
          * @param bindings Map of established type bindings.
          *
          * @return An {@link Exp} with the valid type conditions
-         * between the types.
+         * between the types or {@code null} if there are no
+         * relationships between them.
          *
          * @throws TypeMismatchException We cannot establish a type condition
          * between the types for {@code sourceValue}.
@@ -1367,8 +1766,16 @@ public class TypeGraph {
         public final Exp getValidTypeConditionsBetween(MTType sourceValue,
                 MTType sourceType, MTType expectedType,
                 Map<String, MTType> bindings) throws TypeMismatchException {
-            return myTypeNodes.get(sourceType).getValidTypeConditionsTo(
-                    sourceValue, expectedType, bindings);
+            Exp result = null;
+
+            TypeNode sourceNode = myTypeNodes.get(sourceType);
+            if (sourceNode.hasRelationshipsTo(expectedType)) {
+                result =
+                        sourceNode.getValidTypeConditionsTo(sourceValue,
+                                expectedType, bindings);
+            }
+
+            return result;
         }
 
     }
@@ -1599,4 +2006,161 @@ public class TypeGraph {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * <p>An immutable record of all the type nodes and relationships
+     * in a {@link TypeGraph} at some point in time.</p>
+     */
+    public static final class Snapshot {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The type graph that created this snapshot.</p> */
+        private final TypeGraph myTypeGraph;
+
+        /** <p>The canonical instance for each of the mathematical types.</p> */
+        private final Map<MTType, MTType> myCanonicalTypes;
+
+        /** <p>All the mathematical nodes for the graph.</p> */
+        private final Map<MTType, TypeNode> myTypeNodes;
+
+        /** <p>The relationships that start at each node.</p> */
+        private final Map<TypeNode, Map<MTType, Set<TypeRelationship>>> myRelationships;
+
+        /** <p>All established relationships for mathematical subtypes.</p> */
+        private final Set<EstablishedRelationship> myEstablishedSubtypes;
+
+        /** <p>All established relationships for mathematical elements.</p> */
+        private final Set<EstablishedRelationship> myEstablishedElements;
+
+        /** <p>The subtype reachability index for the graph.</p> */
+        private final SubtypeReachabilityIndex myReachabilityIndex;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a snapshot using copies of a type graph's contents.</p>
+         *
+         * @param g The type graph that created this snapshot.
+         * @param canonicalTypes The canonical instance for each of the
+         *                       mathematical types.
+         * @param typeNodes All the mathematical nodes for the graph.
+         * @param relationships The relationships that start at each node.
+         * @param establishedSubtypes All established relationships for
+         *                            mathematical subtypes.
+         * @param establishedElements All established relationships for
+         *                            mathematical elements.
+         * @param reachabilityIndex The subtype reachability index for the graph.
+         */
+        private Snapshot(TypeGraph g, Map<MTType, MTType> canonicalTypes,
+                Map<MTType, TypeNode> typeNodes,
+                Map<TypeNode, Map<MTType, Set<TypeRelationship>>> relationships,
+                Set<EstablishedRelationship> establishedSubtypes,
+                Set<EstablishedRelationship> establishedElements,
+                SubtypeReachabilityIndex reachabilityIndex) {
+            myTypeGraph = g;
+            myCanonicalTypes = canonicalTypes;
+            myTypeNodes = typeNodes;
+            myRelationships = relationships;
+            myEstablishedSubtypes = establishedSubtypes;
+            myEstablishedElements = establishedElements;
+            myReachabilityIndex = reachabilityIndex;
+        }
+
+    }
+
+    /**
+     * <p>The result of asking a {@link TypeGraph} under which conditions a
+     * value can be demonstrated to be a member of a type. If there are no
+     * known conditions, we say that the membership wasn't established.</p>
+     */
+    public static final class TypeConditions {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The result for queries that have no known conditions.</p> */
+        private static final TypeConditions NOT_ESTABLISHED =
+                new TypeConditions(null);
+
+        /** <p>The conditions or {@code null} if there aren't any.</p> */
+        private final Exp myConditions;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a result with the provided conditions.</p>
+         *
+         * @param conditions The conditions or {@code null} if there aren't any.
+         */
+        private TypeConditions(Exp conditions) {
+            myConditions = conditions;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the conditions under which the value is a member
+         * of the type.</p>
+         *
+         * @return The conditions or {@code null} if the membership
+         * wasn't established.
+         */
+        public final Exp getConditions() {
+            return myConditions;
+        }
+
+        /**
+         * <p>Checks to see if there are any known conditions under which
+         * the value is a member of the type.</p>
+         *
+         * @return {@code true} if there are known conditions,
+         * {@code false} otherwise.
+         */
+        public final boolean isEstablished() {
+            return myConditions != null;
+        }
+
+        /**
+         * <p>Checks to see if the value is a member of the type
+         * without any further conditions.</p>
+         *
+         * @return {@code true} if the conditions are literally {@code true},
+         * {@code false} otherwise.
+         */
+        public final boolean isKnownToHold() {
+            return myConditions != null
+                    && MathExp.isLiteralTrue(myConditions);
+        }
+
+        // ===========================================================
+        // Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the result for the provided conditions.</p>
+         *
+         * @param conditions The conditions or {@code null} if there aren't any.
+         *
+         * @return A {@link TypeConditions}.
+         */
+        private static TypeConditions of(Exp conditions) {
+            TypeConditions result = NOT_ESTABLISHED;
+            if (conditions != null) {
+                result = new TypeConditions(conditions);
+            }
+
+            return result;
+        }
+
+    }
+
+}
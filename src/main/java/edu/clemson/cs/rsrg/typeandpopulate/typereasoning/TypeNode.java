@@ -20,6 +20,8 @@ import edu.clemson.cs.rsrg.typeandpopulate.exception.TypeMismatchException;
 import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.relationships.TypeRelationship;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * <p>Generates a new node in our {@link TypeGraph} for the specified
@@ -44,7 +46,11 @@ public class TypeNode {
     /** <p>The {@link MTType} for the new node.</p> */
     private final MTType myType;
 
-    /** <p>A map from math types to relationships.</p> */
+    /**
+     * <p>A map from math types to relationships. Relationships are rarely
+     * added, but searched by every type query, possibly from many threads
+     * at once, so each set of relationships is copied on write.</p>
+     */
     private final Map<MTType, Set<TypeRelationship>> myRelationships;
 
     /** <p>The current type graph object in use.</p> */
@@ -63,7 +69,7 @@ public class TypeNode {
      */
     public TypeNode(TypeGraph g, MTType type) {
         myType = type;
-        myRelationships = new HashMap<>();
+        myRelationships = new ConcurrentHashMap<>();
         myTypeGraph = g;
     }
 
@@ -155,11 +161,60 @@ public class TypeNode {
         Set<TypeRelationship> bucket =
                 myRelationships.get(relationship.getDestinationType());
         if (bucket == null) {
-            bucket = new HashSet<>();
-            myRelationships.put(relationship.getDestinationType(), bucket);
+            bucket =
+                    myRelationships.putIfAbsent(relationship
+                            .getDestinationType(),
+                            new CopyOnWriteArraySet<>(Collections
+                                    .singleton(relationship)));
+        }
+
+        if (bucket != null) {
+            bucket.add(relationship);
+        }
+    }
+
+    /**
+     * <p>This method returns a copy of all the relationships
+     * that start at this node.</p>
+     *
+     * @return A map from destination types to relationships.
+     */
+    Map<MTType, Set<TypeRelationship>> copyRelationships() {
+        Map<MTType, Set<TypeRelationship>> copy = new HashMap<>();
+        for (Map.Entry<MTType, Set<TypeRelationship>> entry : myRelationships
+                .entrySet()) {
+            copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
         }
 
-        bucket.add(relationship);
+        return copy;
+    }
+
+    /**
+     * <p>Checks to see if any of the relationships that start at
+     * this node end at {@code dst}.</p>
+     *
+     * @param dst A mathematical type.
+     *
+     * @return {@code true} if there is a relationship to {@code dst},
+     * {@code false} otherwise.
+     */
+    boolean hasRelationshipsTo(MTType dst) {
+        return myRelationships.containsKey(dst);
+    }
+
+    /**
+     * <p>This method replaces all the relationships that start at this
+     * node with the ones obtained from {@link #copyRelationships()}.</p>
+     *
+     * @param relationships A map from destination types to relationships.
+     */
+    void restoreRelationships(Map<MTType, Set<TypeRelationship>> relationships) {
+        myRelationships.clear();
+        for (Map.Entry<MTType, Set<TypeRelationship>> entry : relationships
+                .entrySet()) {
+            myRelationships.put(entry.getKey(), new CopyOnWriteArraySet<>(
+                    entry.getValue()));
+        }
     }
 
     // ===========================================================
@@ -185,13 +240,13 @@ public class TypeNode {
             RelationshipPathStrategy<V> pathStrategy)
             throws TypeMismatchException {
 
-        if (!myRelationships.containsKey(dst)) {
+        Set<TypeRelationship> relationships = myRelationships.get(dst);
+        if (relationships == null) {
             throw new TypeMismatchException("The value: " + value
                     + " already has an established relationship.");
         }
 
         Exp finalConditions = MathExp.getFalseVarExp(null, myTypeGraph);
-        Set<TypeRelationship> relationships = myRelationships.get(dst);
         boolean foundTrivialPath = false;
         Iterator<TypeRelationship> relationshipIter = relationships.iterator();
         TypeRelationship relationship;
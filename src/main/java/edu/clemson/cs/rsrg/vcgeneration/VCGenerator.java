@@ -36,6 +36,7 @@ import edu.clemson.cs.rsrg.absyn.statements.MemoryStmt.StatementType;
 import edu.clemson.cs.rsrg.init.CompileEnvironment;
 import edu.clemson.cs.rsrg.init.flag.Flag;
 import edu.clemson.cs.rsrg.init.flag.FlagDependencies;
+import edu.clemson.cs.rsrg.init.output.OutputListener;
 import edu.clemson.cs.rsrg.parsing.data.Location;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
 import edu.clemson.cs.rsrg.statushandling.exception.SourceErrorException;
@@ -67,6 +68,8 @@ import edu.clemson.cs.rsrg.vcgeneration.utilities.AssertiveCodeBlock;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.Utilities;
 import edu.clemson.cs.rsrg.vcgeneration.utilities.VerificationCondition;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import org.stringtemplate.v4.ST;
 import org.stringtemplate.v4.STGroup;
 import org.stringtemplate.v4.STGroupFile;
@@ -166,7 +169,11 @@ public class VCGenerator extends TreeWalkerVisitor {
     // Output-Related
     // -----------------------------------------------------------
 
-    /** <p>String template for the each of the assertive code blocks.</p> */
+    /**
+     * <p>String template for the each of the assertive code blocks. This map
+     * is synchronized, because the assertive code blocks might be processed
+     * by multiple threads.</p>
+     */
     private final Map<AssertiveCodeBlock, ST> myAssertiveCodeBlockModels;
 
     /**
@@ -188,6 +195,10 @@ public class VCGenerator extends TreeWalkerVisitor {
     private static final String FLAG_SECTION_NAME = "VCGenerator";
     private static final String FLAG_DESC_VERIFY_VC = "Generate VCs.";
     private static final String FLAG_DESC_PERF_VC = "Generate Performance VCs";
+    private static final String FLAG_DESC_PARALLEL_VC =
+            "Process the assertive code blocks in parallel using the number of threads specified by -jobs.";
+    private static final String FLAG_DESC_PROVE_VC =
+            "Check the VCs with the congruence closure prover (without theorems) while they are being generated.";
 
     // ===========================================================
     // Flags
@@ -205,11 +216,27 @@ public class VCGenerator extends TreeWalkerVisitor {
     private static final Flag FLAG_PVCS_VC =
             new Flag(FLAG_SECTION_NAME, "PVCs", FLAG_DESC_PERF_VC);
 
+    /**
+     * <p>Tells the compiler to apply the proof rules to the
+     * assertive code blocks in parallel.</p>
+     */
+    private static final Flag FLAG_PARALLEL_VC =
+            new Flag(FLAG_SECTION_NAME, "parallelVCs", FLAG_DESC_PARALLEL_VC);
+
+    /**
+     * <p>Tells the compiler to send the generated VCs to the
+     * congruence closure prover.</p>
+     */
+    public static final Flag FLAG_PROVE_VC =
+            new Flag(FLAG_SECTION_NAME, "proveVCs", FLAG_DESC_PROVE_VC);
+
     /**
      * <p>Add all the required and implied flags for the {@code VCGenerator}.</p>
      */
     public static void setUpFlags() {
         FlagDependencies.addImplies(FLAG_PVCS_VC, FLAG_VERIFY_VC);
+        FlagDependencies.addImplies(FLAG_PARALLEL_VC, FLAG_VERIFY_VC);
+        FlagDependencies.addImplies(FLAG_PROVE_VC, FLAG_VERIFY_VC);
     }
 
     // ===========================================================
@@ -225,7 +252,8 @@ public class VCGenerator extends TreeWalkerVisitor {
      *                           that stores all necessary objects and flags.
      */
     public VCGenerator(MathSymbolTableBuilder builder, CompileEnvironment compileEnvironment) {
-        myAssertiveCodeBlockModels = new LinkedHashMap<>();
+        myAssertiveCodeBlockModels =
+                Collections.synchronizedMap(new LinkedHashMap<AssertiveCodeBlock, ST>());
         myBuilder = builder;
         myCompileEnvironment = compileEnvironment;
         myFinalAssertiveCodeBlocks = new LinkedList<>();
@@ -322,45 +350,33 @@ public class VCGenerator extends TreeWalkerVisitor {
      */
     @Override
     public final void postModuleDec(ModuleDec dec) {
-        // Loop through our incomplete assertive code blocks until it is empty
-        while (!myIncompleteAssertiveCodeBlocks.isEmpty()) {
-            // Use the first assertive code block in the incomplete blocks list
-            // as our current assertive code block.
-            myCurrentAssertiveCodeBlock =
-                    myIncompleteAssertiveCodeBlocks.removeFirst();
-
-            applyStatementRules(myCurrentAssertiveCodeBlock);
-
-            // Render the assertive block model
-            ST blockModel =
-                    myAssertiveCodeBlockModels
-                            .remove(myCurrentAssertiveCodeBlock);
-            myVCGenDetailsModel.add("assertiveCodeBlocks", blockModel.render());
-
-            // Add this to our final assertive code block list
-            myFinalAssertiveCodeBlocks.add(myCurrentAssertiveCodeBlock);
-
-            // Set the current assertive code block to null
-            myCurrentAssertiveCodeBlock = null;
+        if (myCompileEnvironment.flags.isFlagSet(FLAG_PARALLEL_VC)) {
+            applyStatementRulesInParallel(dec);
         }
-
-        // Assign a name to all of the VCs
-        int blockCount = 0;
-        for (AssertiveCodeBlock block : myFinalAssertiveCodeBlocks) {
-            // Obtain the final list of vcs
-            int vcCount = 1;
-            List<VerificationCondition> vcs = block.getVCs();
-            List<VerificationCondition> namedVCs = new ArrayList<>(vcs.size());
-            for (VerificationCondition vc : vcs) {
-                namedVCs.add(new VerificationCondition(vc.getLocation(),
-                        blockCount + "_" + vcCount,
-                        vc.getAssociatedSequents()));
-                vcCount++;
+        else {
+            BlockContext context =
+                    new BlockContext(null, myLocationDetails,
+                            myIncompleteAssertiveCodeBlocks);
+
+            // Loop through our incomplete assertive code blocks until it is empty
+            while (!myIncompleteAssertiveCodeBlocks.isEmpty()) {
+                // Use the first assertive code block in the incomplete blocks list
+                // as our current assertive code block.
+                myCurrentAssertiveCodeBlock =
+                        applyStatementRules(myIncompleteAssertiveCodeBlocks
+                                .removeFirst(), context);
+
+                // Render the assertive block model and add this to our
+                // final assertive code block list
+                ST blockModel =
+                        myAssertiveCodeBlockModels
+                                .remove(myCurrentAssertiveCodeBlock);
+                addFinalAssertiveCodeBlock(dec, myCurrentAssertiveCodeBlock,
+                        blockModel.render());
+
+                // Set the current assertive code block to null
+                myCurrentAssertiveCodeBlock = null;
             }
-
-            // Store the named VCs and increase the block number
-            block.setVCs(namedVCs);
-            blockCount++;
         }
     }
 
@@ -707,12 +723,60 @@ public class VCGenerator extends TreeWalkerVisitor {
     // Private Methods
     // ===========================================================
 
+    /**
+     * <p>Adds an assertive code block that doesn't need any more proof rule
+     * applications to our final results. The {@link VerificationCondition VCs}
+     * in the block are named using the block's position in the final list and
+     * then the block is sent to all the {@link OutputListener OutputListeners},
+     * so they can start working on it while we process the other blocks.</p>
+     *
+     * @param dec The module declaration we are generating VCs for.
+     * @param block A final assertive code block.
+     * @param renderedModel The rendered model for {@code block}.
+     */
+    private void addFinalAssertiveCodeBlock(ModuleDec dec,
+            AssertiveCodeBlock block, String renderedModel) {
+        myVCGenDetailsModel.add("assertiveCodeBlocks", renderedModel);
+
+        // Assign a name to all of the VCs
+        int blockCount = myFinalAssertiveCodeBlocks.size();
+        int vcCount = 1;
+        List<VerificationCondition> vcs = block.getVCs();
+        List<VerificationCondition> namedVCs = new ArrayList<>(vcs.size());
+        for (VerificationCondition vc : vcs) {
+            namedVCs.add(new VerificationCondition(vc.getLocation(),
+                    blockCount + "_" + vcCount, vc.getAssociatedSequents()));
+            vcCount++;
+        }
+
+        // Store the named VCs and add this to our final assertive code block list
+        block.setVCs(namedVCs);
+        myFinalAssertiveCodeBlocks.add(block);
+
+        // Output the block to listener objects
+        String inputFileName =
+                myCompileEnvironment.getFile(new ModuleIdentifier(dec))
+                        .toString();
+        for (OutputListener listener : myCompileEnvironment
+                .getOutputListeners()) {
+            listener.assertiveCodeBlockResult(inputFileName, dec.getName()
+                    .getName(), block, myLocationDetails);
+        }
+    }
+
     /**
      * <p>Applies each of the proof rules. This <code>AssertiveCode</code> will be
      * stored for later use and therefore should be considered immutable after
      * a call to this method.</p>
+     *
+     * @param assertiveCodeBlock The assertive code block to be processed.
+     * @param context The context that stores the new location details
+     *                and the new assertive code blocks.
+     *
+     * @return The resulting assertive code block.
      */
-    private void applyStatementRules(AssertiveCodeBlock assertiveCodeBlock) {
+    private AssertiveCodeBlock applyStatementRules(
+            AssertiveCodeBlock assertiveCodeBlock, BlockContext context) {
         // Obtain the assertive code block model
         ST blockModel = myAssertiveCodeBlockModels.remove(assertiveCodeBlock);
 
@@ -763,8 +827,8 @@ public class VCGenerator extends TreeWalkerVisitor {
                 // it's assertion's location. We need to copy over the details
                 // for the inner assertion and set it as the detail for the
                 // ConfirmStmt's location.
-                myLocationDetails.put(statement.getLocation(),
-                        myLocationDetails.get(((ConfirmStmt) statement).getAssertion().getLocation()));
+                context.myLocationDetails.put(statement.getLocation(),
+                        context.getLocationDetail(((ConfirmStmt) statement).getAssertion().getLocation()));
             }
             else if (statement instanceof MemoryStmt) {
                 if (((MemoryStmt) statement).getStatementType() == StatementType.REMEMBER) {
@@ -795,11 +859,11 @@ public class VCGenerator extends TreeWalkerVisitor {
             Deque<AssertiveCodeBlock> resultingBlocks = ruleApplication.getAssertiveCodeBlocks();
             assertiveCodeBlock = resultingBlocks.removeFirst();
             while (!resultingBlocks.isEmpty()) {
-                myIncompleteAssertiveCodeBlocks.addFirst(resultingBlocks.removeLast());
+                context.myIncompleteBlocks.addFirst(resultingBlocks.removeLast());
             }
 
             // Add any new location details
-            myLocationDetails.putAll(ruleApplication.getNewLocationString());
+            context.myLocationDetails.putAll(ruleApplication.getNewLocationString());
 
             // Update our block model
             blockModel = ruleApplication.getBlockModel();
@@ -823,6 +887,75 @@ public class VCGenerator extends TreeWalkerVisitor {
         }
 
         myAssertiveCodeBlockModels.put(assertiveCodeBlock, blockModel);
+
+        return assertiveCodeBlock;
+    }
+
+    /**
+     * <p>Applies the proof rules to all of our incomplete assertive code
+     * blocks using a work-stealing pool with one thread per job. Any new
+     * assertive code blocks generated by the proof rules are also processed
+     * in parallel. The proof rules only read the symbol table, but they
+     * query the shared {@link TypeGraph} from several threads at once.</p>
+     *
+     * <p>The tasks only look up location details in a read-only copy of
+     * the details added while walking the module and in the details added
+     * by the blocks that generated theirs. Once every task is done, the final
+     * assertive code blocks, their models and the new location details are
+     * collected in the same order as if the blocks had been processed one at
+     * a time, so the results don't depend on which block finished
+     * first.</p>
+     *
+     * @param dec The module declaration we are generating VCs for.
+     */
+    private void applyStatementRulesInParallel(ModuleDec dec) {
+        BlockContext walkContext =
+                new BlockContext(null, Collections
+                        .unmodifiableMap(new LinkedHashMap<>(
+                                myLocationDetails)),
+                        new LinkedList<AssertiveCodeBlock>());
+
+        List<AssertiveCodeBlockTask> tasks = new ArrayList<>();
+        ForkJoinPool pool =
+                new ForkJoinPool(myCompileEnvironment.getNumberOfJobs());
+        try {
+            while (!myIncompleteAssertiveCodeBlocks.isEmpty()) {
+                AssertiveCodeBlockTask task =
+                        new AssertiveCodeBlockTask(
+                                myIncompleteAssertiveCodeBlocks.removeFirst(),
+                                walkContext);
+                pool.execute(task);
+                tasks.add(task);
+            }
+
+            for (AssertiveCodeBlockTask task : tasks) {
+                task.join();
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        for (AssertiveCodeBlockTask task : tasks) {
+            collectResults(dec, task);
+        }
+    }
+
+    /**
+     * <p>Adds the results from a {@link AssertiveCodeBlockTask} and all
+     * the tasks it spawned to our final results.</p>
+     *
+     * @param dec The module declaration we are generating VCs for.
+     * @param task A completed task.
+     */
+    private void collectResults(ModuleDec dec, AssertiveCodeBlockTask task) {
+        myLocationDetails.putAll(task.myContext.myLocationDetails);
+        addFinalAssertiveCodeBlock(dec, task.myAssertiveCodeBlock,
+                task.myRenderedModel);
+
+        for (AssertiveCodeBlockTask subTask : task.mySubTasks) {
+            collectResults(dec, subTask);
+        }
     }
 
     /**
@@ -1114,4 +1247,156 @@ public class VCGenerator extends TreeWalkerVisitor {
         }
     }
 
-}
\ No newline at end of file
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>An helper class that stores where the proof rules should put the
+     * new location details and assertive code blocks they generate.</p>
+     */
+    private class BlockContext {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /**
+         * <p>The context for the assertive code block that generated our
+         * assertive code block or {@code null} if there isn't one.</p>
+         */
+        private final BlockContext myParent;
+
+        /** <p>The new location details.</p> */
+        private final Map<Location, String> myLocationDetails;
+
+        /** <p>The new assertive code blocks that still need to be processed.</p> */
+        private final Deque<AssertiveCodeBlock> myIncompleteBlocks;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a new context.</p>
+         *
+         * @param parent The parent context or {@code null} if there isn't one.
+         * @param locationDetails A map for the new location details.
+         * @param incompleteBlocks A deque for the new assertive code blocks.
+         */
+        private BlockContext(BlockContext parent,
+                Map<Location, String> locationDetails,
+                Deque<AssertiveCodeBlock> incompleteBlocks) {
+            myParent = parent;
+            myLocationDetails = locationDetails;
+            myIncompleteBlocks = incompleteBlocks;
+        }
+
+        // ===========================================================
+        // Public Methods
+        // ===========================================================
+
+        /**
+         * <p>Returns the detail associated with a {@link Location}. We first
+         * look at the details added in this context and then at the ones
+         * added by the parent contexts.</p>
+         *
+         * @param loc A {@link Location}.
+         *
+         * @return The detail string or {@code null} if there isn't one.
+         */
+        public final String getLocationDetail(Location loc) {
+            String detail;
+            if (myLocationDetails.containsKey(loc)) {
+                detail = myLocationDetails.get(loc);
+            }
+            else if (myParent != null) {
+                detail = myParent.getLocationDetail(loc);
+            }
+            else {
+                detail = null;
+            }
+
+            return detail;
+        }
+
+    }
+
+    /**
+     * <p>An helper class that applies the proof rules to an assertive
+     * code block and then forks a new task for each of the
+     * assertive code blocks generated by the proof rules.</p>
+     *
+     * <p>The new location details are kept in the task's own
+     * {@link BlockContext}, so tasks never write to any shared maps
+     * and never read a map that another task is writing to.</p>
+     */
+    private class AssertiveCodeBlockTask extends RecursiveAction {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The assertive code block we are processing.</p> */
+        private AssertiveCodeBlock myAssertiveCodeBlock;
+
+        /** <p>The context for our assertive code block.</p> */
+        private final BlockContext myContext;
+
+        /** <p>The rendered model for our assertive code block.</p> */
+        private String myRenderedModel;
+
+        /**
+         * <p>The tasks for the new assertive code blocks in the order
+         * that they would have been processed sequentially.</p>
+         */
+        private final List<AssertiveCodeBlockTask> mySubTasks;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a new task.</p>
+         *
+         * @param block The assertive code block to be processed.
+         * @param parentContext The context for the assertive code block
+         *                      that generated {@code block} or the context
+         *                      with the details added while walking the
+         *                      module if there isn't one.
+         */
+        private AssertiveCodeBlockTask(AssertiveCodeBlock block,
+                BlockContext parentContext) {
+            myAssertiveCodeBlock = block;
+            myContext =
+                    new BlockContext(parentContext,
+                            new LinkedHashMap<Location, String>(),
+                            new LinkedList<AssertiveCodeBlock>());
+            mySubTasks = new ArrayList<>();
+        }
+
+        // ===========================================================
+        // Protected Methods
+        // ===========================================================
+
+        /**
+         * <p>Applies the proof rules and waits for all the
+         * new assertive code blocks to be processed.</p>
+         */
+        @Override
+        protected final void compute() {
+            myAssertiveCodeBlock =
+                    applyStatementRules(myAssertiveCodeBlock, myContext);
+            myRenderedModel =
+                    myAssertiveCodeBlockModels.remove(myAssertiveCodeBlock)
+                            .render();
+
+            for (AssertiveCodeBlock block : myContext.myIncompleteBlocks) {
+                mySubTasks.add(new AssertiveCodeBlockTask(block, myContext));
+            }
+            invokeAll(mySubTasks);
+        }
+
+    }
+
+}
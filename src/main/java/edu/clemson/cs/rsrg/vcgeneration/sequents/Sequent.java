@@ -57,6 +57,9 @@ public class Sequent implements BasicCapabilities, Cloneable {
      * <p>This creates an object that represents each of verification
      * conditions that must be verified.</p>
      *
+     * <p>All the antecedents and consequents are frozen, so they can be
+     * shared with any other {@code Sequent} without making copies.</p>
+     *
      * @param loc The location that created this sequent.
      * @param antecedents The antecedents for this sequent.
      * @param consequents The consequents for this sequent.
@@ -65,6 +68,13 @@ public class Sequent implements BasicCapabilities, Cloneable {
         myLocation = loc;
         myAntecedents = new ArrayList<>(antecedents);
         myConcequents = new ArrayList<>(consequents);
+
+        for (Exp antecedent : myAntecedents) {
+            antecedent.freeze();
+        }
+        for (Exp consequent : myConcequents) {
+            consequent.freeze();
+        }
     }
 
     // ===========================================================
@@ -97,13 +107,15 @@ public class Sequent implements BasicCapabilities, Cloneable {
     }
 
     /**
-     * <p>This method overrides the default {@code clone} method implementation.</p>
+     * <p>This method overrides the default {@code clone} method implementation.
+     * The antecedents and consequents are frozen, so they are shared with
+     * the new {@code Sequent} instead of being copied.</p>
      *
-     * @return A deep copy of the object.
+     * @return A copy of the object.
      */
     @Override
     public final Sequent clone() {
-        return new Sequent(myLocation.clone(), new ArrayList<>(myAntecedents),
+        return new Sequent(myLocation, new ArrayList<>(myAntecedents),
                 new ArrayList<>(myConcequents));
     }
 
@@ -19,7 +19,6 @@ import edu.clemson.cs.rsrg.parsing.data.BasicCapabilities;
 import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
 import edu.clemson.cs.rsrg.typeandpopulate.typereasoning.TypeGraph;
 import edu.clemson.cs.rsrg.vcgeneration.VCGenerator;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -173,9 +172,11 @@ public class AssertiveCodeBlock implements BasicCapabilities, Cloneable {
     }
 
     /**
-     * <p>This method overrides the default {@code clone} method implementation.</p>
+     * <p>This method overrides the default {@code clone} method implementation.
+     * The free variables, {@code VCs} and statements are shared with the
+     * new {@code AssertiveCodeBlock} instead of being copied.</p>
      *
-     * @return A deep copy of the object.
+     * @return A copy of the object.
      */
     @Override
     public final AssertiveCodeBlock clone() {
@@ -183,9 +184,9 @@ public class AssertiveCodeBlock implements BasicCapabilities, Cloneable {
                 new AssertiveCodeBlock(myTypeGraph, myInstantiatingElement,
                         myBlockName);
 
-        Collections.copy(newBlock.myFreeVars, myFreeVars);
-        Collections.copy(newBlock.myVCs, myVCs);
-        Collections.copy(newBlock.myStatements, myStatements);
+        newBlock.myFreeVars.addAll(myFreeVars);
+        newBlock.myVCs.addAll(myVCs);
+        newBlock.myStatements.addAll(myStatements);
 
         return newBlock;
     }
@@ -0,0 +1,173 @@
+/*
+ * CompilerDaemonTest.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.init;
+
+import edu.clemson.cs.rsrg.init.file.ModuleType;
+import edu.clemson.cs.rsrg.init.file.ResolveFile;
+import edu.clemson.cs.rsrg.init.output.OutputListenerAdapter;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.*;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit test for running several compilation jobs
+ * in the same {@link CompilerDaemon}.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class CompilerDaemonTest {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The workspace used by the benchmarks.</p> */
+    private static final File WORKSPACE_DIR =
+            new File("benchmarks/resources/workspace").getAbsoluteFile();
+
+    // ===========================================================
+    // Test Methods
+    // ===========================================================
+
+    /**
+     * <p>This tests that a file that was populated as a library module
+     * by one job can be the target of the next job.</p>
+     */
+    @Test
+    public final void testLibraryModuleAsTarget() throws Exception {
+        String output =
+                runRequests(createRequest("Bench_Theory.mt"),
+                        createRequest("Bench_Base_Theory.mt"));
+
+        assertFalse(output, output.contains("Error"));
+    }
+
+    /**
+     * <p>This tests that a user created file from the WebIDE/WebAPI
+     * replaces a library module with the same name that was populated
+     * by a previous job.</p>
+     */
+    @Test
+    public final void testUserFileReplacesLibraryModule() throws Exception {
+        SharedLibrary library = new SharedLibrary();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(errors, true));
+        try {
+            // Populates Bench_Base_Theory as a library module
+            new ResolveCompiler(createRequest("Bench_Theory.mt").split("\\s+"))
+                    .invokeCompiler(new SystemStdHandler(), library);
+            assertFalse(errors.toString(), errors.toString().contains("Error"));
+            assertTrue(library.size() > 0);
+
+            // The user's version of Bench_Base_Theory uses a symbol
+            // that doesn't exist.
+            File baseTheory =
+                    new File(new File(WORKSPACE_DIR, "Theories"),
+                            "Bench_Base_Theory.mt");
+            String contents =
+                    new String(Files.readAllBytes(baseTheory.toPath()),
+                            Charset.forName("UTF-8")).replace(
+                            "end Bench_Base_Theory;",
+                            "Theorem User_Edit:\n\tUser_Symbol = zero;\n\n"
+                                    + "end Bench_Base_Theory;");
+            Map<String, ResolveFile> fileMap = new HashMap<>();
+            fileMap.put("Bench_Base_Theory", new ResolveFile(
+                    "Bench_Base_Theory", ModuleType.THEORY, CharStreams
+                            .fromString(contents), new ArrayList<String>(), ""));
+
+            new ResolveCompiler(createRequest("Bench_Theory.mt").split("\\s+"))
+                    .invokeCompiler(fileMap, new SystemStdHandler(),
+                            new OutputListenerAdapter() {}, library);
+        }
+        finally {
+            System.setErr(originalErr);
+        }
+
+        String output = errors.toString();
+        assertTrue(output, output.contains("User_Symbol"));
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>An helper method that creates a request to compile
+     * one of the workspace's theories.</p>
+     *
+     * @param fileName Name of the theory file.
+     *
+     * @return The request line.
+     */
+    private String createRequest(String fileName) {
+        File file = new File(new File(WORKSPACE_DIR, "Theories"), fileName);
+
+        return "-noFileOutput -workspaceDir " + WORKSPACE_DIR.getPath() + " "
+                + file.getPath();
+    }
+
+    /**
+     * <p>An helper method that runs the requests in a new
+     * {@link CompilerDaemon} and makes sure all of them
+     * were acknowledged.</p>
+     *
+     * @param requests The request lines.
+     *
+     * @return Everything the jobs wrote to the standard error.
+     */
+    private String runRequests(String... requests) throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (String request : requests) {
+            input.append(request);
+            input.append("\n");
+        }
+
+        ByteArrayOutputStream acknowledgements = new ByteArrayOutputStream();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(errors, true));
+        try {
+            CompilerDaemon daemon =
+                    new CompilerDaemon(new BufferedReader(new StringReader(
+                            input.toString())), new PrintStream(
+                            acknowledgements, true));
+            daemon.run();
+        }
+        finally {
+            System.setErr(originalErr);
+        }
+
+        int acknowledged = 0;
+        BufferedReader reader =
+                new BufferedReader(
+                        new StringReader(acknowledgements.toString()));
+        String line = reader.readLine();
+        while (line != null) {
+            if (line.equals(CompilerDaemon.END_OF_REQUEST)) {
+                acknowledged++;
+            }
+            line = reader.readLine();
+        }
+        assertEquals(requests.length, acknowledged);
+
+        return errors.toString();
+    }
+
+}
@@ -0,0 +1,391 @@
+/*
+ * TypeGraphConcurrencyTest.java
+ * ---------------------------------
+ * Copyright (c) 2017
+ * RESOLVE Software Research Group
+ * School of Computing
+ * Clemson University
+ * All rights reserved.
+ * ---------------------------------
+ * This file is subject to the terms and conditions defined in
+ * file 'LICENSE.txt', which is part of this source code package.
+ */
+package edu.clemson.cs.rsrg.typeandpopulate.typereasoning;
+
+import edu.clemson.cs.rsrg.absyn.expressions.mathexpr.VarExp;
+import edu.clemson.cs.rsrg.init.CompileEnvironment;
+import edu.clemson.cs.rsrg.init.ResolveCompiler;
+import edu.clemson.cs.rsrg.parsing.data.PosSymbol;
+import edu.clemson.cs.rsrg.statushandling.SystemStdHandler;
+import edu.clemson.cs.rsrg.statushandling.exception.MiscErrorException;
+import edu.clemson.cs.rsrg.typeandpopulate.entry.SymbolTableEntry;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTFunction;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTPowerclassApplication;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTProper;
+import edu.clemson.cs.rsrg.typeandpopulate.mathtypes.MTType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * <p>Unit test for running {@link TypeGraph} queries from several
+ * threads at once.</p>
+ *
+ * @author agent
+ * @version 1.0
+ */
+public class TypeGraphConcurrencyTest {
+
+    // ===========================================================
+    // Member Fields
+    // ===========================================================
+
+    /** <p>The number of types in each test graph.</p> */
+    private static final int NUM_TYPES = 6;
+
+    /** <p>The number of threads querying the graph.</p> */
+    private static final int NUM_THREADS = 8;
+
+    /** <p>The number of times each thread runs all the queries.</p> */
+    private static final int NUM_ROUNDS = 20;
+
+    // ===========================================================
+    // Test Methods
+    // ===========================================================
+
+    /**
+     * <p>This tests that many threads querying the same {@link TypeGraph}
+     * get the same answers as a single thread querying a graph
+     * with the same relationships.</p>
+     */
+    @Test
+    public final void testConcurrentQueries() throws Exception {
+        ChainGraph expectedGraph = new ChainGraph();
+        expectedGraph.addAllRelationships();
+        List<Query> queries = createQueries();
+        List<Boolean> expected = runAll(expectedGraph, queries);
+
+        // Make sure the queries are worth running
+        assertTrue(expectedGraph.myTypeGraph.isSubtype(expectedGraph.myTypes
+                .get(0), expectedGraph.myTypes.get(1)));
+        assertFalse(expectedGraph.myTypeGraph.isSubtype(expectedGraph.myTypes
+                .get(1), expectedGraph.myTypes.get(0)));
+        assertTrue(expectedGraph.myTypeGraph.isSubtype(expectedGraph.myTypes
+                .get(0), expectedGraph.myTypes.get(NUM_TYPES - 1)));
+
+        ChainGraph graph = new ChainGraph();
+        graph.addAllRelationships();
+
+        assertEquals(0, runConcurrently(graph, queries, expected, null));
+    }
+
+    /**
+     * <p>This tests that threads querying a {@link TypeGraph} while
+     * relationships are being added don't leave behind any stale
+     * answers once all the relationships are in.</p>
+     */
+    @Test
+    public final void testConcurrentQueriesWhileAddingRelationships()
+            throws Exception {
+        ChainGraph expectedGraph = new ChainGraph();
+        expectedGraph.addAllRelationships();
+        List<Query> queries = createQueries();
+        List<Boolean> expected = runAll(expectedGraph, queries);
+
+        final ChainGraph graph = new ChainGraph();
+        Callable<Integer> writer = new Callable<Integer>() {
+
+            @Override
+            public Integer call() throws Exception {
+                for (int i = 0; i < NUM_TYPES - 1; i++) {
+                    graph.addRelationship(i);
+                    Thread.sleep(1);
+                }
+
+                return 0;
+            }
+        };
+
+        // The answers can change while we are adding relationships,
+        // so we only check the ones we get afterwards.
+        runConcurrently(graph, queries, null, writer);
+
+        assertEquals(expected, runAll(graph, queries));
+        assertEquals(0, runConcurrently(graph, queries, expected, null));
+    }
+
+    // ===========================================================
+    // Private Methods
+    // ===========================================================
+
+    /**
+     * <p>Creates all the queries we want to run on a {@link ChainGraph}.</p>
+     *
+     * @return A list of {@link Query Queries}.
+     */
+    private static List<Query> createQueries() {
+        List<Query> queries = new ArrayList<>();
+        for (QueryKind kind : QueryKind.values()) {
+            for (int i = 0; i < NUM_TYPES; i++) {
+                for (int j = 0; j < NUM_TYPES; j++) {
+                    queries.add(new Query(kind, i, j));
+                }
+            }
+        }
+
+        return queries;
+    }
+
+    /**
+     * <p>Runs all the queries on the current thread.</p>
+     *
+     * @param graph A {@link ChainGraph}.
+     * @param queries A list of {@link Query Queries}.
+     *
+     * @return The answer to each query.
+     */
+    private static List<Boolean> runAll(ChainGraph graph, List<Query> queries) {
+        List<Boolean> answers = new ArrayList<>(queries.size());
+        for (Query query : queries) {
+            answers.add(query.run(graph));
+        }
+
+        return answers;
+    }
+
+    /**
+     * <p>Runs the queries in a random order from several threads that
+     * all start at the same time.</p>
+     *
+     * @param graph A {@link ChainGraph}.
+     * @param queries A list of {@link Query Queries}.
+     * @param expected The expected answers or {@code null} if we
+     *                 shouldn't check the answers.
+     * @param writer A task that updates the graph while we are
+     *               querying it or {@code null}.
+     *
+     * @return The number of wrong answers.
+     */
+    private static int runConcurrently(final ChainGraph graph,
+            final List<Query> queries, final List<Boolean> expected,
+            Callable<Integer> writer) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(NUM_THREADS + 1);
+        final CountDownLatch startSignal = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final long seed = t;
+                results.add(threads.submit(new Callable<Integer>() {
+
+                    @Override
+                    public Integer call() throws Exception {
+                        List<Integer> order = new ArrayList<>();
+                        for (int i = 0; i < queries.size(); i++) {
+                            order.add(i);
+                        }
+
+                        Random random = new Random(seed);
+                        int numWrong = 0;
+                        startSignal.await();
+                        for (int round = 0; round < NUM_ROUNDS; round++) {
+                            Collections.shuffle(order, random);
+                            for (int i : order) {
+                                boolean answer = queries.get(i).run(graph);
+                                if (expected != null
+                                        && answer != expected.get(i)) {
+                                    numWrong++;
+                                }
+                            }
+                        }
+
+                        return numWrong;
+                    }
+                }));
+            }
+
+            if (writer != null) {
+                results.add(threads.submit(writer));
+            }
+
+            startSignal.countDown();
+
+            int numWrong = 0;
+            for (Future<Integer> result : results) {
+                numWrong += result.get(60, TimeUnit.SECONDS);
+            }
+
+            return numWrong;
+        }
+        finally {
+            threads.shutdownNow();
+        }
+    }
+
+    // ===========================================================
+    // Helper Constructs
+    // ===========================================================
+
+    /**
+     * <p>A {@link TypeGraph} with {@link #NUM_TYPES} proper types,
+     * where each type can be related to the next one.</p>
+     */
+    private static class ChainGraph {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The type graph.</p> */
+        final TypeGraph myTypeGraph;
+
+        /** <p>The types in the chain.</p> */
+        final List<MTType> myTypes;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a type graph with the types in the chain,
+         * but without any relationships.</p>
+         */
+        ChainGraph() {
+            try {
+                // YS: We need to create a ResolveCompiler instance to instantiate
+                // the flag manager...
+                new ResolveCompiler(new String[0]);
+                myTypeGraph =
+                        new TypeGraph(new CompileEnvironment(new String[0],
+                                "TestCompiler", new SystemStdHandler()));
+            }
+            catch (IOException e) {
+                throw new MiscErrorException("Error creating a type graph", e);
+            }
+
+            myTypes = new ArrayList<>(NUM_TYPES);
+            for (int i = 0; i < NUM_TYPES; i++) {
+                myTypes.add(new MTProper(myTypeGraph, myTypeGraph.SSET, false,
+                        "T" + i));
+            }
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Relates each type to the next one.</p>
+         */
+        final void addAllRelationships() {
+            for (int i = 0; i < NUM_TYPES - 1; i++) {
+                addRelationship(i);
+            }
+        }
+
+        /**
+         * <p>Establishes that all the values in type {@code i}
+         * are also in type {@code i + 1}, just like a type theorem.</p>
+         *
+         * @param i Index of a type in the chain.
+         */
+        final void addRelationship(int i) {
+            VarExp x =
+                    new VarExp(null, null, new PosSymbol(null, "x"),
+                            SymbolTableEntry.Quantification.UNIVERSAL);
+            x.setMathType(myTypes.get(i));
+
+            myTypeGraph.addRelationship(x, myTypes.get(i + 1), null, null);
+        }
+
+    }
+
+    /**
+     * <p>The kinds of questions we ask the {@link TypeGraph}.</p>
+     */
+    private enum QueryKind {
+        SUBTYPE, FUNCTION_SUBTYPE, POWERCLASS_SUBTYPE, ELEMENT
+    }
+
+    /**
+     * <p>A question about two types in a {@link ChainGraph}. Each time it
+     * runs, it builds new copies of the types, so the graph also has to
+     * find the canonical types and compare them.</p>
+     */
+    private static class Query {
+
+        // ===========================================================
+        // Member Fields
+        // ===========================================================
+
+        /** <p>The kind of question.</p> */
+        private final QueryKind myKind;
+
+        /** <p>Indexes of the types in the chain.</p> */
+        private final int myIndex1, myIndex2;
+
+        // ===========================================================
+        // Constructors
+        // ===========================================================
+
+        /**
+         * <p>This creates a question about two types.</p>
+         *
+         * @param kind The kind of question.
+         * @param i Index of a type in the chain.
+         * @param j Index of another type in the chain.
+         */
+        Query(QueryKind kind, int i, int j) {
+            myKind = kind;
+            myIndex1 = i;
+            myIndex2 = j;
+        }
+
+        // ===========================================================
+        // Package Private Methods
+        // ===========================================================
+
+        /**
+         * <p>Asks the question to the type graph in {@code graph}.</p>
+         *
+         * @param graph A {@link ChainGraph}.
+         *
+         * @return The type graph's answer.
+         */
+        final boolean run(ChainGraph graph) {
+            TypeGraph g = graph.myTypeGraph;
+            MTType t1 = graph.myTypes.get(myIndex1);
+            MTType t2 = graph.myTypes.get(myIndex2);
+
+            boolean result;
+            switch (myKind) {
+            case SUBTYPE:
+                result = g.isSubtype(t1, t2);
+                break;
+            case FUNCTION_SUBTYPE:
+                result =
+                        g.isSubtype(new MTFunction(g, t1, t2), new MTFunction(
+                                g, t2, t1));
+                break;
+            case POWERCLASS_SUBTYPE:
+                result =
+                        g.isSubtype(new MTPowerclassApplication(g, t1),
+                                new MTPowerclassApplication(g, t2));
+                break;
+            default:
+                result =
+                        g.isKnownToBeIn(t1, new MTPowerclassApplication(g, t2));
+                break;
+            }
+
+            return result;
+        }
+
+    }
+
+}